@@ -0,0 +1,59 @@
+package game;
+
+/**
+ * Kotak batas sejajar sumbu (axis-aligned bounding box) berbasis int primitif.
+ *
+ * Pengganti java.awt.Rectangle untuk jalur update: setiap entitas memiliki satu instance
+ * yang dipakai ulang oleh getBounds(), dan uji tile memakai fungsi static yang menerima
+ * koordinat primitif, sehingga pemeriksaan tabrakan tidak mengalokasikan objek baru.
+ *
+ * Karena itu AABB dari getBounds() adalah objek sementara: isinya berubah pada pemanggilan
+ * getBounds() berikutnya pada entitas yang sama. Pemanggil yang perlu menyimpan kotak lebih lama
+ * harus menyalin nilainya, misalnya dengan {@code new AABB(b.x, b.y, b.width, b.height)}.
+ *
+ * Semantik interseksi sama dengan Rectangle.intersects: kotak dengan lebar atau tinggi
+ * nol dianggap kosong, dan kotak yang hanya bersentuhan di tepi tidak dianggap bertabrakan.
+ */
+public final class AABB {
+
+    public int x, y, width, height;
+
+    public AABB() {}
+
+    public AABB(int x, int y, int width, int height) {
+        set(x, y, width, height);
+    }
+
+    /**
+     * Mengatur ulang posisi dan ukuran kotak.
+     * @return Instance ini, agar bisa langsung dikembalikan dari getBounds().
+     */
+    public AABB set(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public int getMaxX() { return x + width; }
+    public int getMaxY() { return y + height; }
+    public double getCenterX() { return x + width / 2.0; }
+    public double getCenterY() { return y + height / 2.0; }
+
+    public boolean intersects(AABB other) {
+        return intersects(x, y, width, height, other.x, other.y, other.width, other.height);
+    }
+
+    public boolean intersects(int bx, int by, int bw, int bh) {
+        return intersects(x, y, width, height, bx, by, bw, bh);
+    }
+
+    /**
+     * Menguji apakah dua kotak tumpang tindih.
+     */
+    public static boolean intersects(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) return false;
+        return ax < bx + bw && bx < ax + aw && ay < by + bh && by < ay + ah;
+    }
+}
@@ -0,0 +1,166 @@
+package game;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import javax.imageio.ImageIO;
+import java.io.InputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache aset global untuk seluruh proses game.
+ * Setiap lembar sprite hanya di-decode satu kali dari classpath, dan setiap set frame
+ * hanya dipotong satu kali. Entitas yang baru dibuat cukup meminta frame berdasarkan kunci,
+ * sehingga memunculkan entitas di tengah permainan tidak lagi memicu I/O.
+ */
+public final class AssetCache {
+
+    // Kunci set frame yang dipakai bersama oleh entitas
+    public static final String ROCK_FRAMES = "obstacle.rock";
+    public static final String BIRD_FRAMES = "obstacle.bird.flying";
+    public static final String CANNON_IDLE_FRAMES = "obstacle.cannon.idle";
+    public static final String CANNON_FIRING_FRAMES = "obstacle.cannon.firing";
+    public static final String SLIME_WALK_FRAMES = "enemy.slime.walk";
+    public static final String PLAYER_IDLE_FRAMES = "player.idle";
+    public static final String PLAYER_WALK_FRAMES = "player.walk";
+    public static final String PLATFORM_FRAMES = "platform.idle";
+
+    private static final Map<String, BufferedImage> images = new HashMap<>();
+    private static final Map<String, FrameSet> frameSets = new HashMap<>();
+
+    // Penanda untuk gambar yang gagal dimuat, agar tidak dicoba ulang setiap kali diminta
+    private static final BufferedImage MISSING = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private AssetCache() {}
+
+    /**
+     * Set frame animasi yang tidak dapat diubah. Array internal tidak pernah diberikan ke luar,
+     * sehingga aman dibagikan ke banyak entitas sekaligus.
+     * Setelah {@link #buildAtlas()}, setiap frame juga memiliki id region di {@link SpriteAtlas}.
+     */
+    public static final class FrameSet {
+        public static final FrameSet EMPTY = new FrameSet(new BufferedImage[0]);
+
+        private final BufferedImage[] frames;
+        private final int[] regions;
+
+        private FrameSet(BufferedImage[] frames) {
+            this.frames = frames;
+            this.regions = new int[frames.length];
+            Arrays.fill(regions, -1);
+        }
+
+        public int size() { return frames.length; }
+
+        /**
+         * Mengembalikan frame pada indeks tertentu, atau null jika indeks di luar batas
+         * atau frame tersebut gagal dipotong.
+         */
+        public BufferedImage get(int index) {
+            if (index < 0 || index >= frames.length) return null;
+            return frames[index];
+        }
+
+        public boolean isEmpty() { return frames.length == 0; }
+
+        /**
+         * Mengembalikan id region atlas untuk frame pada indeks tertentu,
+         * atau -1 jika frame belum dikemas ke atlas atau indeks di luar batas.
+         */
+        public int region(int index) {
+            if (index < 0 || index >= regions.length) return -1;
+            return regions[index];
+        }
+
+        void setRegion(int index, int region) {
+            regions[index] = region;
+        }
+    }
+
+    /**
+     * Mengembalikan gambar dari classpath, memuatnya hanya pada permintaan pertama.
+     * @param path Jalur absolut resource (misalnya, "/res/slime.png").
+     * @return Gambar yang sudah di-decode, atau null jika file tidak ditemukan atau gagal dibaca.
+     */
+    public static synchronized BufferedImage getImage(String path) {
+        BufferedImage image = images.get(path);
+        if (image == null) {
+            image = loadImage(path);
+            images.put(path, image != null ? image : MISSING);
+        }
+        return image == MISSING ? null : image;
+    }
+
+    /**
+     * Mengembalikan set frame berdasarkan kunci. Jika belum ada, lembar sprite dimuat
+     * melalui {@link #getImage(String)} lalu dipotong oleh {@code slicer} satu kali saja.
+     * @param key Kunci unik set frame.
+     * @param sheetPath Jalur lembar sprite di classpath.
+     * @param slicer Fungsi yang memotong lembar sprite menjadi frame; menerima null jika lembar tidak ada.
+     * @return Set frame bersama, atau {@link FrameSet#EMPTY} jika pemotongan gagal.
+     */
+    public static synchronized FrameSet getFrames(String key, String sheetPath, Function<BufferedImage, BufferedImage[]> slicer) {
+        FrameSet set = frameSets.get(key);
+        if (set == null) {
+            BufferedImage[] frames = null;
+            try {
+                frames = slicer.apply(getImage(sheetPath));
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+                System.err.println("ERROR AssetCache: Koordinat subimage tidak valid untuk " + sheetPath + " (kunci: " + key + ").");
+            }
+            set = (frames == null || frames.length == 0) ? FrameSet.EMPTY : new FrameSet(frames.clone());
+            frameSets.put(key, set);
+        }
+        return set;
+    }
+
+    /**
+     * Mengemas semua set frame yang sudah dimuat ke {@link SpriteAtlas}.
+     * Dipanggil sekali setelah semua sprite di-preload; set frame yang dimuat setelahnya
+     * tetap bisa digambar, hanya saja langsung dari frame aslinya.
+     */
+    public static synchronized void buildAtlas() {
+        SpriteAtlas.pack(frameSets.values());
+    }
+
+    /**
+     * Membuat gambar kosong yang kompatibel dengan layar agar blit-nya bisa diakselerasi.
+     * Jatuh kembali ke BufferedImage biasa jika tidak ada layar (mode headless).
+     * @param transparency Konstanta {@link Transparency}.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static BufferedImage loadImage(String path) {
+        try (InputStream is = AssetCache.class.getResourceAsStream(path)) {
+            if (is == null) {
+                System.err.println("ERROR AssetCache: Tidak dapat menemukan file " + path + ". Pastikan file ada di 'res/'.");
+                return null;
+            }
+            BufferedImage image = ImageIO.read(is);
+            if (image == null) {
+                System.err.println("ERROR AssetCache: Format gambar tidak dikenali untuk " + path + ".");
+                return null;
+            }
+            if (Log.DEBUG) Log.debug("AssetCache", path + " dimuat. Dimensi: " + image.getWidth() + "x" + image.getHeight());
+            return image;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("ERROR AssetCache: Gagal memuat atau membaca " + path + ".");
+            return null;
+        }
+    }
+}
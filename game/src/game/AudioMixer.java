@@ -0,0 +1,457 @@
+package game;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mixer audio perangkat lunak yang berjalan di thread sendiri dan memiliki satu-satunya line output.
+ *
+ * Thread lain (game thread, thread cutscene, EDT) tidak pernah menyentuh API audio Java secara
+ * langsung. Mereka mengirim perintah (putar, hentikan, atur gain) lewat ring buffer
+ * single-producer/single-consumer: setiap thread pengirim mendapat ring-nya sendiri, dan thread
+ * mixer adalah satu-satunya pembaca. Ring milik thread yang sudah selesai dikosongkan lalu dilepas
+ * oleh thread mixer, sehingga daftar ring tidak terus bertambah. Mengirim perintah tidak mengunci dan tidak mengalokasikan
+ * objek; jika ring penuh, perintah dibuang.
+ *
+ * Thread mixer mengambil perintah, mencampur semua voice aktif ke buffer blok berukuran tetap
+ * dengan gain per voice, gain per bus, dan panning stereo, lalu menulis blok ke line. Line dibuka
+ * dengan buffer {@link #LINE_BLOCKS} blok, sehingga latensi output dibatasi sekitar
+ * {@code LINE_BLOCKS * BLOCK_FRAMES / SAMPLE_RATE} detik.
+ *
+ * Musik diputar sebagai {@link MusicStream} yang dibaca dari ring buffer yang diisi thread streamer.
+ * Setiap voice memiliki gain fade, sehingga pergantian trek bisa di-crossfade: voice lama di bus
+ * musik memudar ke nol sementara stream baru memudar masuk.
+ *
+ * Jika tidak ada perangkat audio, mixer dinonaktifkan dan semua perintah diabaikan.
+ */
+public final class AudioMixer {
+
+    public static final float SAMPLE_RATE = 44100f;
+    public static final int BLOCK_FRAMES = 512; // ~11,6 ms per blok
+    public static final int LINE_BLOCKS = 4;
+    public static final int MAX_VOICES = 24;
+
+    /** Bus (channel) mixer; setiap voice diputar di salah satu bus. */
+    public static final int BUS_SFX = 0;
+    public static final int BUS_MUSIC = 1;
+    public static final int BUS_COUNT = 2;
+
+    private static final int RING_CAPACITY = 256; // Harus pangkat dua
+
+    private static final int CMD_PLAY = 1;
+    private static final int CMD_STOP_BUS = 2;
+    private static final int CMD_SET_BUS_GAIN = 3;
+    private static final int CMD_PLAY_STREAM = 4;
+    private static final int CMD_FADE_OUT_BUS = 5;
+
+    private static final int STREAM_SLOTS = 8;
+
+    private static AudioMixer instance;
+
+    private final SourceDataLine line;
+    private final Thread thread;
+    private volatile CommandRing[] rings = new CommandRing[0];
+    private final ThreadLocal<CommandRing> producerRing = ThreadLocal.withInitial(this::registerRing);
+    // Stream yang diserahkan produsen ke mixer; perintah hanya membawa indeks slot
+    private final AtomicReferenceArray<MusicStream> streamSlots = new AtomicReferenceArray<>(STREAM_SLOTS);
+
+    // Status di bawah ini hanya disentuh oleh thread mixer
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private final float[] busGain = new float[BUS_COUNT];
+    private final float[] mixBuffer = new float[BLOCK_FRAMES * 2];
+    private final byte[] outputBuffer = new byte[BLOCK_FRAMES * 4];
+    private long voiceCounter = 0;
+
+    /**
+     * Satu voice yang sedang memutar sampel.
+     */
+    private static final class Voice {
+        boolean active;
+        SoundBank.Sample sample; // Salah satu dari sample atau stream
+        MusicStream stream;
+        int bus;
+        double position; // Posisi frame di sampel (pecahan, untuk resampling)
+        double step; // Laju sampel sumber / laju output
+        float leftGain, rightGain;
+        boolean loop;
+        long startedAt; // Urutan mulai, untuk mencuri voice tertua
+        float fade; // Gain fade saat ini (0..1)
+        float fadeStep; // Perubahan fade per frame; negatif saat memudar keluar
+        boolean stopWhenSilent; // Hentikan voice saat fade keluar mencapai nol
+
+        void stop() {
+            active = false;
+            sample = null;
+            if (stream != null) {
+                stream.release();
+                stream = null;
+            }
+        }
+    }
+
+    /**
+     * Ring buffer SPSC berisi perintah dengan slot yang dialokasikan di awal.
+     * Produsen menulis slot lalu memajukan {@code tail}; konsumen membaca lalu memajukan {@code head}.
+     */
+    private static final class CommandRing {
+        final Thread owner; // Satu-satunya thread yang menulis ke ring ini
+        final int[] op = new int[RING_CAPACITY];
+        final int[] argA = new int[RING_CAPACITY];
+        final int[] argB = new int[RING_CAPACITY];
+        final float[] argX = new float[RING_CAPACITY];
+        final float[] argY = new float[RING_CAPACITY];
+        final float[] argZ = new float[RING_CAPACITY];
+        final AtomicLong head = new AtomicLong();
+        final AtomicLong tail = new AtomicLong();
+
+        CommandRing(Thread owner) {
+            this.owner = owner;
+        }
+
+        boolean offer(int command, int a, int b, float x, float y, float z) {
+            long t = tail.get();
+            if (t - head.get() >= RING_CAPACITY) return false;
+            int slot = (int) (t & (RING_CAPACITY - 1));
+            op[slot] = command;
+            argA[slot] = a;
+            argB[slot] = b;
+            argX[slot] = x;
+            argY[slot] = y;
+            argZ[slot] = z;
+            tail.lazySet(t + 1); // Publikasikan slot setelah semua field ditulis
+            return true;
+        }
+    }
+
+    private AudioMixer(SourceDataLine line) {
+        this.line = line;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            voices[i] = new Voice();
+        }
+        Arrays.fill(busGain, 1.0f);
+        if (line != null) {
+            thread = new Thread(this::run, "game-audio-mixer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            thread.start();
+        } else {
+            thread = null;
+        }
+    }
+
+    /**
+     * Mengembalikan mixer bersama, membuka line output pada pemanggilan pertama.
+     */
+    public static synchronized AudioMixer get() {
+        if (instance == null) {
+            instance = new AudioMixer(openLine());
+        }
+        return instance;
+    }
+
+    /** @return True jika line output terbuka dan perintah akan diproses. */
+    public boolean isAvailable() {
+        return line != null;
+    }
+
+    /**
+     * Memutar sampel sekali atau berulang.
+     * @param sampleId Id dari {@link SoundBank}.
+     * @param bus {@link #BUS_SFX} atau {@link #BUS_MUSIC}.
+     * @param gain Gain linear voice (1 = volume asli).
+     * @param pan -1 (kiri) hingga 1 (kanan).
+     * @param loop True untuk mengulang tanpa henti.
+     */
+    public void play(int sampleId, int bus, float gain, float pan, boolean loop) {
+        if (sampleId >= 0) post(CMD_PLAY, sampleId, bus | (loop ? 0x100 : 0), gain, pan, 0);
+    }
+
+    /**
+     * Memutar trek musik yang di-stream, memudar masuk selama {@code fadeInSeconds}.
+     * Kepemilikan {@code stream} berpindah ke mixer, yang akan melepasnya saat selesai.
+     */
+    public void playStream(MusicStream stream, int bus, float gain, float pan, float fadeInSeconds) {
+        if (stream == null) return;
+        if (line != null) {
+            for (int slot = 0; slot < STREAM_SLOTS; slot++) {
+                if (streamSlots.compareAndSet(slot, null, stream)) {
+                    post(CMD_PLAY_STREAM, slot, bus, gain, pan, fadeInSeconds);
+                    return;
+                }
+            }
+            if (Log.WARN) Log.warn("AudioMixer", "Terlalu banyak stream musik yang menunggu, stream diabaikan: " + stream.path);
+        }
+        stream.release();
+    }
+
+    /**
+     * Memudarkan semua voice di bus tertentu hingga hening, lalu menghentikannya.
+     * @param seconds Lama fade; 0 berarti berhenti langsung.
+     */
+    public void fadeOutBus(int bus, float seconds) {
+        post(CMD_FADE_OUT_BUS, bus, 0, seconds, 0, 0);
+    }
+
+    /** Menghentikan semua voice di bus tertentu. */
+    public void stopBus(int bus) {
+        post(CMD_STOP_BUS, bus, 0, 0, 0, 0);
+    }
+
+    /** Mengatur gain linear sebuah bus. */
+    public void setBusGain(int bus, float gain) {
+        post(CMD_SET_BUS_GAIN, bus, 0, gain, 0, 0);
+    }
+
+    /**
+     * Mengubah desibel menjadi gain linear.
+     */
+    public static float dbToGain(float db) {
+        return (float) Math.pow(10.0, db / 20.0);
+    }
+
+    private void post(int command, int a, int b, float x, float y, float z) {
+        if (line == null) return;
+        if (!producerRing.get().offer(command, a, b, x, y, z)) {
+            if (Log.WARN) Log.warn("AudioMixer", "Antrian perintah audio penuh, perintah dibuang.");
+        }
+    }
+
+    private synchronized CommandRing registerRing() {
+        CommandRing ring = new CommandRing(Thread.currentThread());
+        CommandRing[] updated = Arrays.copyOf(rings, rings.length + 1);
+        updated[rings.length] = ring;
+        rings = updated;
+        if (Log.DEBUG) Log.debug("AudioMixer", "Ring perintah baru untuk thread " + Thread.currentThread().getName());
+        return ring;
+    }
+
+    // Melepas ring milik thread yang sudah selesai; dipanggil thread mixer setelah ring itu dikosongkan
+    private synchronized void removeDeadRings() {
+        CommandRing[] current = rings;
+        CommandRing[] alive = new CommandRing[current.length];
+        int count = 0;
+        for (CommandRing ring : current) {
+            // Ring yang pemiliknya baru selesai setelah dikosongkan dilepas pada putaran berikutnya
+            if (ring.owner.isAlive() || ring.head.get() != ring.tail.get()) alive[count++] = ring;
+        }
+        rings = Arrays.copyOf(alive, count);
+        if (Log.DEBUG) Log.debug("AudioMixer", (current.length - count) + " ring perintah dari thread yang selesai dilepas.");
+    }
+
+    private static SourceDataLine openLine() {
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(format);
+            line.open(format, BLOCK_FRAMES * 4 * LINE_BLOCKS);
+            line.start();
+            if (Log.DEBUG) Log.debug("AudioMixer", "Line output dibuka, buffer " + line.getBufferSize() + " byte.");
+            return line;
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("WARNING AudioMixer: Line audio tidak tersedia, suara dinonaktifkan. " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loop thread mixer. {@code line.write} memblokir hingga ada ruang di buffer line,
+     * sehingga loop ini berjalan tepat sesuai laju output.
+     */
+    private void run() {
+        while (true) {
+            drainCommands();
+            mixBlock();
+            line.write(outputBuffer, 0, outputBuffer.length);
+        }
+    }
+
+    private void drainCommands() {
+        CommandRing[] current = rings;
+        boolean anyDead = false;
+        for (CommandRing ring : current) {
+            // Diperiksa sebelum membaca tail: jika thread sudah selesai, semua perintahnya sudah terlihat
+            boolean dead = !ring.owner.isAlive();
+            anyDead |= dead;
+            long h = ring.head.get();
+            long t = ring.tail.get();
+            while (h < t) {
+                int slot = (int) (h & (RING_CAPACITY - 1));
+                execute(ring.op[slot], ring.argA[slot], ring.argB[slot], ring.argX[slot], ring.argY[slot], ring.argZ[slot]);
+                h++;
+            }
+            ring.head.lazySet(h);
+        }
+        if (anyDead) removeDeadRings();
+    }
+
+    private void execute(int command, int a, int b, float x, float y, float z) {
+        switch (command) {
+            case CMD_PLAY: {
+                SoundBank.Sample sample = SoundBank.getSample(a);
+                if (sample == null || sample.frames == 0) return;
+                Voice voice = allocateVoice(b & 0xFF);
+                if (voice == null) return;
+                voice.sample = sample;
+                voice.step = sample.sampleRate / SAMPLE_RATE;
+                voice.loop = (b & 0x100) != 0;
+                startVoice(voice, b & 0xFF, x, y, 0);
+                break;
+            }
+            case CMD_PLAY_STREAM: {
+                MusicStream stream = streamSlots.getAndSet(a, null);
+                if (stream == null) return;
+                Voice voice = allocateVoice(b);
+                if (voice == null) {
+                    stream.release();
+                    return;
+                }
+                voice.stream = stream;
+                voice.step = stream.sampleRate / SAMPLE_RATE;
+                voice.loop = false; // Perulangan ditangani oleh stream itu sendiri
+                startVoice(voice, b, x, y, z);
+                break;
+            }
+            case CMD_STOP_BUS:
+                for (Voice voice : voices) {
+                    if (voice.active && voice.bus == a) voice.stop();
+                }
+                break;
+            case CMD_FADE_OUT_BUS:
+                int fadeFrames = (int) (x * SAMPLE_RATE);
+                for (Voice voice : voices) {
+                    if (!voice.active || voice.bus != a) continue;
+                    if (fadeFrames <= 0 || voice.fade <= 0f) {
+                        voice.stop();
+                    } else {
+                        voice.fadeStep = -voice.fade / fadeFrames;
+                        voice.stopWhenSilent = true;
+                    }
+                }
+                break;
+            case CMD_SET_BUS_GAIN:
+                if (a >= 0 && a < BUS_COUNT) busGain[a] = x;
+                break;
+        }
+    }
+
+    /**
+     * Memilih voice kosong; jika penuh, mencuri voice efek suara tertua (musik tidak pernah dicuri).
+     * @return Voice yang sudah dihentikan dan siap diisi, atau null.
+     */
+    private Voice allocateVoice(int bus) {
+        if (bus < 0 || bus >= BUS_COUNT) return null;
+        Voice chosen = null;
+        for (Voice voice : voices) {
+            if (!voice.active) {
+                chosen = voice;
+                break;
+            }
+            if (voice.bus != BUS_MUSIC && (chosen == null || voice.startedAt < chosen.startedAt)) {
+                chosen = voice;
+            }
+        }
+        if (chosen != null) chosen.stop();
+        return chosen;
+    }
+
+    private void startVoice(Voice voice, int bus, float gain, float pan, float fadeInSeconds) {
+        float clampedPan = Math.max(-1f, Math.min(1f, pan));
+        double angle = (clampedPan + 1) * Math.PI / 4; // Panning equal-power
+        int fadeFrames = (int) (fadeInSeconds * SAMPLE_RATE);
+        voice.active = true;
+        voice.bus = bus;
+        voice.position = 0;
+        voice.leftGain = (float) (gain * Math.cos(angle) * Math.sqrt(2));
+        voice.rightGain = (float) (gain * Math.sin(angle) * Math.sqrt(2));
+        voice.startedAt = voiceCounter++;
+        voice.fade = fadeFrames > 0 ? 0f : 1f;
+        voice.fadeStep = fadeFrames > 0 ? 1f / fadeFrames : 0f;
+        voice.stopWhenSilent = false;
+    }
+
+    private void mixBlock() {
+        Arrays.fill(mixBuffer, 0f);
+        for (Voice voice : voices) {
+            if (voice.active) mixVoice(voice);
+        }
+
+        for (int i = 0, o = 0; i < mixBuffer.length; i++, o += 2) {
+            float value = mixBuffer[i];
+            if (value > 1f) value = 1f; else if (value < -1f) value = -1f;
+            int pcm = (int) (value * 32767f);
+            outputBuffer[o] = (byte) pcm;
+            outputBuffer[o + 1] = (byte) (pcm >> 8);
+        }
+    }
+
+    private void mixVoice(Voice voice) {
+        SoundBank.Sample sample = voice.sample;
+        MusicStream stream = voice.stream;
+        int channels = stream != null ? stream.channels : sample.channels;
+        long frames = stream != null ? stream.available() : sample.frames;
+        float gain = busGain[voice.bus] * (1f / 32768f);
+        float left = voice.leftGain * gain;
+        float right = voice.rightGain * gain;
+        double position = voice.position;
+        double step = voice.step;
+        float fade = voice.fade;
+        float fadeStep = voice.fadeStep;
+
+        for (int f = 0; f < BLOCK_FRAMES; f++) {
+            long index = (long) position;
+            if (index >= frames) {
+                if (stream != null) {
+                    // Stream kehabisan data: selesai jika sudah di akhir, jika tidak tunggu streamer (underrun)
+                    if (stream.isEnded() && index >= stream.available()) {
+                        voice.stop();
+                        return;
+                    }
+                    break;
+                }
+                if (!voice.loop) {
+                    voice.stop();
+                    return;
+                }
+                position -= frames;
+                index = (long) position;
+            }
+
+            float l, r;
+            if (stream != null) {
+                l = stream.sample(index, 0);
+                r = channels > 1 ? stream.sample(index, 1) : l;
+            } else {
+                int base = (int) index * channels;
+                l = sample.data[base];
+                r = channels > 1 ? sample.data[base + 1] : l;
+            }
+
+            if (fadeStep != 0f) {
+                fade += fadeStep;
+                if (fade >= 1f) {
+                    fade = 1f;
+                    fadeStep = 0f;
+                } else if (fade <= 0f) {
+                    fade = 0f;
+                    fadeStep = 0f;
+                    if (voice.stopWhenSilent) {
+                        voice.stop();
+                        return;
+                    }
+                }
+            }
+
+            mixBuffer[f * 2] += l * left * fade;
+            mixBuffer[f * 2 + 1] += r * right * fade;
+            position += step;
+        }
+        voice.position = position;
+        voice.fade = fade;
+        voice.fadeStep = fadeStep;
+        if (stream != null) stream.markConsumed((long) position);
+    }
+}
@@ -0,0 +1,58 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * Sumber isi dunia per chunk kolom untuk {@link LevelManager}.
+ *
+ * Dunia dibagi menjadi chunk selebar {@link LevelManager#CHUNK_COLS} kolom. Hanya chunk di sekitar
+ * kamera yang dimuat; chunk yang tertinggal dibuang dan bisa dimuat ulang kapan saja, sehingga
+ * {@link #loadChunk(int, byte[], Spawner)} harus menghasilkan isi yang sama untuk chunk yang sama
+ * selama satu permainan (antara dua {@link #reset(Random)}), berapa kali pun dan dalam urutan apa pun.
+ * Perubahan tile selama permainan (koin diambil, blok pecah) disimpan oleh LevelManager, bukan di sini.
+ */
+public interface ChunkSource {
+
+    /**
+     * Penerima entitas yang berdiri di chunk yang baru dimuat.
+     */
+    interface Spawner {
+        /**
+         * Entitas {@code type} (selain pemain) di kolom dan baris tile tertentu.
+         * @param id Id entri spawn: tidak negatif, unik dalam satu permainan, dan sama setiap kali
+         *           chunk-nya dimuat ulang, agar World bisa melewatkan entitas yang masih hidup atau
+         *           sudah dikalahkan.
+         */
+        void spawn(int id, LevelData.SpawnType type, int col, int row);
+    }
+
+    /** @return Lebar dunia dalam kolom tile. Sumber tanpa akhir mengembalikan lebar yang sangat besar. */
+    int getCols();
+
+    /** @return Tinggi dunia dalam baris tile. */
+    int getRows();
+
+    /** @return Kolom awal pemain, atau -1 untuk posisi bawaan {@link Player#fullReset()}. */
+    int getPlayerSpawnCol();
+
+    /** @return Baris awal pemain, atau -1 untuk posisi bawaan. */
+    int getPlayerSpawnRow();
+
+    /** @return Jumlah koin yang harus dikumpulkan untuk membuka pintu keluar pada permainan ini. */
+    int getCoinTarget();
+
+    /**
+     * Menyiapkan permainan baru. Semua keacakan isi level harus berasal dari {@code random}
+     * (generator milik {@link World}) agar permainan bisa diulang dari seed-nya.
+     */
+    void reset(Random random);
+
+    /**
+     * Mengisi satu chunk dan melaporkan entitas yang berdiri di dalamnya.
+     * @param chunk Indeks chunk, 0 untuk kolom 0..CHUNK_COLS-1.
+     * @param tiles Tujuan, kolom demi kolom: {@code tiles[kolomLokal * getRows() + baris]}. Seluruh isinya
+     *              harus ditulis; kolom di luar lebar dunia diisi {@link LevelManager#TILE_EMPTY}.
+     * @param spawner Penerima entitas di chunk ini.
+     */
+    void loadChunk(int chunk, byte[] tiles, Spawner spawner);
+}
@@ -72,8 +72,8 @@ public class CutscenePanel extends JPanel implements Runnable {
 
         soundManager = new SoundManager();
         // Pastikan file audio Anda sudah dalam format WAV atau yang didukung Java
-        // Ganti "res/game_bgm.wav" dengan nama file musik cutscene Anda jika berbeda.
-        soundManager.playMusic("res/game-overdrive-253440.wav", true); // Memulai musik cutscene
+        // Ganti SoundManager.MUSIC_CUTSCENE dengan nama file musik cutscene Anda jika berbeda.
+        soundManager.playMusic(SoundManager.MUSIC_CUTSCENE, true); // Memulai musik cutscene
 
         addKeyListener(new KeyAdapter() {
             @Override
@@ -201,7 +201,8 @@ public class CutscenePanel extends JPanel implements Runnable {
     private void finishCutscene(){
         if(!cutsceneFinished) {
             cutsceneFinished = true;
-            soundManager.stopMusic();
+            // Musik tidak dihentikan mendadak: memudar keluar, atau di-crossfade jika game memutar trek sendiri
+            soundManager.fadeOutMusic(1.5f);
             cutsceneThread = null;
             SwingUtilities.invokeLater(Main::showGame); // Beralih ke game utama di EDT
         }
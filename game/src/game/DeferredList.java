@@ -0,0 +1,122 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Daftar entitas dengan penambahan dan penghapusan yang ditunda.
+ *
+ * {@link #add(Object)} dan {@link #remove(Object)} hanya mencatat perintah; isi daftar yang
+ * terlihat lewat {@link #get(int)} dan {@link #size()} baru berubah saat {@link #flush()}.
+ * Dengan begitu daftar boleh diiterasi dengan indeks tanpa salinan, sekalipun entitas
+ * memunculkan atau menghapus entitas lain selama iterasi.
+ *
+ * Urutan saat flush: semua penghapusan diterapkan lebih dulu, lalu penambahan sesuai urutan
+ * pemanggilan {@link #add(Object)}. Entitas dibandingkan berdasarkan identitas.
+ *
+ * @param <T> Tipe entitas.
+ */
+public class DeferredList<T> {
+
+    private final ArrayList<T> items = new ArrayList<>();
+    private final ArrayList<T> pendingAdds = new ArrayList<>();
+    private final ArrayList<T> pendingRemoves = new ArrayList<>();
+    private final Consumer<? super T> onRemoved;
+
+    public DeferredList() {
+        this(null);
+    }
+
+    /**
+     * @param onRemoved Dipanggil untuk setiap entitas yang benar-benar dikeluarkan dari daftar
+     *                  (misalnya untuk mengembalikannya ke pool). Boleh null.
+     */
+    public DeferredList(Consumer<? super T> onRemoved) {
+        this.onRemoved = onRemoved;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * @return Indeks {@code item} di daftar yang terlihat, atau -1.
+     */
+    public int indexOf(T item) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == item) return i;
+        }
+        return -1;
+    }
+
+    /** Menjadwalkan penambahan pada flush berikutnya. */
+    public void add(T item) {
+        pendingAdds.add(item);
+    }
+
+    /** Menjadwalkan penghapusan pada flush berikutnya. Penghapusan ganda diabaikan. */
+    public void remove(T item) {
+        if (!isPendingRemoval(item)) {
+            pendingRemoves.add(item);
+        }
+    }
+
+    /**
+     * @return True jika {@code item} sudah dijadwalkan untuk dihapus dan sebaiknya diabaikan
+     *         oleh query hingga flush berikutnya.
+     */
+    public boolean isPendingRemoval(T item) {
+        for (int i = 0; i < pendingRemoves.size(); i++) {
+            if (pendingRemoves.get(i) == item) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Menerapkan semua perintah yang tertunda: penghapusan dulu, lalu penambahan.
+     * @return True jika isi daftar berubah.
+     */
+    public boolean flush() {
+        if (pendingRemoves.isEmpty() && pendingAdds.isEmpty()) return false;
+
+        if (!pendingRemoves.isEmpty()) {
+            int write = 0;
+            for (int read = 0; read < items.size(); read++) {
+                T item = items.get(read);
+                if (isPendingRemoval(item)) {
+                    if (onRemoved != null) onRemoved.accept(item);
+                } else {
+                    items.set(write++, item);
+                }
+            }
+            for (int i = items.size() - 1; i >= write; i--) {
+                items.remove(i);
+            }
+            pendingRemoves.clear();
+        }
+
+        for (int i = 0; i < pendingAdds.size(); i++) {
+            items.add(pendingAdds.get(i));
+        }
+        pendingAdds.clear();
+        return true;
+    }
+
+    /**
+     * Mengosongkan daftar dan semua perintah tertunda secara langsung.
+     * Hanya untuk dipakai di luar iterasi, misalnya saat restart.
+     */
+    public void clear() {
+        if (onRemoved != null) {
+            for (int i = 0; i < items.size(); i++) onRemoved.accept(items.get(i));
+            for (int i = 0; i < pendingAdds.size(); i++) onRemoved.accept(pendingAdds.get(i));
+        }
+        items.clear();
+        pendingAdds.clear();
+        pendingRemoves.clear();
+    }
+}
@@ -64,7 +64,7 @@ public class EndingCutscenePanel extends JPanel implements Runnable {
         soundManager = new SoundManager();
         // Asumsi musik game sudah berhenti di GamePanel, jadi mungkin tidak perlu musik baru di sini
         // Atau Anda bisa memutar musik penutup yang berbeda
-        // soundManager.playMusic("res/ending_music.wav", false); // Contoh: play musik ending sekali
+        // soundManager.playMusic(SoundManager.MUSIC_ENDING, false); // Contoh: play musik ending sekali (crossfade dari musik game)
 
         addKeyListener(new KeyAdapter() {
             @Override
@@ -0,0 +1,133 @@
+package game;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * {@link ChunkSource} untuk mode tanpa akhir: setiap chunk dibangkitkan secara prosedural.
+ *
+ * Isi chunk hanya bergantung pada seed permainan dan indeks chunk, sehingga chunk yang sudah
+ * dibuang bisa dibangkitkan ulang persis sama tanpa menyimpan apa pun. Setiap chunk berupa lantai
+ * dua baris dengan kemungkinan lubang, platform melayang berisi koin, duri, slime, dan meriam;
+ * peluang bahaya naik perlahan seiring jarak. Chunk pertama selalu datar dan aman untuk spawn pemain.
+ * Tidak ada pintu keluar: permainan berakhir saat pemain kehabisan nyawa.
+ */
+public class EndlessChunkSource implements ChunkSource {
+
+    private static final int COLS = LevelManager.CHUNK_COLS;
+    private static final int DIFFICULTY_CHUNKS = 64; // Jarak (dalam chunk) hingga tingkat kesulitan maksimum
+    private static final int SPAWNS_PER_CHUNK = 2; // Id spawn: chunk * 2 untuk slime, + 1 untuk meriam
+
+    private final int rows;
+    private final int groundRow; // Baris permukaan lantai; baris di bawahnya juga lantai
+    private final Random chunkRandom = new Random();
+    private long seed;
+
+    /**
+     * @param rows Tinggi dunia dalam baris tile.
+     */
+    public EndlessChunkSource(int rows) {
+        this.rows = rows;
+        this.groundRow = rows - 2;
+    }
+
+    @Override public int getCols() { return Integer.MAX_VALUE; }
+    @Override public int getRows() { return rows; }
+    @Override public int getPlayerSpawnCol() { return 2; }
+    @Override public int getPlayerSpawnRow() { return groundRow - 2; }
+
+    /** Tidak ada pintu keluar, jadi koin hanya untuk skor. */
+    @Override public int getCoinTarget() { return Integer.MAX_VALUE; }
+
+    @Override
+    public void reset(Random random) {
+        seed = random.nextLong();
+    }
+
+    @Override
+    public void loadChunk(int chunk, byte[] tiles, Spawner spawner) {
+        Arrays.fill(tiles, (byte) LevelManager.TILE_EMPTY);
+        for (int c = 0; c < COLS; c++) {
+            set(tiles, c, groundRow, LevelManager.TILE_GROUND);
+            set(tiles, c, groundRow + 1, LevelManager.TILE_GROUND);
+        }
+
+        chunkRandom.setSeed(seed + chunk * 0x9E3779B97F4A7C15L);
+        Random rng = chunkRandom;
+        int firstCol = chunk * COLS;
+
+        // Chunk pertama: lantai datar dengan beberapa koin
+        if (chunk == 0) {
+            for (int c = 6; c < 10; c++) {
+                set(tiles, c, groundRow - 1, LevelManager.TILE_COIN);
+            }
+            return;
+        }
+
+        double difficulty = Math.min(1.0, chunk / (double) DIFFICULTY_CHUNKS);
+        boolean[] used = new boolean[COLS]; // Kolom yang permukaannya sudah dipakai
+
+        // Lubang 2..4 kolom, tidak pernah menyentuh tepi chunk agar sambungan antar chunk selalu berpijak
+        if (rng.nextDouble() < 0.3 + 0.3 * difficulty) {
+            int width = 2 + rng.nextInt(2 + (int) Math.round(difficulty));
+            int start = 3 + rng.nextInt(COLS - 6 - width);
+            for (int c = start; c < start + width; c++) {
+                set(tiles, c, groundRow, LevelManager.TILE_EMPTY);
+                set(tiles, c, groundRow + 1, LevelManager.TILE_DEATH_ZONE);
+            }
+            Arrays.fill(used, start - 1, start + width + 1, true);
+        }
+
+        // Platform melayang dengan deretan koin di atasnya
+        if (rng.nextDouble() < 0.5) {
+            int length = 3 + rng.nextInt(3);
+            int start = 1 + rng.nextInt(COLS - length - 1);
+            int row = groundRow - 4 - rng.nextInt(2);
+            for (int c = start; c < start + length; c++) {
+                set(tiles, c, row, LevelManager.TILE_GROUND);
+                set(tiles, c, row - 1, LevelManager.TILE_COIN);
+            }
+            if (rng.nextDouble() < 0.1) {
+                set(tiles, start + length / 2, row - 2, LevelManager.TILE_HEALTH);
+            }
+        }
+
+        // Duri di permukaan lantai
+        if (rng.nextDouble() < 0.2 + 0.3 * difficulty) {
+            int c = freeColumn(rng, used);
+            if (c >= 0) set(tiles, c, groundRow - 1, LevelManager.TILE_SPIKE);
+        }
+
+        // Koin di lantai
+        int coins = rng.nextInt(3);
+        for (int i = 0; i < coins; i++) {
+            int c = freeColumn(rng, used);
+            if (c >= 0) set(tiles, c, groundRow - 1, LevelManager.TILE_COIN);
+        }
+
+        if (rng.nextDouble() < 0.4 + 0.3 * difficulty) {
+            int c = freeColumn(rng, used);
+            if (c >= 0) spawner.spawn(chunk * SPAWNS_PER_CHUNK, LevelData.SpawnType.SLIME, firstCol + c, groundRow - 1);
+        }
+        if (rng.nextDouble() < 0.1 + 0.2 * difficulty) {
+            int c = freeColumn(rng, used);
+            if (c >= 0) spawner.spawn(chunk * SPAWNS_PER_CHUNK + 1, LevelData.SpawnType.CANNON, firstCol + c, groundRow - 1);
+        }
+    }
+
+    // Kolom acak yang permukaannya belum dipakai, lalu menandainya terpakai; -1 jika tidak ketemu
+    private static int freeColumn(Random rng, boolean[] used) {
+        for (int attempt = 0; attempt < 4; attempt++) {
+            int c = 1 + rng.nextInt(COLS - 2);
+            if (!used[c]) {
+                used[c] = true;
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private void set(byte[] tiles, int col, int row, int tile) {
+        tiles[col * rows + row] = (byte) tile;
+    }
+}
@@ -1,95 +1,96 @@
 package game;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.InputStream;
-import java.io.IOException;
 
 public class Enemy {
+    // Sprite dimensions; EnemyArrayStore uses the same scaled size
+    static final int SCALE = 2;
+    static final int SPRITE_WIDTH = 32; // Original pixel width of a single sprite frame
+    static final int SPRITE_HEIGHT = 24; // Original pixel height of a single sprite frame
+    static final int WIDTH = SPRITE_WIDTH * SCALE; // Scaled width for collision and drawing
+    static final int HEIGHT = SPRITE_HEIGHT * SCALE; // Scaled height for collision and drawing
+
     private double x, y; // Enemy's position
+    private double prevX, prevY; // Position on the previous tick, used for render interpolation
     private int width, height; // Enemy's dimensions
     private double velX = -1.0; // Horizontal velocity (starts moving left)
     private double velY = 0; // Vertical velocity
     private final double gravity = 0.8; // Gravity effect
     private boolean onGround = false; // Flag to check if enemy is on the ground
 
-    private GamePanel gp; // Reference to the GamePanel
+    private World world; // The world this enemy belongs to
+    private final int spawnId; // Spawn entry this enemy came from, see ChunkSource.Spawner
 
-    private BufferedImage[] walkFrames; // Animation frames for walking
+    private AssetCache.FrameSet walkFrames; // Shared animation frames for walking
     private int animationFrame = 0; // Current frame in the animation
     private int animationTick = 0; // Counter for animation speed
     private final int animationSpeed = 25; // How many game ticks before next animation frame
 
+    private final AABB bounds = new AABB(); // Reused by getBounds() so updates allocate nothing
+
     /**
      * Constructor for the Enemy class.
      * @param x Initial X position of the enemy.
      * @param y Initial Y position of the enemy.
-     * @param gp Reference to the GamePanel.
+     * @param spawnId Id of the spawn entry this enemy came from.
+     * @param world The world this enemy belongs to.
      */
-    public Enemy(int x, int y, GamePanel gp) {
-        this.gp = gp;
-
-        // Define scaling and visual dimensions for the enemy sprite
-        final int SCALE = 2;
-        final int VISUAL_SPRITE_WIDTH = 32;
-        final int VISUAL_SPRITE_HEIGHT = 24;
+    public Enemy(int x, int y, int spawnId, World world) {
+        this.world = world;
+        this.spawnId = spawnId;
 
-        this.width = VISUAL_SPRITE_WIDTH * SCALE; // Scaled width for collision and drawing
-        this.height = VISUAL_SPRITE_HEIGHT * SCALE; // Scaled height for collision and drawing
+        this.width = WIDTH;
+        this.height = HEIGHT;
 
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
 
-        loadSprite(); // Load enemy sprite images
+        walkFrames = getWalkFrames(); // Shared enemy sprite frames
     }
 
     /**
-     * Loads the enemy sprite sheet from resources and extracts animation frames.
-     * Provides error handling if the sprite sheet is not found.
+     * Returns the shared slime walk frames from the AssetCache.
+     * The sprite sheet is decoded and sliced only once for the whole process,
+     * so spawning an enemy costs no I/O.
+     * @return The shared walk animation frames (empty if the sheet could not be loaded).
      */
-    private void loadSprite() {
-        try {
-            // Attempt to load resource from current class path first
-            InputStream is = getClass().getResourceAsStream("/res/slime.png");
-            if (is == null) {
-                // Fallback to class loader if direct resource stream fails (though usually getClass() is enough)
-                is = Enemy.class.getResourceAsStream("/res/slime.png");
-            }
-            if (is == null) {
+    static AssetCache.FrameSet getWalkFrames() {
+        return AssetCache.getFrames(AssetCache.SLIME_WALK_FRAMES, "/res/slime.png", spriteSheet -> {
+            if (spriteSheet == null) {
                 System.err.println("KRITIS: Tidak dapat menemukan file 'res/slime.png'.");
-                return; // Exit if sprite not found
+                return null;
             }
 
-            BufferedImage spriteSheet = ImageIO.read(is); // Read the sprite sheet image
-
-            final int SPRITE_WIDTH = 32; // Original pixel width of a single sprite frame
-            final int SPRITE_HEIGHT = 24; // Original pixel height of a single sprite frame
             final int Y_OFFSET = 0; // Y-coordinate offset within the sprite sheet for the animation row
 
-            walkFrames = new BufferedImage[2]; // 2 frames for walking animation
-            // Extract individual frames from the sprite sheet
-            walkFrames[0] = spriteSheet.getSubimage(0, Y_OFFSET, SPRITE_WIDTH, SPRITE_HEIGHT);
-            walkFrames[1] = spriteSheet.getSubimage(32, Y_OFFSET, SPRITE_WIDTH, SPRITE_HEIGHT);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("Error loading enemy sprite sheet.");
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-            System.err.println("Error extracting enemy subimages (invalid coordinates or dimensions).");
-        }
+            // Extract the 2 walking frames from the sprite sheet
+            return new BufferedImage[] {
+                spriteSheet.getSubimage(0, Y_OFFSET, SPRITE_WIDTH, SPRITE_HEIGHT),
+                spriteSheet.getSubimage(32, Y_OFFSET, SPRITE_WIDTH, SPRITE_HEIGHT)
+            };
+        });
+    }
+
+    /**
+     * Loads the enemy sprites up front so the first spawn does not decode the sheet.
+     */
+    public static void preloadSprites() {
+        getWalkFrames();
     }
 
     /**
      * Updates the enemy's state, including movement, gravity, collisions, and animation.
-     * @param levelMap The 2D array representing the game level.
+     * @param level The level tiles (currently loaded chunks).
      * @param tileSize The size of a single tile in pixels.
      */
-    public void update(int[][] levelMap, int tileSize) {
+    public void update(LevelManager level, int tileSize) {
+        prevX = x;
+        prevY = y;
+
         // Apply gravity if not on ground
         if (!onGround) {
             velY += gravity;
@@ -97,14 +98,14 @@ public class Enemy {
 
         // Apply vertical movement and check for collisions
         y += velY;
-        checkVerticalCollisions(levelMap, tileSize);
+        checkVerticalCollisions(level, tileSize);
 
         // Check for ledges to prevent falling off platforms (and reverse direction)
-        checkLedge(levelMap, tileSize);
+        checkLedge(level, tileSize);
 
         // Apply horizontal movement and check for collisions
         x += velX;
-        checkHorizontalCollisions(levelMap, tileSize);
+        checkHorizontalCollisions(level, tileSize);
 
         updateAnimationTick(); // Update enemy animation frame
     }
@@ -114,14 +115,14 @@ public class Enemy {
      * Cycles through walk frames.
      */
     private void updateAnimationTick() {
-        if (walkFrames == null || walkFrames.length == 0) return; // Prevent errors if sprites not loaded
+        if (walkFrames == null || walkFrames.size() == 0) return; // Prevent errors if sprites not loaded
 
         animationTick++;
         if (animationTick >= animationSpeed) {
             animationTick = 0;
             animationFrame++;
             // Loop animation frames
-            if (animationFrame >= walkFrames.length) {
+            if (animationFrame >= walkFrames.size()) {
                 animationFrame = 0;
             }
         }
@@ -130,25 +131,24 @@ public class Enemy {
     /**
      * Checks for horizontal collisions between the enemy and solid tiles.
      * If a collision occurs, the enemy reverses its horizontal direction.
-     * @param levelMap The 2D array representing the game level.
+     * @param level The level tiles (currently loaded chunks).
      * @param tileSize The size of a single tile in pixels.
      */
-    private void checkHorizontalCollisions(int[][] levelMap, int tileSize) {
-        Rectangle enemyBounds = getBounds(); // Get enemy's collision bounding box
+    private void checkHorizontalCollisions(LevelManager level, int tileSize) {
+        AABB enemyBounds = getBounds(); // Get enemy's collision bounding box
 
         // Iterate through tiles to check for collisions
         // Optimize by checking only tiles near the enemy
-        int startCol = Math.max(0, (int) (enemyBounds.getX() / tileSize) - 1);
-        int endCol = Math.min(gp.maxWorldCol - 1, (int) ((enemyBounds.getX() + enemyBounds.getWidth()) / tileSize) + 1);
-        int startRow = Math.max(0, (int) (enemyBounds.getY() / tileSize) - 1);
-        int endRow = Math.min(gp.maxWorldRow - 1, (int) ((enemyBounds.getY() + enemyBounds.getHeight()) / tileSize) + 1);
+        int startCol = Math.max(0, enemyBounds.x / tileSize - 1);
+        int endCol = Math.min(world.maxWorldCol - 1, (enemyBounds.x + enemyBounds.width) / tileSize + 1);
+        int startRow = Math.max(0, enemyBounds.y / tileSize - 1);
+        int endRow = Math.min(world.maxWorldRow - 1, (enemyBounds.y + enemyBounds.height) / tileSize + 1);
 
         for (int row = startRow; row <= endRow; row++) {
             for (int col = startCol; col <= endCol; col++) {
-                // Only consider solid tiles (tileType == 1) for horizontal collision
-                if (levelMap[row][col] == 1) {
-                    Rectangle tileBounds = new Rectangle(col * tileSize, row * tileSize, tileSize, tileSize);
-                    if (enemyBounds.intersects(tileBounds)) {
+                // Only consider tiles that block enemies for horizontal collision
+                if ((TileRegistry.flags(level.tileAt(row, col)) & TileRegistry.ENEMY_SOLID) != 0) {
+                    if (enemyBounds.intersects(col * tileSize, row * tileSize, tileSize, tileSize)) {
                         velX = -velX; // Reverse horizontal direction
                         // Adjust position slightly to prevent sticking
                         x += (velX > 0 ? 1 : -1); // Move 1 pixel away from the collision
@@ -162,31 +162,31 @@ public class Enemy {
     /**
      * Checks for vertical collisions between the enemy and solid tiles.
      * Adjusts enemy's vertical position and velocity, and updates onGround status.
-     * @param levelMap The 2D array representing the game level.
+     * @param level The level tiles (currently loaded chunks).
      * @param tileSize The size of a single tile in pixels.
      */
-    private void checkVerticalCollisions(int[][] levelMap, int tileSize) {
+    private void checkVerticalCollisions(LevelManager level, int tileSize) {
         onGround = false; // Assume not on ground unless a collision proves otherwise
-        Rectangle enemyBounds = getBounds(); // Get enemy's collision bounding box
+        AABB enemyBounds = getBounds(); // Get enemy's collision bounding box
 
         // Iterate through tiles to check for collisions
-        int startCol = Math.max(0, (int) (enemyBounds.getX() / tileSize) - 1);
-        int endCol = Math.min(gp.maxWorldCol - 1, (int) ((enemyBounds.getX() + enemyBounds.getWidth()) / tileSize) + 1);
-        int startRow = Math.max(0, (int) (enemyBounds.getY() / tileSize) - 1);
-        int endRow = Math.min(gp.maxWorldRow - 1, (int) ((enemyBounds.getY() + enemyBounds.getHeight()) / tileSize) + 1);
+        int startCol = Math.max(0, enemyBounds.x / tileSize - 1);
+        int endCol = Math.min(world.maxWorldCol - 1, (enemyBounds.x + enemyBounds.width) / tileSize + 1);
+        int startRow = Math.max(0, enemyBounds.y / tileSize - 1);
+        int endRow = Math.min(world.maxWorldRow - 1, (enemyBounds.y + enemyBounds.height) / tileSize + 1);
 
         for (int row = startRow; row <= endRow; row++) {
             for (int col = startCol; col <= endCol; col++) {
-                // Only consider solid tiles (tileType == 1) for vertical collision
-                if (levelMap[row][col] == 1) {
-                    Rectangle tileBounds = new Rectangle(col * tileSize, row * tileSize, tileSize, tileSize);
-                    if (enemyBounds.intersects(tileBounds)) {
+                // Only consider tiles that block enemies for vertical collision
+                if ((TileRegistry.flags(level.tileAt(row, col)) & TileRegistry.ENEMY_SOLID) != 0) {
+                    int tileY = row * tileSize;
+                    if (enemyBounds.intersects(col * tileSize, tileY, tileSize, tileSize)) {
                         if (velY >= 0) { // Falling (hit ground)
-                            y = tileBounds.y - height; // Position on top of the tile
+                            y = tileY - height; // Position on top of the tile
                             velY = 0; // Stop falling
                             onGround = true; // Enemy is now on the ground
                         } else { // Jumping (hit ceiling)
-                            y = tileBounds.y + tileSize; // Position below the tile
+                            y = tileY + tileSize; // Position below the tile
                             velY = 0; // Stop moving up
                         }
                         // Important: Do not return here if you want to handle multiple potential collisions
@@ -201,10 +201,10 @@ public class Enemy {
      * Checks if the enemy is about to walk off a ledge.
      * If so, it reverses the enemy's horizontal direction.
      * This makes enemies patrol back and forth on platforms.
-     * @param levelMap The 2D array representing the game level.
+     * @param level The level tiles (currently loaded chunks).
      * @param tileSize The size of a single tile in pixels.
      */
-    private void checkLedge(int[][] levelMap, int tileSize) {
+    private void checkLedge(LevelManager level, int tileSize) {
         if (!onGround) {
             return; // Only check for ledges if the enemy is on the ground
         }
@@ -222,53 +222,49 @@ public class Enemy {
         int row = checkY / tileSize;
 
         // Ensure check coordinates are within world bounds
-        if (col >= 0 && col < gp.maxWorldCol && row >= 0 && row < gp.maxWorldRow) {
-            // If the tile below (in the direction of movement) is empty (0), reverse direction
-            if (levelMap[row][col] == 0) {
+        if (col >= 0 && col < world.maxWorldCol && row >= 0 && row < world.maxWorldRow) {
+            // If the tile below (in the direction of movement) is open to enemies, reverse direction
+            if ((TileRegistry.flags(level.tileAt(row, col)) & TileRegistry.ENEMY_OPEN) != 0) {
                 velX = -velX; // Reverse horizontal direction
             }
         }
     }
 
     /**
-     * Draws the enemy character on the screen.
-     * Flips the sprite horizontally based on movement direction.
-     * @param g Graphics object for drawing.
+     * Draws the enemy character through the sprite batch.
+     * Flips the sprite horizontally when moving right (the sprite faces left).
+     * @param batch The sprite batch for the current frame.
      */
-    public void draw(Graphics g) {
-        if (walkFrames != null && animationFrame < walkFrames.length && walkFrames[animationFrame] != null) {
-            BufferedImage image = walkFrames[animationFrame];
-            Graphics2D g2d = (Graphics2D) g.create(); // Create a copy of Graphics2D for transformations
-
-            g2d.translate((int)x, (int)y); // Translate to enemy's position
-
-            // Flip the sprite horizontally if moving right (default sprite assumes facing left)
-            if (velX > 0) {
-                g2d.translate(width, 0); // Move origin to right edge
-                g2d.scale(-1, 1); // Flip horizontally
-            }
-
-            // Draw the current animation frame, scaled to enemy's size
-            g2d.drawImage(image, 0, 0, width, height, null);
-            g2d.dispose(); // Dispose the Graphics2D copy
-        } else {
+    public void draw(SpriteBatch batch) {
+        int drawX = (int) batch.interpolate(prevX, x);
+        int drawY = (int) batch.interpolate(prevY, y);
+        if (!batch.isVisible(drawX, width)) return;
+        batch.setSmooth(true);
+        if (!batch.draw(walkFrames, animationFrame, drawX, drawY, width, height, velX > 0)) {
             // Fallback: draw a green rectangle if sprite failed to load or frames are missing
-            g.setColor(Color.GREEN);
-            g.fillRect((int)x, (int)y, width, height);
+            Graphics2D g2d = batch.graphics();
+            g2d.setColor(Color.GREEN);
+            g2d.fillRect(drawX, drawY, width, height);
         }
     }
 
+    /** @return Id of the spawn entry this enemy came from. */
+    public int getSpawnId() {
+        return spawnId;
+    }
+
     /**
      * Returns the enemy's collision bounding box.
      * An inset is applied to make the collision box slightly smaller than the visual sprite,
      * often used to make collisions feel more forgiving.
-     * @return A Rectangle representing the enemy's current collision area.
+     * The returned object is reused and updated on every call.
+     * @return An AABB representing the enemy's current collision area.
      */
-    public Rectangle getBounds() {
+    public AABB getBounds() {
         int insetX = width / 6; // Inset from left/right
         int insetY = height / 4; // Inset from top/bottom
 
-        return new Rectangle(
+        return bounds.set(
             (int)x + insetX,
             (int)y + insetY,
             width - (insetX * 2), // Reduced width
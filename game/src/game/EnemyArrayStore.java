@@ -0,0 +1,254 @@
+package game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+/**
+ * {@link EnemyStore} berbasis struct-of-arrays: status setiap slime disimpan di array primitif
+ * paralel (posisi, kecepatan, status tanah, animasi) dan logika {@link Enemy} dijalankan sebagai
+ * satu loop batch di atasnya. Tidak ada objek per musuh, sehingga update ribuan slime berjalan
+ * berurutan di memori tanpa pointer chasing.
+ *
+ * Perilakunya sama dengan {@link Enemy}: gravitasi, tabrakan vertikal, deteksi tepi, lalu
+ * tabrakan horizontal yang membalik arah. Spawn ditulis ke wilayah tertunda di belakang array
+ * dan penghapusan hanya menandai slot; keduanya diterapkan saat {@link #flush()} dengan
+ * satu pemadatan yang mempertahankan urutan.
+ */
+public class EnemyArrayStore implements EnemyStore {
+
+    private static final int WIDTH = Enemy.WIDTH; // Ukuran sprite yang sudah diskalakan, sama dengan Enemy
+    private static final int HEIGHT = Enemy.HEIGHT;
+    private static final int INSET_X = WIDTH / 6;
+    private static final int INSET_Y = HEIGHT / 4;
+    private static final double GRAVITY = 0.8;
+    private static final int ANIMATION_SPEED = 25;
+
+    private final World world;
+    private final AABB scratch = new AABB();
+
+    private int count = 0; // Entitas yang terlihat
+    private int pending = 0; // Spawn yang menunggu flush, disimpan di indeks count..count+pending-1
+    private int removed = 0; // Jumlah slot yang ditandai dead
+    private double[] x, y, prevX, prevY, velX, velY;
+    private boolean[] onGround, dead;
+    private int[] animationFrame, animationTick, spawnId;
+
+    public EnemyArrayStore(World world) {
+        this.world = world;
+        allocate(64);
+    }
+
+    private void allocate(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        velX = new double[capacity];
+        velY = new double[capacity];
+        onGround = new boolean[capacity];
+        dead = new boolean[capacity];
+        animationFrame = new int[capacity];
+        animationTick = new int[capacity];
+        spawnId = new int[capacity];
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        velX = Arrays.copyOf(velX, capacity);
+        velY = Arrays.copyOf(velY, capacity);
+        onGround = Arrays.copyOf(onGround, capacity);
+        dead = Arrays.copyOf(dead, capacity);
+        animationFrame = Arrays.copyOf(animationFrame, capacity);
+        animationTick = Arrays.copyOf(animationTick, capacity);
+        spawnId = Arrays.copyOf(spawnId, capacity);
+    }
+
+    @Override
+    public void spawn(int spawnX, int spawnY, int id) {
+        if (count + pending == x.length) grow();
+        int i = count + pending++;
+        x[i] = spawnX;
+        y[i] = spawnY;
+        prevX[i] = spawnX;
+        prevY[i] = spawnY;
+        velX[i] = -1.0; // Mulai bergerak ke kiri
+        velY[i] = 0;
+        onGround[i] = false;
+        dead[i] = false;
+        animationFrame[i] = 0;
+        animationTick[i] = 0;
+        spawnId[i] = id;
+    }
+
+    @Override
+    public int getSpawnId(int index) {
+        return spawnId[index];
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        count = 0;
+        pending = 0;
+        removed = 0;
+    }
+
+    @Override
+    public void flush() {
+        if (pending == 0 && removed == 0) return;
+        int total = count + pending;
+        int write = 0;
+        for (int read = 0; read < total; read++) {
+            if (dead[read]) continue;
+            if (read != write) move(read, write);
+            write++;
+        }
+        count = write;
+        pending = 0;
+        removed = 0;
+    }
+
+    @Override
+    public void update(LevelManager level, int tileSize) {
+        int frameCount = Enemy.getWalkFrames().size();
+        int maxCol = world.maxWorldCol - 1;
+        int maxRow = world.maxWorldRow - 1;
+
+        for (int i = 0; i < count; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+
+            if (!onGround[i]) {
+                velY[i] += GRAVITY;
+            }
+
+            // Gerak vertikal dan tabrakan dengan tanah/langit-langit
+            y[i] += velY[i];
+            onGround[i] = false;
+            int bx = (int) x[i] + INSET_X;
+            int by = (int) y[i] + INSET_Y;
+            int bw = WIDTH - INSET_X * 2;
+            int bh = HEIGHT - INSET_Y * 2;
+            int startCol = Math.max(0, bx / tileSize - 1);
+            int endCol = Math.min(maxCol, (bx + bw) / tileSize + 1);
+            int startRow = Math.max(0, by / tileSize - 1);
+            int endRow = Math.min(maxRow, (by + bh) / tileSize + 1);
+            for (int row = startRow; row <= endRow; row++) {
+                for (int col = startCol; col <= endCol; col++) {
+                    if ((TileRegistry.flags(level.tileAt(row, col)) & TileRegistry.ENEMY_SOLID) == 0) continue;
+                    int tileY = row * tileSize;
+                    if (AABB.intersects(bx, by, bw, bh, col * tileSize, tileY, tileSize, tileSize)) {
+                        if (velY[i] >= 0) {
+                            y[i] = tileY - HEIGHT;
+                            onGround[i] = true;
+                        } else {
+                            y[i] = tileY + tileSize;
+                        }
+                        velY[i] = 0;
+                    }
+                }
+            }
+
+            // Berbalik arah di tepi platform
+            if (onGround[i]) {
+                int checkX = velX[i] < 0 ? (int) (x[i] + velX[i]) : (int) (x[i] + WIDTH + velX[i]);
+                int col = checkX / tileSize;
+                int row = (int) (y[i] + HEIGHT + 1) / tileSize;
+                if (col >= 0 && col <= maxCol && row >= 0 && row <= maxRow && (TileRegistry.flags(level.tileAt(row, col)) & TileRegistry.ENEMY_OPEN) != 0) {
+                    velX[i] = -velX[i];
+                }
+            }
+
+            // Gerak horizontal dan berbalik arah saat menabrak tile padat
+            x[i] += velX[i];
+            bx = (int) x[i] + INSET_X;
+            by = (int) y[i] + INSET_Y;
+            startCol = Math.max(0, bx / tileSize - 1);
+            endCol = Math.min(maxCol, (bx + bw) / tileSize + 1);
+            startRow = Math.max(0, by / tileSize - 1);
+            endRow = Math.min(maxRow, (by + bh) / tileSize + 1);
+            horizontal:
+            for (int row = startRow; row <= endRow; row++) {
+                for (int col = startCol; col <= endCol; col++) {
+                    if ((TileRegistry.flags(level.tileAt(row, col)) & TileRegistry.ENEMY_SOLID) != 0
+                            && AABB.intersects(bx, by, bw, bh, col * tileSize, row * tileSize, tileSize, tileSize)) {
+                        velX[i] = -velX[i];
+                        x[i] += (velX[i] > 0 ? 1 : -1);
+                        break horizontal;
+                    }
+                }
+            }
+
+            if (frameCount > 0 && ++animationTick[i] >= ANIMATION_SPEED) {
+                animationTick[i] = 0;
+                animationFrame[i] = (animationFrame[i] + 1) % frameCount;
+            }
+        }
+    }
+
+    @Override
+    public void draw(SpriteBatch batch) {
+        AssetCache.FrameSet frames = Enemy.getWalkFrames();
+        batch.setSmooth(true);
+        for (int i = 0; i < count; i++) {
+            if (dead[i]) continue;
+            int drawX = (int) batch.interpolate(prevX[i], x[i]);
+            int drawY = (int) batch.interpolate(prevY[i], y[i]);
+            if (!batch.isVisible(drawX, WIDTH)) continue;
+            // Sprite menghadap kiri; dibalik saat bergerak ke kanan
+            if (!batch.draw(frames, animationFrame[i], drawX, drawY, WIDTH, HEIGHT, velX[i] > 0)) {
+                Graphics2D g2d = batch.graphics();
+                g2d.setColor(Color.GREEN);
+                g2d.fillRect(drawX, drawY, WIDTH, HEIGHT);
+            }
+        }
+    }
+
+    @Override
+    public AABB getBounds(int index) {
+        return scratch.set((int) x[index] + INSET_X, (int) y[index] + INSET_Y, WIDTH - INSET_X * 2, HEIGHT - INSET_Y * 2);
+    }
+
+    @Override
+    public int findIntersecting(AABB box) {
+        int bw = WIDTH - INSET_X * 2;
+        int bh = HEIGHT - INSET_Y * 2;
+        for (int i = 0; i < count; i++) {
+            if (!dead[i] && AABB.intersects(box.x, box.y, box.width, box.height, (int) x[i] + INSET_X, (int) y[i] + INSET_Y, bw, bh)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void remove(int index) {
+        if (!dead[index]) {
+            dead[index] = true;
+            removed++;
+        }
+    }
+
+    private void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        velX[to] = velX[from];
+        velY[to] = velY[from];
+        onGround[to] = onGround[from];
+        dead[to] = false;
+        animationFrame[to] = animationFrame[from];
+        spawnId[to] = spawnId[from];
+        animationTick[to] = animationTick[from];
+    }
+}
@@ -0,0 +1,98 @@
+package game;
+
+import java.util.ArrayList;
+
+/**
+ * {@link EnemyStore} berbasis objek: setiap slime adalah satu instance {@link Enemy}.
+ * Ini adalah jalur default; pencarian tabrakan memakai {@link SpatialHash} yang dibangun
+ * ulang hanya ketika isi penyimpanan berubah sejak query terakhir.
+ */
+public class EnemyListStore implements EnemyStore {
+
+    private final World world;
+    private final DeferredList<Enemy> enemies = new DeferredList<>();
+    private final SpatialHash<Enemy> hash;
+    private final ArrayList<Enemy> candidates = new ArrayList<>();
+    private boolean hashDirty = true;
+
+    public EnemyListStore(World world) {
+        this.world = world;
+        this.hash = new SpatialHash<>(world.streamWidth, world.tileSize, World.BROADPHASE_CELL_COLS);
+    }
+
+    @Override
+    public void spawn(int x, int y, int spawnId) {
+        enemies.add(new Enemy(x, y, spawnId, world));
+    }
+
+    @Override
+    public int getSpawnId(int index) {
+        return enemies.get(index).getSpawnId();
+    }
+
+    @Override
+    public int size() {
+        return enemies.size();
+    }
+
+    @Override
+    public void clear() {
+        enemies.clear();
+        hashDirty = true;
+    }
+
+    @Override
+    public void flush() {
+        if (enemies.flush()) {
+            hashDirty = true;
+        }
+    }
+
+    @Override
+    public void update(LevelManager level, int tileSize) {
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).update(level, tileSize);
+        }
+        hashDirty = true;
+    }
+
+    @Override
+    public void draw(SpriteBatch batch) {
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).draw(batch);
+        }
+    }
+
+    @Override
+    public AABB getBounds(int index) {
+        return enemies.get(index).getBounds();
+    }
+
+    @Override
+    public int findIntersecting(AABB box) {
+        if (hashDirty) {
+            hash.clear(world.levelManager.getLoadedMinX());
+            for (int i = 0; i < enemies.size(); i++) {
+                Enemy enemy = enemies.get(i);
+                AABB b = enemy.getBounds();
+                hash.insert(enemy, b.x, b.x + b.width);
+            }
+            hashDirty = false;
+        }
+
+        candidates.clear();
+        hash.query(box.x, box.x + box.width, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Enemy enemy = candidates.get(i);
+            if (!enemies.isPendingRemoval(enemy) && box.intersects(enemy.getBounds())) {
+                return enemies.indexOf(enemy);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void remove(int index) {
+        enemies.remove(enemies.get(index));
+    }
+}
@@ -0,0 +1,18 @@
+package game;
+
+/**
+ * Penyimpanan musuh slime yang berpatroli di atas tanah.
+ */
+public interface EnemyStore extends EntityStore {
+
+    /**
+     * Memunculkan slime baru pada flush berikutnya.
+     * @param x Posisi X awal.
+     * @param y Posisi Y awal.
+     * @param spawnId Id entri spawn asal slime (lihat {@link ChunkSource.Spawner}).
+     */
+    void spawn(int x, int y, int spawnId);
+
+    /** @return Id entri spawn asal slime ke-{@code index}. */
+    int getSpawnId(int index);
+}
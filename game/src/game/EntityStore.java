@@ -0,0 +1,54 @@
+package game;
+
+/**
+ * Penyimpanan sekumpulan entitas sejenis yang di-update, digambar, dan diuji tabrakannya sebagai satu batch.
+ *
+ * Entitas dialamatkan dengan indeks 0..size()-1. Spawn dan {@link #remove(int)} ditunda:
+ * keduanya baru diterapkan saat {@link #flush()}, yang dipanggil World sekali per tick
+ * setelah tabrakan diperiksa. Karena itu indeks tetap stabil dan iterasi tidak memerlukan
+ * salinan selama satu tick. Saat flush, penghapusan diterapkan lebih dulu, lalu spawn sesuai
+ * urutan pemanggilannya.
+ *
+ * Ada dua bentuk implementasi: berbasis objek (daftar {@link Enemy}/{@link Obstacle}, jalur lama)
+ * dan berbasis array primitif paralel (struct-of-arrays) untuk level dengan ribuan entitas.
+ * Pilihannya diatur lewat {@code -Dgame.entities=objects|arrays}.
+ */
+public interface EntityStore {
+
+    /** @return Jumlah entitas yang hidup. */
+    int size();
+
+    /** Menghapus semua entitas, termasuk spawn yang belum di-flush, secara langsung. */
+    void clear();
+
+    /**
+     * Menerapkan penghapusan lalu spawn yang tertunda. Indeks lama tidak berlaku lagi setelahnya.
+     */
+    void flush();
+
+    /**
+     * Menjalankan satu tick logika untuk semua entitas.
+     * @param level Peta tile level (chunk yang sedang dimuat).
+     * @param tileSize Ukuran satu tile dalam piksel.
+     */
+    void update(LevelManager level, int tileSize);
+
+    /** Menggambar semua entitas pada koordinat dunia lewat sprite batch (Graphics-nya sudah ditranslasi kamera). */
+    void draw(SpriteBatch batch);
+
+    /**
+     * Mengembalikan hitbox entitas ke-{@code index}. Objek yang dikembalikan dipakai ulang
+     * dan hanya berlaku sampai pemanggilan berikutnya.
+     */
+    AABB getBounds(int index);
+
+    /**
+     * Mencari entitas pertama yang hitbox-nya tumpang tindih dengan {@code box}.
+     * Entitas yang sudah dijadwalkan untuk dihapus diabaikan.
+     * @return Indeks entitas, atau -1 jika tidak ada.
+     */
+    int findIntersecting(AABB box);
+
+    /** Menjadwalkan penghapusan entitas ke-{@code index} pada flush berikutnya. */
+    void remove(int index);
+}
@@ -1,42 +1,53 @@
 package game;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import java.awt.BorderLayout;
+import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 import javax.imageio.ImageIO;
 import java.io.InputStream;
 import java.io.IOException;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.Random;
-
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cangkang Swing untuk game: loop waktu, input keyboard, menu, dan semua penggambaran.
+ * Seluruh logika permainan berada di {@link World}, yang dimajukan satu tick per langkah
+ * simulasi dan dijalankan tanpa panel ini oleh {@link Simulation}.
+ */
 public class GamePanel extends JPanel implements Runnable, KeyListener {
 
-    // Pengaturan Layar
-    final int originalTileSize = 16;
-    final int scale = 3;
-    public final int tileSize = originalTileSize * scale;
-    public final int screenWidth = tileSize * 20;
-    public final int screenHeight = tileSize * 15;
-
-    // Pengaturan Dunia Game
-    public final int maxWorldCol = 120;
-    public final int maxWorldRow = 15;
-    public final int worldWidth = tileSize * maxWorldCol;
-    public final int worldHeight = tileSize * maxWorldRow;
+    // Inti simulasi; ukuran layar dan dunia diambil darinya
+    final World world = new World();
+    private final int tileSize = world.tileSize;
+    private final int screenWidth = world.screenWidth;
+    private final int screenHeight = world.screenHeight;
 
-    // Sistem Kamera
-    public int cameraX = 0;
+    // Posisi kamera yang diinterpolasi untuk frame yang sedang digambar
+    private int renderCameraX = 0;
 
     // FPS
-    int FPS = 60;
+    int FPS = GameSettings.TARGET_FPS;
+    private final int UPS = GameSettings.UPDATES_PER_SECOND;
+    private final long MAX_FRAME_TIME = 250_000_000L; // Batas waktu satu frame agar simulasi tidak "spiral of death"
+    private final long SPIN_THRESHOLD = 2_000_000L; // Sisa waktu (ns) di bawah ini ditunggu dengan yield, bukan sleep
+    private volatile double renderAlpha = 1.0; // Posisi relatif frame di antara dua tick (0..1)
+
+    // Active rendering: canvas + BufferStrategy yang digambar langsung dari game thread
+    private GameSettings.RenderMode renderMode = GameSettings.RENDER_MODE;
+    private Canvas canvas;
+    private BufferStrategy bufferStrategy;
 
     // Enum untuk mengelola status permainan
     public enum GameState {
@@ -45,33 +56,35 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
         GAME_OVER,
         GAME_WON
     }
-    private GameState gameState;
+    private volatile GameState gameState;
+    private volatile boolean restartRequested = false; // Diset oleh EDT, dijalankan di awal tick berikutnya
 
-    // Sistem Game dan Entitas
     Thread gameThread;
-    Player player = new Player(this);
-    ArrayList<Enemy> enemies = new ArrayList<>();
-    ArrayList<Obstacle> obstacles = new ArrayList<>();
-    ArrayList<MovingPlatform> movingPlatforms = new ArrayList<>(); // Daftar platform bergerak
-    private LevelManager levelManager;
+    private LevelRenderer levelRenderer;
     public SoundManager soundManager;
 
-    // Flag input pemain
-    private boolean jumpPressed = false;
-    private boolean leftPressed = false;
-    private boolean rightPressed = false;
+    // Flag input pemain: ditulis EDT, dibaca game thread sekali per tick lewat sampleInput()
+    private volatile boolean jumpPressed = false;
+    private volatile boolean leftPressed = false;
+    private volatile boolean rightPressed = false;
+    private final AtomicBoolean jumpRequested = new AtomicBoolean(); // Tombol lompat baru ditekan, belum dikonsumsi tick
+
+    // Rekaman dan replay input (lihat InputLog)
+    private InputLog recording;
+    private InputLog replay;
+    private InputLog.Playback playback;
+    private boolean replayUsed = false; // Rekaman -Dgame.replay hanya diputar pada permainan pertama
 
-    // Variabel Game
-    private int coinsCollected = 0;
     private BufferedImage coinImage;
     private BufferedImage[] backgroundLayers;
     private double[] parallaxFactors;
+    private ParallaxBackground parallaxBackground;
+    private final SpriteBatch spriteBatch = new SpriteBatch(); // Jalur gambar sprite entitas lewat atlas
 
     private int menuChoice = 0;
 
-    private Random random = new Random();
-    private int obstacleSpawnTimer = 0;
-    private final int OBSTACLE_SPAWN_INTERVAL = 120;
+    // Entitas yang sepenuhnya di luar jendela kamera (plus margin ini) tidak digambar
+    static final int CULL_MARGIN_TILES = 1;
 
     public GamePanel() {
         this.setPreferredSize(new Dimension(screenWidth, screenHeight));
@@ -80,63 +93,66 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
         this.addKeyListener(this);
         this.setFocusable(true);
 
+        if (renderMode == GameSettings.RenderMode.ACTIVE && GraphicsEnvironment.isHeadless()) {
+            renderMode = GameSettings.RenderMode.PASSIVE;
+        }
+        if (renderMode == GameSettings.RenderMode.ACTIVE) {
+            // Canvas tidak menerima fokus, sehingga input keyboard tetap sampai ke panel ini
+            canvas = new Canvas();
+            canvas.setPreferredSize(new Dimension(screenWidth, screenHeight));
+            canvas.setBackground(new Color(20, 80, 70));
+            canvas.setIgnoreRepaint(true);
+            canvas.setFocusable(false);
+            canvas.addKeyListener(this);
+            this.setLayout(new BorderLayout());
+            this.add(canvas, BorderLayout.CENTER);
+        }
+
         gameState = GameState.MENU;
         loadAssets();
-        levelManager = new LevelManager(this);
+        levelRenderer = new LevelRenderer(world, coinImage);
 
         soundManager = new SoundManager();
+        world.setSoundManager(soundManager);
     }
 
     /**
-     * Mereset status game, pemain, koin, level, dan entitas untuk memulai game baru.
-     * Menginisialisasi platform bergerak dari level map.
+     * Memulai game baru: mereset dunia lalu berpindah ke status PLAYING.
+     * Dipanggil dari game thread di awal tick (lihat {@link #update()}).
      */
     private void restartGame() {
-        gameState = GameState.PLAYING;
-        player.fullReset();
-        coinsCollected = 0;
-        levelManager.createLevel(); // Membuat ulang level
-        
-        enemies.clear();
-        obstacles.clear();
-        movingPlatforms.clear(); // Hapus platform bergerak lama
-        obstacleSpawnTimer = 0;
-
-        // Memunculkan musuh dan meriam pada posisi tetap di level
-        int groundLevelY = (maxWorldRow - 2) * tileSize; // Y koordinat baris ground atas
-
-        enemies.add(new Enemy(tileSize * 15, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 26, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 37, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 45, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 54, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 63, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 70, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 85, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 95, groundLevelY - (tileSize * 1), this));
-        enemies.add(new Enemy(tileSize * 105, groundLevelY - (tileSize * 1), this));
-
-        // Meriam
-        obstacles.add(new Obstacle(tileSize * 30, groundLevelY - (tileSize * 1), Obstacle.ObstacleType.CANNON, this));
-        obstacles.add(new Obstacle(tileSize * 80, groundLevelY - (tileSize * 1), Obstacle.ObstacleType.CANNON, this));
-        
-        // --- Inisialisasi Moving Platforms dari Level Map ---
-        for (int r = 0; r < maxWorldRow; r++) {
-            for (int c = 0; c < maxWorldCol; c++) {
-                if (levelManager.originalLevelMap[r][c] == LevelManager.TILE_MOVING_H) {
-                    movingPlatforms.add(new MovingPlatform(c * tileSize, r * tileSize, MovingPlatform.PlatformType.HORIZONTAL, tileSize * 6, 1.8, this));
-                    levelManager.levelMap[r][c] = LevelManager.TILE_EMPTY;
-                } else if (levelManager.originalLevelMap[r][c] == LevelManager.TILE_MOVING_V) {
-                    movingPlatforms.add(new MovingPlatform(c * tileSize, r * tileSize, MovingPlatform.PlatformType.VERTICAL, tileSize * 5, 1.2, this));
-                    levelManager.levelMap[r][c] = LevelManager.TILE_EMPTY;
+        replay = null;
+        playback = null;
+        if (GameSettings.REPLAY_PATH != null && !replayUsed) {
+            replayUsed = true;
+            try {
+                replay = InputLog.load(new File(GameSettings.REPLAY_PATH));
+                playback = replay.playback();
+                if (!replay.matchesLevel(world)) {
+                    // Dunia game sudah dibuat dengan level dari -D; rekaman level lain pasti menyimpang
+                    System.err.println("WARNING GamePanel: Rekaman " + GameSettings.REPLAY_PATH + " dibuat di level "
+                            + replay.describeLevel() + ", bukan level yang sedang dimainkan. Replay diabaikan.");
+                    replay = null;
+                    playback = null;
+                } else if (Log.INFO) {
+                    Log.info("GamePanel", "Memutar ulang " + replay.getTickCount() + " tick dari " + GameSettings.REPLAY_PATH + ".");
                 }
+            } catch (IOException e) {
+                System.err.println("ERROR GamePanel: Gagal memuat rekaman input " + GameSettings.REPLAY_PATH + ". " + e.getMessage());
             }
         }
 
-        System.out.println("DEBUG GamePanel: Game dimulai ulang. Player di X: " + player.x + ", Y: " + player.y);
+        if (replay != null) {
+            world.reset(replay.getSeed());
+        } else {
+            world.reset();
+        }
+        recording = GameSettings.RECORD_PATH != null ? new InputLog(world) : null;
+        jumpRequested.set(false);
+        gameState = GameState.PLAYING;
 
         // Musik latar (jika ada file WAV Anda):
-        // soundManager.playMusic("res/game_bgm.wav", true);
+        // soundManager.playMusic(SoundManager.MUSIC_GAMEPLAY, true); // Crossfade dari musik cutscene
     }
 
     /**
@@ -147,7 +163,7 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
             InputStream coinIs = getClass().getResourceAsStream("/res/coins_hud.png");
             if (coinIs != null) {
                 coinImage = ImageIO.read(coinIs);
-                System.out.println("DEBUG GamePanel: Gambar koin (coins_hud.png) dimuat.");
+                if (Log.DEBUG) Log.debug("GamePanel", "Gambar koin (coins_hud.png) dimuat.");
             } else {
                 System.err.println("ERROR GamePanel: Tidak dapat menemukan file gambar koin! (coins_hud.png). Pastikan file ada di 'res/'.");
             }
@@ -170,6 +186,20 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
             }
 
             parallaxFactors = new double[] {0.0, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.8, 0.9, 1.0};
+            // Lapisan diskalakan sekali ke ukuran layar; setiap frame cukup satu blit jika kamera tidak mengubah hasilnya
+            parallaxBackground = new ParallaxBackground(backgroundLayers, parallaxFactors, screenWidth, screenHeight, getBackground());
+
+            // Decode semua lembar sprite entitas sekarang, bukan saat entitas pertama muncul
+            Enemy.preloadSprites();
+            Obstacle.preloadSprites();
+            Player.preloadSprites();
+            MovingPlatform.preloadSprites();
+
+            // Kemas semua frame entitas ke atlas sprite agar digambar dari beberapa halaman yang terakselerasi
+            AssetCache.buildAtlas();
+
+            // Decode semua efek suara sekali dan buka voice-nya sekarang, bukan saat efek pertama kali diputar
+            SoundManager.preloadEffects();
 
         } catch (IOException e) {
             e.printStackTrace();
@@ -177,257 +207,241 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
         }
     }
 
+    public BufferedImage getCoinImage() { return coinImage; }
+
     /**
-     * Memunculkan rintangan baru (burung atau batu) secara berkala.
+     * Memulai thread game utama, yang memanggil metode update dan repaint secara berkala.
      */
-    private void spawnObstacles() {
-        obstacleSpawnTimer++;
-        if (obstacleSpawnTimer >= OBSTACLE_SPAWN_INTERVAL) {
-            obstacleSpawnTimer = 0;
-
-            Obstacle.ObstacleType typeToSpawn;
-            if (random.nextDouble() < 0.7) {
-                typeToSpawn = Obstacle.ObstacleType.ROCK;
-            } else {
-                typeToSpawn = Obstacle.ObstacleType.BIRD;
-            }
-
-            int spawnX;
-            int spawnY;
-            double speedFactor = 1.0 + (random.nextDouble() * 0.5);
-            
-            if (typeToSpawn == Obstacle.ObstacleType.BIRD) {
-                spawnX = cameraX + screenWidth + tileSize;
-                // Mengakses player.y secara langsung karena GamePanel adalah kelas player
-                spawnY = (int)player.y + (random.nextInt(tileSize * 2) - tileSize);
-                spawnY = Math.max(tileSize, Math.min(screenHeight - tileSize * 2, spawnY));
-
-                // Mengakses player.y secara langsung karena GamePanel adalah kelas player
-                Obstacle newBird = new Obstacle(spawnX, spawnY, typeToSpawn, this, player.y);
-                newBird.velX *= -Math.abs(newBird.velX) * speedFactor;
-                obstacles.add(newBird);
-            } else {
-                spawnX = cameraX + random.nextInt(screenWidth - tileSize);
-                spawnY = -tileSize;
-                double rockScale = 0.7 + (random.nextDouble() * 0.6);
-                Obstacle newRock = new Obstacle(spawnX, spawnY, typeToSpawn, this, rockScale);
-                newRock.velY *= speedFactor;
-                obstacles.add(newRock);
-            }
+    public void startGameThread() {
+        if (renderMode == GameSettings.RenderMode.ACTIVE) {
+            initBufferStrategy();
         }
-
-        obstacles.removeIf(o -> o.isOffScreen() && o.type != Obstacle.ObstacleType.CANNON);
+        gameThread = new Thread(this);
+        gameThread.start();
     }
 
-    public BufferedImage getCoinImage() { return coinImage; }
-    public int getCoinsCollected() { return coinsCollected; }
-
     /**
-     * Mengatur tile tertentu di peta level ke tipe tile baru.
-     * @param row Indeks baris tile.
-     * @param col Indeks kolom tile.
-     * @param tileType Tipe baru untuk mengatur tile.
+     * Menghentikan loop game. Thread akan keluar setelah iterasi saat ini selesai.
      */
-    public void setTile(int row, int col, int tileType) {
-        if (levelManager != null && row >= 0 && row < maxWorldRow && col >= 0 && col < maxWorldCol) {
-            levelManager.levelMap[row][col] = tileType;
-        }
+    public void stopGameThread() {
+        gameThread = null;
     }
 
     /**
-     * Memulai thread game utama, yang memanggil metode update dan repaint secara berkala.
+     * Membuat BufferStrategy untuk canvas. Harus dipanggil setelah canvas ditampilkan (displayable).
+     * Jika gagal, panel kembali ke jalur render pasif (repaint/paintComponent).
      */
-    public void startGameThread() {
-        gameThread = new Thread(this);
-        gameThread.start();
+    private void initBufferStrategy() {
+        try {
+            canvas.createBufferStrategy(2);
+            bufferStrategy = canvas.getBufferStrategy();
+            if (Log.DEBUG) Log.debug("GamePanel", "Active rendering aktif (" + (bufferStrategy.getCapabilities().isPageFlipping() ? "page flipping" : "blitting") + ").");
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            System.err.println("WARNING GamePanel: Gagal membuat BufferStrategy, kembali ke render pasif. " + e.getMessage());
+            remove(canvas);
+            canvas = null;
+            bufferStrategy = null;
+            renderMode = GameSettings.RenderMode.PASSIVE;
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        // Panel dilepas dari jendela: hentikan game thread sebelum canvas kehilangan buffer-nya
+        stopGameThread();
+        super.removeNotify();
     }
 
+    /**
+     * Loop game dengan timestep tetap.
+     * Simulasi selalu maju dengan langkah 1/UPS detik, sedangkan render berjalan pada
+     * target FPS dan menginterpolasi posisi entitas di antara dua tick terakhir.
+     * Sisa waktu per frame ditunggu dengan sleep lalu yield, sehingga thread tidak
+     * memakan satu core penuh.
+     */
     @Override
     public void run() {
-        double drawInterval = 1000000000.0 / FPS;
-        double delta = 0;
-        long lastTime = System.nanoTime();
-        long currentTime;
+        final long updateInterval = 1_000_000_000L / UPS;
+        final long frameInterval = FPS > 0 ? 1_000_000_000L / FPS : 0;
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+
+        // Statistik untuk mode benchmark (FPS tanpa batas)
+        long statsStart = previousTime;
+        int framesRendered = 0;
+        int updatesRun = 0;
 
         while (gameThread != null) {
-            currentTime = System.nanoTime();
-            delta += (currentTime - lastTime) / drawInterval;
-            lastTime = currentTime;
+            long frameStart = System.nanoTime();
+            long elapsed = frameStart - previousTime;
+            previousTime = frameStart;
+            accumulator += Math.min(elapsed, MAX_FRAME_TIME);
 
-            if (delta >= 1) {
+            while (accumulator >= updateInterval) {
                 update();
-                repaint();
-                delta--;
+                accumulator -= updateInterval;
+                updatesRun++;
+            }
+
+            renderAlpha = (double) accumulator / updateInterval;
+            render();
+            framesRendered++;
+
+            if (FPS > 0) {
+                waitUntil(frameStart + frameInterval);
+            } else if (frameStart - statsStart >= 5_000_000_000L) {
+                double seconds = (frameStart - statsStart) / 1e9;
+                if (Log.INFO) Log.info("GamePanel", String.format("Benchmark: %.1f FPS, %.1f UPS, %d sprite, %d perubahan state, %d entitas digambar, %d di-cull per frame",
+                        framesRendered / seconds, updatesRun / seconds, spriteBatch.getDrawCalls(), spriteBatch.getStateChanges(),
+                        spriteBatch.getDrawnCount(), spriteBatch.getCulledCount()));
+                statsStart = frameStart;
+                framesRendered = 0;
+                updatesRun = 0;
             }
         }
     }
 
     /**
-     * Memperbarui semua elemen game berdasarkan status game saat ini.
+     * Menunggu hingga waktu {@code deadline} (System.nanoTime) tercapai.
+     * Sebagian besar waktu dihabiskan dengan sleep; beberapa milidetik terakhir dengan yield
+     * untuk menghindari ketidaktepatan sleep di beberapa sistem operasi.
      */
-    public void update() {
-        if (gameState == GameState.PLAYING) {
-            // Pemanggilan player.update() sekarang meneruskan movingPlatforms
-            player.update(levelManager.levelMap, tileSize, jumpPressed, leftPressed, rightPressed, movingPlatforms);
-            for (Enemy enemy : new ArrayList<>(enemies)) {
-                enemy.update(levelManager.levelMap, tileSize);
-            }
-            for (Obstacle obstacle : new ArrayList<>(obstacles)) {
-                obstacle.update();
-            }
-            // Update Moving Platforms
-            for (MovingPlatform platform : movingPlatforms) {
-                platform.update();
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > SPIN_THRESHOLD) {
+            try {
+                Thread.sleep((remaining - SPIN_THRESHOLD) / 1_000_000L, 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
+            remaining = deadline - System.nanoTime();
+        }
+        while (deadline - System.nanoTime() > 0) {
+            Thread.yield();
+        }
+    }
 
-            spawnObstacles();
-            checkCollisions();
-            updateCamera();
+    /**
+     * Menjalankan satu langkah simulasi: restart yang diminta EDT, lalu satu tick {@link World}
+     * dengan input tick ini (dari keyboard atau rekaman yang diputar ulang). Input direkam jika
+     * perekaman aktif, dan status akhir dunia dipetakan ke status layar.
+     */
+    public void update() {
+        if (restartRequested) {
+            restartRequested = false;
+            restartGame();
+        }
+        if (gameState == GameState.PLAYING) {
+            int input = playback != null ? playback.next() : sampleInput();
+            if (recording != null) recording.append(input);
 
-            if (player.getLives() <= 0) {
+            world.tick(input);
+            if (world.getStatus() == World.Status.GAME_OVER) {
                 gameState = GameState.GAME_OVER;
-                soundManager.playSoundEffect("res/game_over_sound.wav");
+            } else if (world.getStatus() == World.Status.GAME_WON) {
+                gameState = GameState.GAME_WON;
+            }
+            if (playback != null && (!playback.hasNext() || gameState != GameState.PLAYING)) {
+                finishReplay();
+            }
+            if (gameState != GameState.PLAYING) {
+                saveRecording();
             }
-
         }
         if (gameState == GameState.GAME_WON && soundManager != null) {
-            Main.showEndingCutscene();
+            stopGameThread();
+            SwingUtilities.invokeLater(Main::showEndingCutscene);
         }
     }
 
     /**
-     * Memeriksa tabrakan antara pemain dan musuh, rintangan, proyektil, dan platform bergerak.
+     * Mengambil status keyboard untuk satu tick sebagai bitfield {@link InputLog}.
+     * Penekanan tombol lompat sejak tick sebelumnya dikonsumsi di sini, sehingga setiap
+     * penekanan sampai ke simulasi tepat satu kali.
      */
-    private void checkCollisions() {
-        Rectangle playerBounds = player.getBounds();
-
-        Iterator<Enemy> enemyIterator = enemies.iterator();
-        while (enemyIterator.hasNext()) {
-            Enemy enemy = enemyIterator.next();
-            if (playerBounds.intersects(enemy.getBounds())) {
-                if (player.velY > 0 && player.getBounds().getMaxY() < enemy.getBounds().getCenterY()) {
-                    player.stompBounce();
-                    soundManager.playSoundEffect("res/stomp.wav");
-                    enemyIterator.remove();
-                } else {
-                    player.takeDamage();
-                    soundManager.playSoundEffect("res/damage.wav");
-                }
-                return;
-            }
-        }
-
-        Iterator<Obstacle> obstacleIterator = obstacles.iterator();
-        while (obstacleIterator.hasNext()) {
-            Obstacle obstacle = obstacleIterator.next();
-            if (obstacle.type != Obstacle.ObstacleType.CANNON && playerBounds.intersects(obstacle.getBounds())) {
-                player.takeDamage();
-                soundManager.playSoundEffect("res/damage.wav");
-                obstacleIterator.remove();
-                return;
-            }
+    private int sampleInput() {
+        int input = 0;
+        if (jumpPressed) input |= InputLog.JUMP;
+        if (leftPressed) input |= InputLog.LEFT;
+        if (rightPressed) input |= InputLog.RIGHT;
+        if (jumpRequested.getAndSet(false)) input |= InputLog.JUMP_PRESSED;
+        return input;
+    }
 
-            if (obstacle.type == Obstacle.ObstacleType.CANNON) {
-                Iterator<Obstacle.Projectile> projectileIterator = obstacle.projectiles.iterator();
-                while (projectileIterator.hasNext()) {
-                    Obstacle.Projectile p = projectileIterator.next();
-                    if (playerBounds.intersects(p.getBounds())) {
-                        player.takeDamage();
-                        soundManager.playSoundEffect("res/damage.wav");
-                        projectileIterator.remove();
-                        return;
-                    }
-                }
+    /**
+     * Mengakhiri replay setelah tick terakhirnya dijalankan (atau permainan berakhir lebih dulu);
+     * tick berikutnya kembali memakai keyboard. Keadaan dunia dibandingkan dengan checksum rekaman.
+     */
+    private void finishReplay() {
+        if (replay.hasFinalChecksum()) {
+            boolean match = world.getTickCount() == replay.getTickCount() && world.checksum() == replay.getFinalChecksum();
+            if (match) {
+                if (Log.INFO) Log.info("GamePanel", "Replay selesai, keadaan akhir cocok dengan rekaman.");
+            } else {
+                System.err.println("WARNING GamePanel: Replay menyimpang dari rekaman (tick " + world.getTickCount() + " dari " + replay.getTickCount() + ").");
             }
         }
+        playback = null;
+        replay = null;
+    }
 
-        // Logika tabrakan Moving Platforms telah dipindahkan ke Player.java.
-        // for (MovingPlatform platform : movingPlatforms) {
-        //     Rectangle platformBounds = platform.getBounds();
-        //     if (playerBounds.intersects(platformBounds) && player.velY >= 0) {
-        //         if (player.y + player.height - (platform.getVelY() * 0.5) <= platformBounds.getMinY() + 1) { 
-        //              player.y = platformBounds.y - player.height;
-        //              player.velY = 0;
-        //              player.x += platform.getVelX();
-        //              player.onGround = true;
-        //         }
-        //     }
-        // }
-
-
-        Rectangle collectionBounds = new Rectangle(
-            playerBounds.x, playerBounds.y - 1, playerBounds.width, playerBounds.height + 2
-        );
-
-        int startCol = (int) (player.x / tileSize) - 1;
-        int endCol = (int) ((player.x + player.getBounds().width) / tileSize) + 1;
-        int startRow = (int) (player.y / tileSize) - 1;
-        int endRow = (int) ((player.y + player.getBounds().height) / tileSize) + 1;
-
-        startCol = Math.max(0, startCol);
-        endCol = Math.min(maxWorldCol - 1, endCol);
-        startRow = Math.max(0, startRow);
-        endRow = Math.min(maxWorldRow - 1, endRow);
-
-
-        for (int row = startRow; row <= endRow; row++) {
-            for (int col = startCol; col <= endCol; col++) {
-                if (row < 0 || row >= maxWorldRow || col < 0 || col >= maxWorldCol) continue;
-
-                int tileType = levelManager.levelMap[row][col];
-                
-                // --- Logika Lubang Kematian Instan ---
-                if (tileType == LevelManager.TILE_DEATH_ZONE) {
-                    Rectangle deathZoneBounds = new Rectangle(col * tileSize, row * tileSize, tileSize, tileSize);
-                    if (playerBounds.intersects(deathZoneBounds)) {
-                        player.health = 0; // Mengakses player.health secara langsung
-                        soundManager.playSoundEffect("res/game_over_sound.wav");
-                        return;
-                    }
-                }
-                // --- Akhir Logika Lubang Kematian Instan ---
-
-                if (tileType == LevelManager.TILE_COIN || tileType == LevelManager.TILE_HEALTH || tileType == LevelManager.TILE_EXIT) {
-                    Rectangle objectBounds = new Rectangle(col * tileSize, row * tileSize, tileSize, tileSize);
-                    if (collectionBounds.intersects(objectBounds)) {
-                        switch (tileType) {
-                            case LevelManager.TILE_COIN:
-                                levelManager.levelMap[row][col] = LevelManager.TILE_EMPTY;
-                                coinsCollected++;
-                                soundManager.playSoundEffect("res/coin_collect.wav");
-                                break;
-                            case LevelManager.TILE_HEALTH:
-                                player.gainHealth();
-                                levelManager.levelMap[row][col] = LevelManager.TILE_EMPTY;
-                                break;
-                            case LevelManager.TILE_EXIT:
-                                if (coinsCollected >= 15) {
-                                    gameState = GameState.GAME_WON;
-                                }
-                                break;
-                        }
-                    }
-                }
-            }
+    /**
+     * Menyimpan rekaman permainan yang baru berakhir ke {@link GameSettings#RECORD_PATH}.
+     */
+    private void saveRecording() {
+        if (recording == null) return;
+        recording.finish(world.checksum());
+        try {
+            recording.save(new File(GameSettings.RECORD_PATH));
+            if (Log.INFO) Log.info("GamePanel", "Rekaman input disimpan: " + recording.getTickCount() + " tick, " + recording.getRunCount() + " run, seed " + recording.getSeed() + ".");
+        } catch (IOException e) {
+            System.err.println("ERROR GamePanel: Gagal menyimpan rekaman input ke " + GameSettings.RECORD_PATH + ". " + e.getMessage());
         }
+        recording = null;
     }
 
     /**
-     * Memperbarui posisi kamera untuk mengikuti pemain, membatasi dalam batas dunia.
+     * Menampilkan frame berikutnya sesuai mode render.
+     * ACTIVE menggambar langsung dari game thread ke BufferStrategy; PASSIVE meminta repaint ke EDT.
      */
-    private void updateCamera() {
-        cameraX = (int)player.x - (screenWidth / 2);
-        if (cameraX < 0) cameraX = 0;
-        if (cameraX > worldWidth - screenWidth) cameraX = worldWidth - screenWidth;
-        if(player.y > worldHeight) {
-             player.health = 0; // Mengakses player.health secara langsung
+    private void render() {
+        if (renderMode != GameSettings.RenderMode.ACTIVE || bufferStrategy == null) {
+            repaint();
+            return;
         }
+
+        do {
+            do {
+                Graphics g = bufferStrategy.getDrawGraphics();
+                try {
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, screenWidth, screenHeight);
+                    drawFrame(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+
+        // Di beberapa sistem (misalnya X11) perintah gambar di-buffer; sinkronkan agar frame langsung tampil
+        Toolkit.getDefaultToolkit().sync();
     }
 
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (renderMode == GameSettings.RenderMode.PASSIVE) {
+            drawFrame(g);
+        }
+    }
 
+    /**
+     * Menggambar satu frame lengkap sesuai status permainan saat ini.
+     * Dipakai oleh kedua jalur render (aktif dan pasif).
+     */
+    private void drawFrame(Graphics g) {
         switch (gameState) {
             case MENU:
                 drawMenuScreen(g);
@@ -444,28 +458,29 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
      * Menggambar layar game utama, termasuk latar belakang, level, entitas, dan UI.
      */
     private void drawGameScreen(Graphics g) {
+        double alpha = renderAlpha;
+        renderCameraX = (int) (world.prevCameraX + (world.cameraX - world.prevCameraX) * alpha);
         drawBackground((Graphics2D)g);
 
         Graphics2D g2d = (Graphics2D) g.create();
-        g2d.translate(-cameraX, 0);
+        g2d.translate(-renderCameraX, 0);
 
-        levelManager.draw(g2d);
-        for (Enemy enemy : enemies) {
-            enemy.draw(g2d);
-        }
-        for (Obstacle obstacle : obstacles) {
-            obstacle.draw(g2d);
-            if (obstacle.type == Obstacle.ObstacleType.CANNON) {
-                for (Obstacle.Projectile p : obstacle.projectiles) {
-                    p.draw(g2d);
-                }
-            }
+        levelRenderer.draw(g2d, renderCameraX, world.getCoinsCollected());
+
+        spriteBatch.begin(g2d, alpha);
+        spriteBatch.setVisibleRange(renderCameraX - tileSize * CULL_MARGIN_TILES, renderCameraX + screenWidth + tileSize * CULL_MARGIN_TILES);
+        world.enemies.draw(spriteBatch);
+        world.hazards.draw(spriteBatch);
+        for (int i = 0; i < world.obstacles.size(); i++) {
+            Obstacle obstacle = world.obstacles.get(i);
+            obstacle.draw(spriteBatch); // Termasuk proyektilnya
         }
         // Gambar Moving Platforms
-        for (MovingPlatform platform : movingPlatforms) {
-            platform.draw(g2d);
+        for (MovingPlatform platform : world.movingPlatforms) {
+            platform.draw(spriteBatch);
         }
-        player.draw(g2d);
+        world.player.draw(spriteBatch);
+        spriteBatch.end();
 
         g2d.dispose();
 
@@ -522,16 +537,8 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
      * @param g2d Objek Graphics2D untuk menggambar.
      */
     public void drawBackground(Graphics2D g2d) {
-        if (backgroundLayers != null) {
-            for(int i = 0; i < backgroundLayers.length; i++) {
-                BufferedImage layer = backgroundLayers[i];
-                if (layer != null) {
-                    int parallaxX = (int) (cameraX * parallaxFactors[i]);
-                    int startX = -(parallaxX % screenWidth);
-                    g2d.drawImage(layer, startX, 0, screenWidth, screenHeight, null);
-                    g2d.drawImage(layer, startX + screenWidth, 0, screenWidth, screenHeight, null);
-                }
-            }
+        if (parallaxBackground != null) {
+            parallaxBackground.draw(g2d, renderCameraX);
         } else {
             g2d.setColor(new Color(20, 80, 70));
             g2d.fillRect(0, 0, screenWidth, screenHeight);
@@ -546,11 +553,11 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
         if (coinImage != null) g.drawImage(coinImage, 15, 8, 28, 28, null);
         g.setColor(Color.WHITE);
         g.setFont(new Font("Arial", Font.BOLD, 24));
-        g.drawString("x " + coinsCollected, 48, 32);
+        g.drawString("x " + world.getCoinsCollected(), 48, 32);
 
         g.setColor(Color.RED);
         g.setFont(new Font("Arial", Font.BOLD, 24));
-        g.drawString("Nyawa: " + player.getLives(), screenWidth - 120, 32);
+        g.drawString("Nyawa: " + world.player.getLives(), screenWidth - 120, 32);
     }
 
     /**
@@ -559,19 +566,19 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
      */
     private void drawGameOverScreen(Graphics g) {
         g.setColor(new Color(0, 0, 0, 150));
-        g.fillRect(cameraX, 0, screenWidth, screenHeight);
+        g.fillRect(world.cameraX, 0, screenWidth, screenHeight);
 
         g.setColor(Color.RED);
         g.setFont(new Font("Arial", Font.BOLD, 80));
         String text = "GAME OVER";
-        int x = cameraX + (screenWidth - g.getFontMetrics().stringWidth(text)) / 2;
+        int x = world.cameraX + (screenWidth - g.getFontMetrics().stringWidth(text)) / 2;
         int y = screenHeight / 2 - 20;
         g.drawString(text, x, y);
 
         g.setColor(Color.WHITE);
         g.setFont(new Font("Arial", Font.BOLD, 20));
         String restartText = "Tekan Enter untuk Mulai Lagi";
-        int x2 = cameraX + (screenWidth - g.getFontMetrics().stringWidth(restartText)) / 2;
+        int x2 = world.cameraX + (screenWidth - g.getFontMetrics().stringWidth(restartText)) / 2;
         int y2 = y + 50;
         g.drawString(restartText, x2, y2);
     }
@@ -582,23 +589,23 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
      */
     private void drawGameWonScreen(Graphics g) {
         g.setColor(new Color(0, 100, 0, 150));
-        g.fillRect(cameraX, 0, screenWidth, screenHeight);
+        g.fillRect(world.cameraX, 0, screenWidth, screenHeight);
 
         g.setColor(Color.GREEN);
         g.setFont(new Font("Arial", Font.BOLD, 80));
         String text = "ANDA MENANG!";
-        int x = cameraX + (screenWidth - g.getFontMetrics().stringWidth(text)) / 2;
+        int x = world.cameraX + (screenWidth - g.getFontMetrics().stringWidth(text)) / 2;
         int y = screenHeight / 2 - 40;
         g.drawString(text, x, y);
 
         g.setColor(Color.WHITE);
         g.setFont(new Font("Arial", Font.BOLD, 20));
-        String scoreText = "Koin Terkumpul: " + coinsCollected;
-        int x2 = cameraX + (screenWidth - g.getFontMetrics().stringWidth(scoreText)) / 2;
+        String scoreText = "Koin Terkumpul: " + world.getCoinsCollected();
+        int x2 = world.cameraX + (screenWidth - g.getFontMetrics().stringWidth(scoreText)) / 2;
         g.drawString(scoreText, x2, y + 60);
 
         String restartText = "Tekan Enter untuk Mulai Lagi";
-        int x3 = cameraX + (screenWidth - g.getFontMetrics().stringWidth(restartText)) / 2;
+        int x3 = world.cameraX + (screenWidth - g.getFontMetrics().stringWidth(restartText)) / 2;
         g.drawString(restartText, x3, y + 100);
     }
 
@@ -619,7 +626,7 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
                 }
                 if (e.getKeyCode() == KeyEvent.VK_ENTER) {
                     if (menuChoice == 0) {
-                        restartGame();
+                        restartRequested = true;
                     } else if (menuChoice == 1) {
                         System.exit(0);
                     }
@@ -637,7 +644,7 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
                 if (code == KeyEvent.VK_A || code == KeyEvent.VK_LEFT) leftPressed = true;
                 if (code == KeyEvent.VK_SPACE || code == KeyEvent.VK_W || code == KeyEvent.VK_UP) {
                     if (!jumpPressed) {
-                        player.requestJump();
+                        jumpRequested.set(true);
                     }
                     jumpPressed = true;
                 }
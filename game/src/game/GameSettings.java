@@ -0,0 +1,100 @@
+package game;
+
+/**
+ * Pengaturan runtime game yang dibaca dari system property saat JVM dimulai.
+ * Contoh: {@code java -Dgame.render=passive -jar game.jar}
+ */
+public final class GameSettings {
+
+    /**
+     * Cara layar game digambar.
+     * ACTIVE: game thread menggambar langsung ke BufferStrategy (page flipping/blitting).
+     * PASSIVE: jalur lama, game thread memanggil repaint() dan EDT memanggil paintComponent.
+     */
+    public enum RenderMode {
+        ACTIVE,
+        PASSIVE
+    }
+
+    /**
+     * Cara entitas (slime, batu, burung) disimpan.
+     * OBJECTS: satu objek Enemy/Obstacle per entitas (jalur lama).
+     * ARRAYS: array primitif paralel (struct-of-arrays) yang di-update sebagai batch, untuk level dengan ribuan entitas.
+     */
+    public enum EntityStorage {
+        OBJECTS,
+        ARRAYS
+    }
+
+    /** Mode render yang dipilih lewat {@code -Dgame.render=active|passive} (default: active). */
+    public static final RenderMode RENDER_MODE = parseRenderMode(System.getProperty("game.render", "active"));
+
+    /** Penyimpanan entitas yang dipilih lewat {@code -Dgame.entities=objects|arrays} (default: objects). */
+    public static final EntityStorage ENTITY_STORAGE = parseEntityStorage(System.getProperty("game.entities", "objects"));
+
+    /** Laju simulasi tetap (update per detik). Fisika dan timer game diukur dalam tick ini. */
+    public static final int UPDATES_PER_SECOND = 60;
+
+    /**
+     * Target FPS render lewat {@code -Dgame.fps=N} (default: 60).
+     * Nilai 0 berarti tanpa batas (mode benchmark): frame dirender secepat mungkin
+     * dan FPS rata-rata dicetak secara berkala.
+     */
+    public static final int TARGET_FPS = Math.max(0, Integer.getInteger("game.fps", 60));
+
+    /**
+     * Seed awal simulasi lewat {@code -Dgame.seed=N}, atau null (default) untuk seed acak.
+     * Dengan seed dan urutan input yang sama, setiap permainan menghasilkan keadaan yang identik bit demi bit.
+     */
+    public static final Long SEED = Long.getLong("game.seed");
+
+    /**
+     * File level (teks atau biner .lvl) lewat {@code -Dgame.level=path}, atau null (default)
+     * untuk level bawaan di {@code res/levels}. Level baru bisa dimainkan tanpa mengompilasi ulang game.
+     */
+    public static final String LEVEL_PATH = System.getProperty("game.level");
+
+    /**
+     * Mode tanpa akhir lewat {@code -Dgame.endless=true}: dunia dibangkitkan per chunk oleh
+     * {@link EndlessChunkSource} alih-alih dimuat dari file level.
+     */
+    public static final boolean ENDLESS = Boolean.getBoolean("game.endless");
+
+    /**
+     * File rekaman input lewat {@code -Dgame.record=path}, atau null (default) untuk tidak merekam.
+     * Setiap permainan direkam dan disimpan ke file ini saat berakhir, menimpa rekaman sebelumnya.
+     */
+    public static final String RECORD_PATH = System.getProperty("game.record");
+
+    /**
+     * File rekaman yang diputar ulang lewat {@code -Dgame.replay=path}, atau null (default).
+     * Permainan pertama memakai seed dan input dari rekaman alih-alih keyboard.
+     */
+    public static final String REPLAY_PATH = System.getProperty("game.replay");
+
+    /** Batas rintangan (batu, burung, meriam) yang aktif bersamaan, lewat {@code -Dgame.pool.obstacles}. */
+    public static final int OBSTACLE_POOL_SIZE = Math.max(4, Integer.getInteger("game.pool.obstacles", 64));
+
+    /** Batas proyektil meriam yang aktif bersamaan, lewat {@code -Dgame.pool.projectiles}. */
+    public static final int PROJECTILE_POOL_SIZE = Math.max(1, Integer.getInteger("game.pool.projectiles", 128));
+
+    private GameSettings() {}
+
+    private static RenderMode parseRenderMode(String value) {
+        try {
+            return RenderMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("WARNING GameSettings: Mode render tidak dikenal: " + value + ". Menggunakan ACTIVE.");
+            return RenderMode.ACTIVE;
+        }
+    }
+
+    private static EntityStorage parseEntityStorage(String value) {
+        try {
+            return EntityStorage.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("WARNING GameSettings: Penyimpanan entitas tidak dikenal: " + value + ". Menggunakan OBJECTS.");
+            return EntityStorage.OBJECTS;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+/**
+ * {@link HazardStore} berbasis struct-of-arrays untuk batu dan burung.
+ *
+ * Status setiap rintangan disimpan di array primitif paralel dan logika {@link Obstacle}
+ * untuk ROCK dan BIRD dijalankan sebagai satu loop batch. Semua rintangan digambar lewat
+ * {@link SpriteBatch} dengan satu perubahan rendering hint, bukan satu per rintangan. Jumlah
+ * rintangan dibatasi seperti pool di {@link HazardListStore} agar kedua jalur bermain sama. Spawn dan penghapusan (termasuk rintangan yang keluar layar)
+ * ditunda hingga {@link #flush()}, yang memadatkan array sambil mempertahankan urutan.
+ */
+public class HazardArrayStore implements HazardStore {
+
+    private static final byte ROCK = 0;
+    private static final byte BIRD = 1;
+
+    private static final int ROCK_ANIMATION_SPEED = 15;
+    private static final int BIRD_ANIMATION_SPEED = 8;
+    private static final double BIRD_FREQUENCY = 0.05;
+
+    private final World world;
+    private final AABB scratch = new AABB();
+
+    private int count = 0; // Rintangan yang terlihat
+    private int pending = 0; // Spawn yang menunggu flush, disimpan di indeks count..count+pending-1
+    private int removed = 0; // Jumlah slot yang ditandai dead
+    private boolean[] dead;
+    private byte[] type;
+    private double[] x, y, prevX, prevY, velX, velY, initialY, angle;
+    private int[] width, height, animationFrame, animationTick;
+
+    public HazardArrayStore(World world) {
+        this.world = world;
+        allocate(64);
+    }
+
+    private void allocate(int capacity) {
+        dead = new boolean[capacity];
+        type = new byte[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        velX = new double[capacity];
+        velY = new double[capacity];
+        initialY = new double[capacity];
+        angle = new double[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        animationFrame = new int[capacity];
+        animationTick = new int[capacity];
+    }
+
+    private int add(byte hazardType, int spawnX, int spawnY) {
+        if (count + pending == x.length) {
+            int capacity = x.length * 2;
+            dead = Arrays.copyOf(dead, capacity);
+            type = Arrays.copyOf(type, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+            velX = Arrays.copyOf(velX, capacity);
+            velY = Arrays.copyOf(velY, capacity);
+            initialY = Arrays.copyOf(initialY, capacity);
+            angle = Arrays.copyOf(angle, capacity);
+            width = Arrays.copyOf(width, capacity);
+            height = Arrays.copyOf(height, capacity);
+            animationFrame = Arrays.copyOf(animationFrame, capacity);
+            animationTick = Arrays.copyOf(animationTick, capacity);
+        }
+        int i = count + pending++;
+        dead[i] = false;
+        type[i] = hazardType;
+        x[i] = spawnX;
+        y[i] = spawnY;
+        prevX[i] = spawnX;
+        prevY[i] = spawnY;
+        velX[i] = 0;
+        velY[i] = 0;
+        initialY[i] = spawnY;
+        angle[i] = 0;
+        animationFrame[i] = 0;
+        animationTick[i] = 0;
+        return i;
+    }
+
+    /**
+     * Sama dengan pool rintangan jalur objek: batu dan burung berbagi {@link GameSettings#OBSTACLE_POOL_SIZE}
+     * slot dengan meriam yang aktif, dan slot rintangan yang dihapus baru bebas setelah flush.
+     */
+    private boolean isFull() {
+        return count + pending + world.obstacleSpawner.getActiveObstacleCount() >= GameSettings.OBSTACLE_POOL_SIZE;
+    }
+
+    @Override
+    public boolean spawnRock(int spawnX, int spawnY, double rockScale, double speedFactor) {
+        if (isFull()) return false;
+        int i = add(ROCK, spawnX, spawnY);
+        width[i] = (int) (54 * world.scale / 3.0 * rockScale);
+        height[i] = (int) (52 * world.scale / 3.0 * rockScale);
+        velY[i] = 5 * speedFactor;
+        return true;
+    }
+
+    @Override
+    public boolean spawnBird(int spawnX, int spawnY, double playerY, double speedFactor) {
+        if (isFull()) return false;
+        int i = add(BIRD, spawnX, spawnY);
+        width[i] = (int) (32 * world.scale / 1.5);
+        height[i] = (int) (22 * world.scale / 1.5);
+        double birdVelX = -4;
+        birdVelX *= -Math.abs(birdVelX) * speedFactor; // Rumus yang sama dengan jalur objek
+        velX[i] = birdVelX;
+        double targetY = playerY + (world.random.nextBoolean() ? 1 : -1) * (world.random.nextInt(world.tileSize / 2));
+        initialY[i] = Math.max(world.tileSize, Math.min(world.worldHeight - world.tileSize * 2, targetY));
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        count = 0;
+        pending = 0;
+        removed = 0;
+    }
+
+    @Override
+    public void flush() {
+        if (pending == 0 && removed == 0) return;
+        int total = count + pending;
+        int write = 0;
+        for (int read = 0; read < total; read++) {
+            if (dead[read]) continue;
+            if (read != write) move(read, write);
+            write++;
+        }
+        count = write;
+        pending = 0;
+        removed = 0;
+    }
+
+    @Override
+    public void update(LevelManager level, int tileSize) {
+        int rockFrameCount = Obstacle.getRockFrames().size();
+        int birdFrameCount = Obstacle.getBirdFrames().size();
+        double amplitude = world.tileSize / 4;
+
+        for (int i = 0; i < count; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            if (type[i] == BIRD) {
+                x[i] += velX[i];
+                angle[i] += BIRD_FREQUENCY;
+                y[i] = initialY[i] + StrictMath.sin(angle[i]) * amplitude;
+                if (birdFrameCount > 0 && ++animationTick[i] >= BIRD_ANIMATION_SPEED) {
+                    animationTick[i] = 0;
+                    animationFrame[i] = (animationFrame[i] + 1) % birdFrameCount;
+                }
+            } else {
+                y[i] += velY[i];
+                if (rockFrameCount > 0 && ++animationTick[i] >= ROCK_ANIMATION_SPEED) {
+                    animationTick[i] = 0;
+                    animationFrame[i] = (animationFrame[i] + 1) % rockFrameCount;
+                }
+            }
+        }
+
+        // Rintangan yang keluar layar dibuang saat flush
+        for (int i = 0; i < count; i++) {
+            boolean offScreen = type[i] == BIRD
+                    ? x[i] + width[i] < world.cameraX - width[i] || x[i] > world.levelManager.getLoadedMaxX()
+                    : y[i] > world.worldHeight;
+            if (offScreen) {
+                remove(i);
+            }
+        }
+    }
+
+    @Override
+    public void draw(SpriteBatch batch) {
+        AssetCache.FrameSet rockFrames = Obstacle.getRockFrames();
+        AssetCache.FrameSet birdFrames = Obstacle.getBirdFrames();
+        Graphics2D g2d = batch.graphics();
+        batch.setSmooth(false);
+
+        for (int i = 0; i < count; i++) {
+            if (dead[i]) continue;
+            int drawX = (int) batch.interpolate(prevX[i], x[i]);
+            int drawY = (int) batch.interpolate(prevY[i], y[i]);
+            int w = width[i];
+            int h = height[i];
+            if (!batch.isVisible(drawX, w)) continue;
+            if (type[i] == BIRD) {
+                if (!batch.draw(birdFrames, animationFrame[i], drawX, drawY, w, h, velX[i] > 0)) {
+                    g2d.setColor(new Color(150, 0, 150));
+                    g2d.fillRect(drawX, drawY, w, h);
+                }
+            } else if (!batch.draw(rockFrames, animationFrame[i], drawX, drawY, w, h, false)) {
+                g2d.setColor(new Color(80, 80, 80));
+                g2d.fillOval(drawX, drawY, w, h);
+            }
+        }
+    }
+
+    @Override
+    public AABB getBounds(int index) {
+        if (type[index] == BIRD) {
+            int hitboxWidth = (int) (width[index] * 0.75);
+            int hitboxHeight = (int) (height[index] * 0.75);
+            return scratch.set((int) x[index] + (width[index] - hitboxWidth) / 2,
+                    (int) y[index] + (height[index] - hitboxHeight) / 2, hitboxWidth, hitboxHeight);
+        }
+        return scratch.set((int) x[index], (int) y[index], width[index], height[index]);
+    }
+
+    @Override
+    public int findIntersecting(AABB box) {
+        for (int i = 0; i < count; i++) {
+            if (!dead[i] && box.intersects(getBounds(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void remove(int index) {
+        if (!dead[index]) {
+            dead[index] = true;
+            removed++;
+        }
+    }
+
+    private void move(int from, int to) {
+        dead[to] = false;
+        type[to] = type[from];
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        velX[to] = velX[from];
+        velY[to] = velY[from];
+        initialY[to] = initialY[from];
+        angle[to] = angle[from];
+        width[to] = width[from];
+        height[to] = height[from];
+        animationFrame[to] = animationFrame[from];
+        animationTick[to] = animationTick[from];
+    }
+}
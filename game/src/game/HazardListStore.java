@@ -0,0 +1,113 @@
+package game;
+
+import java.util.ArrayList;
+
+/**
+ * {@link HazardStore} berbasis objek: setiap batu dan burung adalah {@link Obstacle} yang
+ * diambil dari pool {@link ObstacleSpawner}. Ini adalah jalur default.
+ */
+public class HazardListStore implements HazardStore {
+
+    private final World world;
+    private final DeferredList<Obstacle> hazards;
+    private final SpatialHash<Obstacle> hash;
+    private final ArrayList<Obstacle> candidates = new ArrayList<>();
+    private boolean hashDirty = true;
+
+    public HazardListStore(World world) {
+        this.world = world;
+        this.hazards = new DeferredList<>(world.obstacleSpawner::release);
+        this.hash = new SpatialHash<>(world.streamWidth, world.tileSize, World.BROADPHASE_CELL_COLS);
+    }
+
+    @Override
+    public boolean spawnRock(int x, int y, double rockScale, double speedFactor) {
+        Obstacle rock = world.obstacleSpawner.spawnRock(x, y, rockScale);
+        if (rock == null) return false; // Pool sudah penuh
+        rock.velY *= speedFactor;
+        hazards.add(rock);
+        return true;
+    }
+
+    @Override
+    public boolean spawnBird(int x, int y, double playerY, double speedFactor) {
+        Obstacle bird = world.obstacleSpawner.spawnBird(x, y, playerY);
+        if (bird == null) return false; // Pool sudah penuh
+        bird.velX *= -Math.abs(bird.velX) * speedFactor;
+        hazards.add(bird);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return hazards.size();
+    }
+
+    @Override
+    public void clear() {
+        hazards.clear(); // Mengembalikan semua rintangan ke pool
+        hashDirty = true;
+    }
+
+    @Override
+    public void flush() {
+        if (hazards.flush()) {
+            hashDirty = true;
+        }
+    }
+
+    @Override
+    public void update(LevelManager level, int tileSize) {
+        for (int i = 0; i < hazards.size(); i++) {
+            hazards.get(i).update();
+        }
+        // Rintangan yang keluar layar dikembalikan ke pool saat flush
+        for (int i = 0; i < hazards.size(); i++) {
+            Obstacle hazard = hazards.get(i);
+            if (hazard.isOffScreen()) {
+                hazards.remove(hazard);
+            }
+        }
+        hashDirty = true;
+    }
+
+    @Override
+    public void draw(SpriteBatch batch) {
+        for (int i = 0; i < hazards.size(); i++) {
+            hazards.get(i).draw(batch);
+        }
+    }
+
+    @Override
+    public AABB getBounds(int index) {
+        return hazards.get(index).getBounds();
+    }
+
+    @Override
+    public int findIntersecting(AABB box) {
+        if (hashDirty) {
+            hash.clear(world.levelManager.getLoadedMinX());
+            for (int i = 0; i < hazards.size(); i++) {
+                Obstacle hazard = hazards.get(i);
+                AABB b = hazard.getBounds();
+                hash.insert(hazard, b.x, b.x + b.width);
+            }
+            hashDirty = false;
+        }
+
+        candidates.clear();
+        hash.query(box.x, box.x + box.width, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            Obstacle hazard = candidates.get(i);
+            if (!hazards.isPendingRemoval(hazard) && box.intersects(hazard.getBounds())) {
+                return hazards.indexOf(hazard);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void remove(int index) {
+        hazards.remove(hazards.get(index));
+    }
+}
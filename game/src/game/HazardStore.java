@@ -0,0 +1,25 @@
+package game;
+
+/**
+ * Penyimpanan rintangan bergerak yang dimunculkan terus-menerus: batu jatuh dan burung.
+ * Rintangan yang keluar layar dijadwalkan untuk dihapus oleh {@link #update}.
+ * Meriam tidak termasuk di sini karena memiliki proyektil dan tetap berupa {@link Obstacle}.
+ */
+public interface HazardStore extends EntityStore {
+
+    /**
+     * Memunculkan batu jatuh pada flush berikutnya.
+     * @param rockScale Skala ukuran batu.
+     * @param speedFactor Pengali kecepatan jatuh.
+     * @return False jika spawn dilewati karena batas kapasitas.
+     */
+    boolean spawnRock(int x, int y, double rockScale, double speedFactor);
+
+    /**
+     * Memunculkan burung yang terbang di sekitar ketinggian pemain pada flush berikutnya.
+     * @param playerY Posisi Y pemain saat spawn.
+     * @param speedFactor Pengali kecepatan terbang.
+     * @return False jika spawn dilewati karena batas kapasitas.
+     */
+    boolean spawnBird(int x, int y, double playerY, double speedFactor);
+}
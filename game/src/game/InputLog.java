@@ -0,0 +1,222 @@
+package game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Rekaman input satu permainan, satu bitfield per tick.
+ *
+ * Input pemain per tick cukup beberapa bit ({@link #JUMP}, {@link #LEFT}, {@link #RIGHT},
+ * {@link #JUMP_PRESSED}) dan biasanya sama selama puluhan tick berturut-turut, sehingga rekaman
+ * disimpan sebagai run-length: pasangan (bitfield, panjang run). Bersama seed permainan, rekaman
+ * cukup untuk memutar ulang permainan secara persis (lihat {@link World#reset(long)}); checksum
+ * keadaan akhir ikut disimpan agar replay bisa diverifikasi.
+ *
+ * Level permainan ikut dicatat (mode tanpa akhir atau path file level), sehingga replay memakai
+ * level yang sama dengan rekaman, bukan pengaturan {@code -D} proses yang memutarnya.
+ *
+ * Format file (big-endian): magic "PJIN", versi (1 byte), seed (long), mode tanpa akhir (1 byte),
+ * path level (UTF, kosong untuk level bawaan), jumlah tick (varint), jumlah run (varint), lalu
+ * setiap run: bitfield (1 byte) dan panjang (varint), lalu penanda checksum (1 byte) dan
+ * checksum akhir (long).
+ */
+public final class InputLog {
+
+    /** Tombol lompat sedang ditahan. */
+    public static final int JUMP = 1;
+    /** Tombol kiri sedang ditahan. */
+    public static final int LEFT = 1 << 1;
+    /** Tombol kanan sedang ditahan. */
+    public static final int RIGHT = 1 << 2;
+    /** Tombol lompat baru ditekan sejak tick sebelumnya (memicu lompatan atau jump buffer). */
+    public static final int JUMP_PRESSED = 1 << 3;
+
+    private static final int MAGIC = 0x504A494E; // "PJIN"
+    private static final int VERSION = 2;
+
+    private final long seed;
+    private final String levelPath;
+    private final boolean endless;
+    private byte[] values = new byte[64];
+    private int[] runs = new int[64];
+    private int runCount = 0;
+    private long tickCount = 0;
+    private boolean finished = false;
+    private long finalChecksum;
+
+    /**
+     * Membuat rekaman kosong untuk permainan yang dimulai dengan {@code seed}.
+     * @param levelPath File level permainan, atau null untuk level bawaan.
+     * @param endless True jika permainan memakai mode tanpa akhir.
+     */
+    public InputLog(long seed, String levelPath, boolean endless) {
+        this.seed = seed;
+        this.levelPath = endless ? null : levelPath;
+        this.endless = endless;
+    }
+
+    /**
+     * Membuat rekaman kosong untuk permainan {@code world} yang baru direset.
+     */
+    public InputLog(World world) {
+        this(world.getSeed(), world.getLevelPath(), world.isEndless());
+    }
+
+    /**
+     * Menambahkan input satu tick di akhir rekaman.
+     */
+    public void append(int input) {
+        byte value = (byte) input;
+        if (runCount > 0 && values[runCount - 1] == value && runs[runCount - 1] < Integer.MAX_VALUE) {
+            runs[runCount - 1]++;
+        } else {
+            if (runCount == values.length) {
+                values = Arrays.copyOf(values, runCount * 2);
+                runs = Arrays.copyOf(runs, runCount * 2);
+            }
+            values[runCount] = value;
+            runs[runCount] = 1;
+            runCount++;
+        }
+        tickCount++;
+    }
+
+    /**
+     * Menutup rekaman dengan checksum keadaan dunia setelah tick terakhir.
+     */
+    public void finish(long checksum) {
+        finished = true;
+        finalChecksum = checksum;
+    }
+
+    public long getSeed() { return seed; }
+    public String getLevelPath() { return levelPath; }
+    public boolean isEndless() { return endless; }
+    public long getTickCount() { return tickCount; }
+    public int getRunCount() { return runCount; }
+
+    /** @return True jika {@code world} memakai level yang sama dengan rekaman ini. */
+    public boolean matchesLevel(World world) {
+        return endless == world.isEndless() && Objects.equals(levelPath, world.getLevelPath());
+    }
+
+    /** @return Level rekaman untuk pesan: "tanpa akhir", path file, atau "bawaan". */
+    public String describeLevel() {
+        return endless ? "tanpa akhir" : levelPath != null ? levelPath : "bawaan";
+    }
+
+    /** @return True jika rekaman ditutup dengan {@link #finish(long)} sehingga punya checksum akhir. */
+    public boolean hasFinalChecksum() { return finished; }
+    public long getFinalChecksum() { return finalChecksum; }
+
+    /**
+     * Membuat pemutar baru yang membaca rekaman ini dari tick pertama.
+     */
+    public Playback playback() {
+        return new Playback();
+    }
+
+    /**
+     * Pembaca berurutan atas rekaman, satu input per tick.
+     */
+    public final class Playback {
+        private int run = 0;
+        private int remaining = runCount > 0 ? runs[0] : 0;
+
+        /** @return True jika masih ada tick yang belum diputar. */
+        public boolean hasNext() {
+            return run < runCount;
+        }
+
+        /**
+         * @return Input tick berikutnya, atau 0 (tidak ada tombol) jika rekaman sudah habis.
+         */
+        public int next() {
+            if (run >= runCount) return 0;
+            int input = values[run] & 0xFF;
+            if (--remaining == 0 && ++run < runCount) {
+                remaining = runs[run];
+            }
+            return input;
+        }
+    }
+
+    /**
+     * Menyimpan rekaman ke file, menimpa isi file yang sudah ada.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeBoolean(endless);
+            out.writeUTF(levelPath != null ? levelPath : "");
+            VarInt.write(out, tickCount);
+            VarInt.write(out, runCount);
+            for (int i = 0; i < runCount; i++) {
+                out.writeByte(values[i]);
+                VarInt.write(out, runs[i]);
+            }
+            out.writeBoolean(finished);
+            out.writeLong(finalChecksum);
+        }
+    }
+
+    /**
+     * Memuat rekaman dari file.
+     * @throws IOException Jika file tidak bisa dibaca atau bukan rekaman input yang valid.
+     */
+    public static InputLog load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Bukan file rekaman input: " + file);
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Versi rekaman input tidak didukung: " + version);
+            }
+            long seed = in.readLong();
+            boolean endless = in.readBoolean();
+            String levelPath = in.readUTF();
+            InputLog log = new InputLog(seed, levelPath.isEmpty() ? null : levelPath, endless);
+            long tickCount = VarInt.read(in);
+            if (tickCount < 0) {
+                throw new IOException("Jumlah tick tidak valid di rekaman input: " + tickCount);
+            }
+            // Setiap run paling sedikit satu tick; array tumbuh saat dibaca, bukan dari angka header
+            int runCount = VarInt.readInt(in, 0, (int) Math.min(tickCount, Integer.MAX_VALUE), "Jumlah run");
+            log.values = new byte[Math.max(1, Math.min(runCount, 1024))];
+            log.runs = new int[log.values.length];
+            long total = 0;
+            for (int i = 0; i < runCount; i++) {
+                if (i == log.values.length) {
+                    log.values = Arrays.copyOf(log.values, Math.min(runCount, i * 2));
+                    log.runs = Arrays.copyOf(log.runs, log.values.length);
+                }
+                log.values[i] = in.readByte();
+                long run = VarInt.read(in);
+                if (run <= 0 || run > Integer.MAX_VALUE) {
+                    throw new IOException("Panjang run tidak valid di rekaman input: " + run);
+                }
+                log.runs[i] = (int) run;
+                total += run;
+            }
+            if (total != tickCount) {
+                throw new IOException("Rekaman input rusak: " + total + " tick di run, " + tickCount + " di header.");
+            }
+            log.runCount = runCount;
+            log.tickCount = tickCount;
+            log.finished = in.readBoolean();
+            log.finalChecksum = in.readLong();
+            return log;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package game;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * {@link ChunkSource} untuk level dari file ({@link LevelData}).
+ *
+ * Desain level sudah tersimpan ringkas (satu byte per tile, kolom demi kolom), sehingga memuat
+ * satu chunk hanyalah satu salinan array. Koin acak dipilih sekali per permainan di
+ * {@link #reset(Random)} dan disimpan sebagai bitset di atas desain, lalu ditimpakan saat chunk dimuat.
+ *
+ * Semua yang hanya bergantung pada desain dihitung sekali saat konstruksi: {@link LevelIndex}
+ * (pijakan dan jarak ke bahaya), daftar sel yang aman untuk koin acak, dan tabel spawn yang
+ * dikelompokkan per chunk. Restart hanya mengundi koin dari daftar itu.
+ */
+public class LevelChunkSource implements ChunkSource {
+
+    private static final int COIN_HAZARD_DISTANCE = 2; // Jarak Manhattan minimum koin acak dari bahaya
+
+    private final LevelData level;
+    private final int cols;
+    private final int rows;
+    private final int fixedCoins; // Koin yang sudah ada di desain level
+    private final BitSet randomCoins; // Koin acak permainan ini, diindeks col * rows + row
+    private final LevelIndex index;
+    private final int[] coinCandidates; // Sel aman untuk koin acak (col * rows + row), urut
+    private final int[] candidatePool;  // Salinan kandidat yang diacak di reset()
+    private int coinTarget;
+
+    private int playerCol = -1;
+    private int playerRow = -1;
+    // Indeks spawn (selain pemain) diurutkan per chunk; spawn chunk k ada di
+    // chunkSpawns[chunkSpawnStart[k] .. chunkSpawnStart[k + 1] - 1], urutan aslinya dipertahankan
+    private final int[] chunkSpawns;
+    private final int[] chunkSpawnStart;
+
+    public LevelChunkSource(LevelData level) {
+        this.level = level;
+        this.cols = level.getCols();
+        this.rows = level.getRows();
+        this.randomCoins = new BitSet(cols * rows);
+        this.index = new LevelIndex(level);
+
+        // Koin acak di atas pijakan, tidak di baris teratas atau tiga baris terbawah,
+        // dan tidak bersebelahan dengan duri atau lubang kematian
+        int coins = 0;
+        int[] candidates = new int[cols * rows];
+        int candidateCount = 0;
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                if (level.tile(c, r) == LevelManager.TILE_COIN) coins++;
+                if (r >= 1 && r <= rows - 4 && index.isSurface(c, r) && index.hazardDistance(c, r) >= COIN_HAZARD_DISTANCE) {
+                    candidates[candidateCount++] = c * rows + r;
+                }
+            }
+        }
+        fixedCoins = coins;
+        coinCandidates = Arrays.copyOf(candidates, candidateCount);
+        candidatePool = new int[candidateCount];
+
+        int chunkCount = (cols + LevelManager.CHUNK_COLS - 1) / LevelManager.CHUNK_COLS;
+        chunkSpawnStart = new int[chunkCount + 1];
+        int entityCount = 0;
+        for (int i = 0; i < level.getSpawnCount(); i++) {
+            if (level.getSpawnType(i) == LevelData.SpawnType.PLAYER) {
+                playerCol = level.getSpawnCol(i);
+                playerRow = level.getSpawnRow(i);
+            } else {
+                chunkSpawnStart[level.getSpawnCol(i) / LevelManager.CHUNK_COLS + 1]++;
+                entityCount++;
+            }
+        }
+        for (int k = 0; k < chunkCount; k++) {
+            chunkSpawnStart[k + 1] += chunkSpawnStart[k];
+        }
+        chunkSpawns = new int[entityCount];
+        int[] next = Arrays.copyOf(chunkSpawnStart, chunkCount);
+        for (int i = 0; i < level.getSpawnCount(); i++) {
+            if (level.getSpawnType(i) != LevelData.SpawnType.PLAYER) {
+                chunkSpawns[next[level.getSpawnCol(i) / LevelManager.CHUNK_COLS]++] = i;
+            }
+            validateSpawn(i);
+        }
+    }
+
+    // Entitas yang muncul di dalam tile padat atau tepat di atas bahaya hampir pasti kesalahan desain
+    private void validateSpawn(int spawn) {
+        int col = level.getSpawnCol(spawn);
+        int row = level.getSpawnRow(spawn);
+        if (col < 0 || col >= cols || row < 0 || row >= rows) return;
+        boolean solid = (TileRegistry.flags(level.tile(col, row)) & TileRegistry.SOLID) != 0;
+        if ((solid || index.hazardDistance(col, row) == 0) && Log.WARN) {
+            Log.warn("LevelChunkSource", "Spawn " + level.getSpawnType(spawn) + " di kolom " + col + ", baris " + row
+                    + " berada di dalam tile padat atau berbahaya.");
+        }
+    }
+
+    @Override public int getCols() { return cols; }
+    @Override public int getRows() { return rows; }
+    @Override public int getPlayerSpawnCol() { return playerCol; }
+    @Override public int getPlayerSpawnRow() { return playerRow; }
+    @Override public int getCoinTarget() { return coinTarget; }
+
+    /**
+     * Menempatkan koin acak sebanyak yang diminta file level, dipilih tanpa pengulangan dari
+     * kandidat yang sudah dihitung saat konstruksi.
+     */
+    @Override
+    public void reset(Random random) {
+        randomCoins.clear();
+
+        int coinsToPlace = Math.min(level.getRandomCoins(), coinCandidates.length);
+        if (coinsToPlace < level.getRandomCoins() && Log.WARN) {
+            Log.warn("LevelChunkSource", "Hanya ada " + coinCandidates.length + " tempat aman untuk "
+                    + level.getRandomCoins() + " koin acak.");
+        }
+
+        // Fisher-Yates parsial: coinsToPlace kandidat pertama menjadi pilihan acak tanpa pengulangan
+        int[] pool = candidatePool;
+        System.arraycopy(coinCandidates, 0, pool, 0, pool.length);
+        for (int i = 0; i < coinsToPlace; i++) {
+            int j = i + random.nextInt(pool.length - i);
+            int key = pool[j];
+            pool[j] = pool[i];
+            pool[i] = key;
+            randomCoins.set(key);
+        }
+        if (Log.DEBUG) Log.debug("LevelChunkSource", coinsToPlace + " koin ditempatkan secara acak.");
+
+        coinTarget = fixedCoins + coinsToPlace;
+    }
+
+    @Override
+    public void loadChunk(int chunk, byte[] tiles, Spawner spawner) {
+        int firstCol = chunk * LevelManager.CHUNK_COLS;
+        if (firstCol + LevelManager.CHUNK_COLS > cols) {
+            Arrays.fill(tiles, (byte) LevelManager.TILE_EMPTY);
+        }
+        if (firstCol >= cols) return;
+        level.copyColumns(firstCol, LevelManager.CHUNK_COLS, tiles);
+
+        int base = firstCol * rows;
+        int end = Math.min(cols, firstCol + LevelManager.CHUNK_COLS) * rows;
+        for (int i = randomCoins.nextSetBit(base); i >= 0 && i < end; i = randomCoins.nextSetBit(i + 1)) {
+            tiles[i - base] = (byte) LevelManager.TILE_COIN;
+        }
+
+        for (int i = chunkSpawnStart[chunk]; i < chunkSpawnStart[chunk + 1]; i++) {
+            int spawn = chunkSpawns[i];
+            spawner.spawn(spawn, level.getSpawnType(spawn), level.getSpawnCol(spawn), level.getSpawnRow(spawn));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Mengompilasi level bentuk teks ke bentuk biner {@link LevelData}.
+ *
+ * Penggunaan: {@code java -cp game.jar game.LevelCompiler <input.txt> <output.lvl>}, atau dengan
+ * dua direktori untuk mengompilasi semua file .txt di dalamnya. Build Ant menjalankannya setelah
+ * kompilasi untuk semua level di {@code res/levels}.
+ */
+public final class LevelCompiler {
+
+    private LevelCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Penggunaan: LevelCompiler <input.txt|direktori> <output.lvl|direktori>");
+            System.exit(2);
+        }
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+        if (input.isDirectory()) {
+            File[] sources = input.listFiles((dir, name) -> name.endsWith(".txt"));
+            if (sources == null) {
+                throw new IOException("Tidak dapat membaca direktori " + input);
+            }
+            output.mkdirs();
+            for (File source : sources) {
+                String name = source.getName();
+                compile(source, new File(output, name.substring(0, name.length() - 4) + ".lvl"));
+            }
+        } else {
+            compile(input, output);
+        }
+    }
+
+    private static void compile(File source, File target) throws IOException {
+        LevelData level = LevelData.load(source);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
+            level.writeBinary(out);
+        }
+        System.out.println("LevelCompiler: " + source + " -> " + target + " (" + level.getCols() + "x" + level.getRows()
+                + ", " + level.getSpawnCount() + " spawn, " + source.length() + " -> " + target.length() + " byte)");
+    }
+}
@@ -0,0 +1,376 @@
+package game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Desain satu level yang dimuat dari file: peta tile awal, jumlah koin acak, dan tabel spawn entitas.
+ *
+ * Ada dua bentuk file:
+ * <ul>
+ * <li>Teks (.txt, bentuk authoring) di {@code res/levels}: baris {@code kunci nilai...}, lalu
+ *     {@code map} diikuti peta tile satu karakter per tile, baris demi baris dari atas.</li>
+ * <li>Biner (.lvl, hasil {@link LevelCompiler}): header berversi, tabel spawn, lalu tile
+ *     kolom demi kolom sebagai run-length (byte tile, panjang varint). Dibaca sebagai stream
+ *     tanpa parsing teks, sehingga level ribuan kolom tetap dimuat dalam beberapa milidetik.</li>
+ * </ul>
+ * {@link #read(InputStream, String)} mengenali bentuknya dari magic number, sehingga level teks
+ * juga bisa langsung dimainkan tanpa dikompilasi.
+ */
+public final class LevelData {
+
+    /** Jenis entitas di tabel spawn. Kode disimpan di file biner dan tidak boleh diubah. */
+    public enum SpawnType {
+        PLAYER(0, "player"),
+        SLIME(1, "slime"),
+        CANNON(2, "cannon");
+
+        final int code;
+        final String keyword;
+
+        SpawnType(int code, String keyword) {
+            this.code = code;
+            this.keyword = keyword;
+        }
+
+        static SpawnType fromCode(int code) {
+            for (SpawnType type : values()) {
+                if (type.code == code) return type;
+            }
+            return null;
+        }
+
+        static SpawnType fromKeyword(String keyword) {
+            for (SpawnType type : values()) {
+                if (type.keyword.equals(keyword)) return type;
+            }
+            return null;
+        }
+    }
+
+    /** Level bawaan di classpath; bentuk biner dicari lebih dulu, lalu bentuk teks. */
+    public static final String DEFAULT_LEVEL = "/res/levels/level1";
+
+    private static final int MAGIC = 0x504A4C56; // "PJLV"
+    private static final int VERSION = 1;
+    private static final int MAX_COLS = 1 << 20;
+    private static final int MAX_ROWS = 256;
+
+    // Karakter peta teks, diindeks dengan konstanta TILE_ di LevelManager
+    private static final String TILE_CHARS = ".#B^o+E=|x";
+
+    private final String name;
+    private final int cols, rows;
+    private final byte[] tiles; // Kolom demi kolom: tiles[col * rows + row]
+    private final int randomCoins;
+    private final SpawnType[] spawnTypes;
+    private final int[] spawnCols;
+    private final int[] spawnRows;
+
+    private LevelData(String name, int cols, int rows, byte[] tiles, int randomCoins,
+                      SpawnType[] spawnTypes, int[] spawnCols, int[] spawnRows) {
+        this.name = name;
+        this.cols = cols;
+        this.rows = rows;
+        this.tiles = tiles;
+        this.randomCoins = randomCoins;
+        this.spawnTypes = spawnTypes;
+        this.spawnCols = spawnCols;
+        this.spawnRows = spawnRows;
+    }
+
+    public String getName() { return name; }
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    /** @return Jumlah koin yang ditempatkan secara acak setiap kali level dibuat. */
+    public int getRandomCoins() { return randomCoins; }
+
+    /** @return Tipe tile (konstanta TILE_ di {@link LevelManager}) pada kolom dan baris tertentu. */
+    public int tile(int col, int row) {
+        return tiles[col * rows + row];
+    }
+
+    /**
+     * Menyalin {@code count} kolom mulai dari {@code firstCol} ke awal {@code dest} dengan susunan
+     * yang sama (kolom demi kolom). Kolom di luar level dilewati, isi {@code dest} di sana tidak diubah.
+     */
+    void copyColumns(int firstCol, int count, byte[] dest) {
+        int copied = Math.min(count, cols - firstCol);
+        if (copied > 0) {
+            System.arraycopy(tiles, firstCol * rows, dest, 0, copied * rows);
+        }
+    }
+
+    public int getSpawnCount() { return spawnTypes.length; }
+    public SpawnType getSpawnType(int index) { return spawnTypes[index]; }
+    public int getSpawnCol(int index) { return spawnCols[index]; }
+    public int getSpawnRow(int index) { return spawnRows[index]; }
+
+    /**
+     * Memuat level yang dipakai game: file dari {@code -Dgame.level=path} jika diberikan, atau
+     * level bawaan di classpath. Jika gagal atau tingginya bukan {@code requiredRows}, level
+     * datar sederhana dipakai agar game tetap bisa berjalan.
+     */
+    public static LevelData loadConfigured(int requiredRows) {
+        return load(GameSettings.LEVEL_PATH, requiredRows);
+    }
+
+    /**
+     * Seperti {@link #loadConfigured(int)}, tetapi dari file {@code path} (null untuk level bawaan).
+     */
+    public static LevelData load(String path, int requiredRows) {
+        String source = path;
+        try {
+            LevelData level;
+            if (source != null) {
+                try (InputStream in = new FileInputStream(source)) {
+                    level = read(in, source);
+                }
+            } else {
+                level = loadResource(DEFAULT_LEVEL);
+                source = DEFAULT_LEVEL;
+            }
+            if (level.rows != requiredRows) {
+                throw new IOException("Tinggi level " + level.rows + " baris, harus " + requiredRows + ".");
+            }
+            if (Log.DEBUG) Log.debug("LevelData", "Level \"" + level.name + "\" dimuat dari " + source + " (" + level.cols + "x" + level.rows + ").");
+            return level;
+        } catch (IOException e) {
+            System.err.println("ERROR LevelData: Gagal memuat level " + (source != null ? source : DEFAULT_LEVEL) + ". " + e.getMessage() + " Memakai level datar.");
+            return fallback(requiredRows);
+        }
+    }
+
+    private static LevelData loadResource(String basePath) throws IOException {
+        InputStream in = LevelData.class.getResourceAsStream(basePath + ".lvl");
+        String source = basePath + ".lvl";
+        if (in == null) {
+            in = LevelData.class.getResourceAsStream(basePath + ".txt");
+            source = basePath + ".txt";
+        }
+        if (in == null) {
+            throw new IOException("Tidak dapat menemukan " + basePath + ".lvl atau .txt di classpath.");
+        }
+        try (InputStream stream = in) {
+            return read(stream, source);
+        }
+    }
+
+    /**
+     * Membaca level dalam bentuk biner atau teks, dikenali dari empat byte pertama.
+     * @param source Nama sumber untuk pesan error.
+     */
+    public static LevelData read(InputStream in, String source) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(4);
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = buffered.read();
+            magic = (magic << 8) | (b < 0 ? 0 : b);
+        }
+        buffered.reset();
+        if (magic == MAGIC) {
+            return readBinary(new DataInputStream(buffered));
+        }
+        return parseText(new BufferedReader(new InputStreamReader(buffered, StandardCharsets.UTF_8)), source);
+    }
+
+    private static LevelData readBinary(DataInputStream in) throws IOException {
+        in.readInt(); // Magic, sudah diperiksa
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Versi level tidak didukung: " + version);
+        }
+        String name = in.readUTF();
+        int cols = VarInt.readInt(in, 1, MAX_COLS, "Lebar level");
+        int rows = VarInt.readInt(in, 1, MAX_ROWS, "Tinggi level");
+        int randomCoins = VarInt.readInt(in, 0, cols * rows, "Jumlah koin");
+
+        int spawnCount = VarInt.readInt(in, 0, cols * rows, "Jumlah spawn");
+        SpawnType[] types = new SpawnType[spawnCount];
+        int[] spawnCols = new int[spawnCount];
+        int[] spawnRows = new int[spawnCount];
+        for (int i = 0; i < spawnCount; i++) {
+            int code = in.readUnsignedByte();
+            types[i] = SpawnType.fromCode(code);
+            if (types[i] == null) {
+                throw new IOException("Jenis spawn tidak dikenal: " + code);
+            }
+            spawnCols[i] = VarInt.readInt(in, 0, cols - 1, "Kolom spawn");
+            spawnRows[i] = VarInt.readInt(in, 0, rows - 1, "Baris spawn");
+        }
+
+        byte[] tiles = new byte[cols * rows];
+        int filled = 0;
+        while (filled < tiles.length) {
+            byte tile = in.readByte();
+            if (tile < 0 || tile >= TILE_CHARS.length()) {
+                throw new IOException("Tipe tile tidak dikenal: " + tile);
+            }
+            int run = VarInt.readInt(in, 1, tiles.length - filled, "Panjang run tile");
+            if (tile != LevelManager.TILE_EMPTY) {
+                Arrays.fill(tiles, filled, filled + run, tile);
+            }
+            filled += run;
+        }
+        return new LevelData(name, cols, rows, tiles, randomCoins, types, spawnCols, spawnRows);
+    }
+
+    /**
+     * Menulis level dalam bentuk biner (lihat deskripsi kelas).
+     */
+    public void writeBinary(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(name);
+        VarInt.write(out, cols);
+        VarInt.write(out, rows);
+        VarInt.write(out, randomCoins);
+        VarInt.write(out, spawnTypes.length);
+        for (int i = 0; i < spawnTypes.length; i++) {
+            out.writeByte(spawnTypes[i].code);
+            VarInt.write(out, spawnCols[i]);
+            VarInt.write(out, spawnRows[i]);
+        }
+        int i = 0;
+        while (i < tiles.length) {
+            int start = i;
+            while (i < tiles.length && tiles[i] == tiles[start]) i++;
+            out.writeByte(tiles[start]);
+            VarInt.write(out, i - start);
+        }
+    }
+
+    /**
+     * Mem-parsing bentuk teks. Baris kosong dan baris yang diawali {@code #} sebelum {@code map}
+     * diabaikan. Kunci yang dikenal: {@code name <nama>}, {@code coins <jumlah koin acak>},
+     * {@code spawn <player|slime|cannon> <kolom> <baris>}. Semua baris peta harus sama panjang.
+     */
+    private static LevelData parseText(BufferedReader reader, String source) throws IOException {
+        String name = source;
+        int randomCoins = 0;
+        List<SpawnType> types = new ArrayList<>();
+        List<int[]> positions = new ArrayList<>();
+        List<String> mapLines = new ArrayList<>();
+        boolean inMap = false;
+        int lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (inMap) {
+                String row = line.trim();
+                if (!row.isEmpty()) mapLines.add(row);
+                continue;
+            }
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+            String[] parts = trimmed.split("\\s+", 2);
+            String key = parts[0];
+            String value = parts.length > 1 ? parts[1] : "";
+            try {
+                switch (key) {
+                    case "name":
+                        name = value;
+                        break;
+                    case "coins":
+                        randomCoins = Integer.parseInt(value);
+                        break;
+                    case "spawn":
+                        String[] args = value.split("\\s+");
+                        SpawnType type = args.length == 3 ? SpawnType.fromKeyword(args[0]) : null;
+                        if (type == null) {
+                            throw new IOException(source + ":" + lineNumber + ": spawn harus berbentuk 'spawn <player|slime|cannon> <kolom> <baris>'.");
+                        }
+                        types.add(type);
+                        positions.add(new int[] {Integer.parseInt(args[1]), Integer.parseInt(args[2]), lineNumber});
+                        break;
+                    case "map":
+                        inMap = true;
+                        break;
+                    default:
+                        throw new IOException(source + ":" + lineNumber + ": kunci tidak dikenal '" + key + "'.");
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException(source + ":" + lineNumber + ": angka tidak valid. " + e.getMessage());
+            }
+        }
+
+        if (mapLines.isEmpty()) {
+            throw new IOException(source + ": tidak ada peta tile setelah 'map'.");
+        }
+        int rows = mapLines.size();
+        int cols = mapLines.get(0).length();
+        if (rows > MAX_ROWS || cols > MAX_COLS) {
+            throw new IOException(source + ": level terlalu besar (" + cols + "x" + rows + ").");
+        }
+        byte[] tiles = new byte[cols * rows];
+        for (int r = 0; r < rows; r++) {
+            String row = mapLines.get(r);
+            if (row.length() != cols) {
+                throw new IOException(source + ": baris peta " + (r + 1) + " panjangnya " + row.length() + ", harus " + cols + ".");
+            }
+            for (int c = 0; c < cols; c++) {
+                int tile = TILE_CHARS.indexOf(row.charAt(c));
+                if (tile < 0) {
+                    throw new IOException(source + ": karakter tile tidak dikenal '" + row.charAt(c) + "' di baris peta " + (r + 1) + ", kolom " + c + ".");
+                }
+                tiles[c * rows + r] = (byte) tile;
+            }
+        }
+        if (randomCoins < 0 || randomCoins > cols * rows) {
+            throw new IOException(source + ": jumlah koin tidak valid: " + randomCoins);
+        }
+
+        int spawnCount = types.size();
+        SpawnType[] spawnTypes = types.toArray(new SpawnType[0]);
+        int[] spawnCols = new int[spawnCount];
+        int[] spawnRows = new int[spawnCount];
+        for (int i = 0; i < spawnCount; i++) {
+            int[] p = positions.get(i);
+            if (p[0] < 0 || p[0] >= cols || p[1] < 0 || p[1] >= rows) {
+                throw new IOException(source + ":" + p[2] + ": posisi spawn di luar peta.");
+            }
+            spawnCols[i] = p[0];
+            spawnRows[i] = p[1];
+        }
+        return new LevelData(name, cols, rows, tiles, randomCoins, spawnTypes, spawnCols, spawnRows);
+    }
+
+    /**
+     * Level darurat: lantai datar selebar 120 kolom dengan pintu keluar, tanpa musuh dan tanpa koin.
+     */
+    static LevelData fallback(int rows) {
+        int cols = 120;
+        byte[] tiles = new byte[cols * rows];
+        for (int c = 0; c < cols; c++) {
+            tiles[c * rows + rows - 2] = (byte) LevelManager.TILE_GROUND;
+            tiles[c * rows + rows - 1] = (byte) LevelManager.TILE_GROUND;
+        }
+        tiles[(cols - 5) * rows + rows - 3] = (byte) LevelManager.TILE_EXIT;
+        return new LevelData("Fallback", cols, rows, tiles, 0,
+                new SpawnType[] {SpawnType.PLAYER}, new int[] {2}, new int[] {rows - 4});
+    }
+
+    /**
+     * Memuat file level dari disk dalam bentuk apa pun (dipakai {@link LevelCompiler}).
+     */
+    static LevelData load(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return read(in, file.getPath());
+        }
+    }
+}
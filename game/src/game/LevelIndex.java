@@ -0,0 +1,66 @@
+package game;
+
+/**
+ * Indeks permukaan dan jarak bahaya untuk satu desain level, dihitung sekali saat level dipakai.
+ *
+ * Jarak bahaya adalah jarak Manhattan (dalam tile) dari setiap sel ke tile berbahaya terdekat
+ * ({@link TileRegistry#HAZARD}), dihitung dengan dua sapuan atas seluruh peta dan dibatasi
+ * {@link #MAX_DISTANCE}. Setelah itu pertanyaan seperti "apakah sel ini pijakan yang aman untuk koin
+ * atau musuh" cukup dijawab dengan satu pembacaan array, tanpa memeriksa tetangga satu per satu.
+ * Indeks hanya melihat desain level; perubahan tile selama permainan tidak memengaruhinya.
+ */
+final class LevelIndex {
+
+    /** Jarak terbesar yang disimpan; sel yang lebih jauh dari bahaya mana pun bernilai ini. */
+    static final int MAX_DISTANCE = 255;
+
+    private final LevelData level;
+    private final int cols;
+    private final int rows;
+    private final byte[] hazardDistance; // Kolom demi kolom seperti LevelData, dibaca dengan & 0xFF
+
+    LevelIndex(LevelData level) {
+        this.level = level;
+        this.cols = level.getCols();
+        this.rows = level.getRows();
+        this.hazardDistance = new byte[cols * rows];
+
+        byte[] d = hazardDistance;
+        // Sapuan maju: jarak lewat tetangga kiri dan atas
+        for (int c = 0, i = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++, i++) {
+                int best = (TileRegistry.flags(level.tile(c, r)) & TileRegistry.HAZARD) != 0 ? 0 : MAX_DISTANCE;
+                if (c > 0) best = Math.min(best, (d[i - rows] & 0xFF) + 1);
+                if (r > 0) best = Math.min(best, (d[i - 1] & 0xFF) + 1);
+                d[i] = (byte) best;
+            }
+        }
+        // Sapuan mundur: jarak lewat tetangga kanan dan bawah
+        for (int i = cols * rows - 1, c = cols - 1; c >= 0; c--) {
+            for (int r = rows - 1; r >= 0; r--, i--) {
+                int best = d[i] & 0xFF;
+                if (c < cols - 1) best = Math.min(best, (d[i + rows] & 0xFF) + 1);
+                if (r < rows - 1) best = Math.min(best, (d[i + 1] & 0xFF) + 1);
+                d[i] = (byte) best;
+            }
+        }
+    }
+
+    /**
+     * @return Jarak Manhattan ke tile berbahaya terdekat (0 jika sel itu sendiri berbahaya),
+     *         paling besar {@link #MAX_DISTANCE}.
+     */
+    int hazardDistance(int col, int row) {
+        return hazardDistance[col * rows + row] & 0xFF;
+    }
+
+    /**
+     * @return True jika sel kosong dan tile di bawahnya pijakan tetap (padat dan tidak bisa pecah)
+     *         atau penanda platform bergerak, yaitu tempat sesuatu bisa berdiri.
+     */
+    boolean isSurface(int col, int row) {
+        if (row + 1 >= rows || level.tile(col, row) != LevelManager.TILE_EMPTY) return false;
+        int below = TileRegistry.flags(level.tile(col, row + 1));
+        return (below & TileRegistry.MARKER) != 0 || (below & (TileRegistry.SOLID | TileRegistry.BREAKABLE)) == TileRegistry.SOLID;
+    }
+}
@@ -1,25 +1,63 @@
 package game;
 
-import java.awt.Color;
-import java.awt.Graphics;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.InputStream;
-import java.io.IOException;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.util.Random; // Import untuk Random
-
+import java.util.Arrays;
+
+/**
+ * Data level: peta tile yang sedang dimainkan, dimuat per chunk di sekitar kamera.
+ *
+ * Dunia dibagi menjadi chunk selebar {@link #CHUNK_COLS} kolom yang isinya diambil dari
+ * {@link ChunkSource} (file level atau generator tanpa akhir). Hanya chunk dari sedikit di belakang
+ * layar hingga beberapa chunk di depannya yang dimuat, di {@link #WINDOW_CHUNKS} slot yang dipakai
+ * bergiliran, sehingga memori dan kerja per tick tidak bergantung pada panjang level.
+ *
+ * Tile yang dimuat disimpan sebagai satu array byte datar, baris demi baris, selebar
+ * {@code WINDOW_CHUNKS * CHUNK_COLS} kolom (pangkat dua): kolom {@code col} ada di indeks
+ * {@code row * lebar + (col & (lebar - 1))}. Slot yang tidak dimuat selalu kosong, sehingga
+ * {@link #tileAt(int, int)} untuk loop tabrakan tidak perlu memeriksa batas kolom.
+ *
+ * Desain level tidak pernah disalin atau diubah (copy-on-write): perubahan tile selama permainan
+ * (koin diambil, blok pecah) hanya dicatat di {@link TileJournal} dan diterapkan ulang saat chunk
+ * dimuat. Restart cukup mengosongkan catatan itu lalu mengisi ulang chunk di sekitar kamera.
+ *
+ * Tidak menggambar apa pun; tampilan level ditangani {@link LevelRenderer}, yang diberi tahu setiap
+ * perubahan tile lewat {@link TileListener}.
+ */
 public class LevelManager {
 
-    private GamePanel gp;
-    public int[][] levelMap;
-    public int[][] originalLevelMap;
-    private BufferedImage coinImage;
-    private BufferedImage groundTileset;
-    private BufferedImage groundSurfaceTile;
-    private BufferedImage groundBaseTile;
-    private Random random = new Random(); // Inisialisasi Random
+    /**
+     * Penerima perubahan peta level, misalnya renderer yang menyimpan cache gambar tile.
+     */
+    public interface TileListener {
+        /** Satu tile diubah lewat {@link LevelManager#setTile(int, int, int)}. */
+        void tileChanged(int row, int col);
+
+        /** Seluruh peta level dibuat ulang. */
+        void levelReset();
+    }
+
+    /** Lebar satu chunk dalam kolom tile. */
+    public static final int CHUNK_COLS = 16;
+    /** Jumlah chunk yang bisa dimuat bersamaan; cukup untuk layar ditambah chunk di belakang dan di depannya. */
+    public static final int WINDOW_CHUNKS = 8;
+    private static final int KEEP_BEHIND_CHUNKS = 1; // Chunk di kiri layar yang tetap dimuat
+    private static final int LOAD_AHEAD_CHUNKS = 2;  // Chunk di kanan layar yang sudah dimuat
+
+    private final World world;
+    private final ChunkSource source;
+    private final ChunkSource.Spawner spawner;
+    private final int rows;
+    private final int chunkCount;
+    private int coinTarget; // Jumlah koin di level, harus dikumpulkan semua untuk menang
+    private TileListener tileListener;
+
+    // Tile yang dimuat, baris demi baris: tiles[row * WINDOW_COLS + (col & WINDOW_MASK)]
+    private static final int WINDOW_COLS = WINDOW_CHUNKS * CHUNK_COLS;
+    private static final int WINDOW_MASK = WINDOW_COLS - 1;
+    private final byte[] tiles;
+    private final byte[] chunkBuffer; // Isi satu chunk dari sumber, kolom demi kolom
+    private int firstChunk = 0; // Rentang chunk yang dimuat, inklusif; kosong jika lastChunk < firstChunk
+    private int lastChunk = -1;
+    private final TileJournal journal = new TileJournal(); // Tile yang diubah sejak level dibuat
 
     // Definisikan konstanta untuk tipe tile baru
     public static final int TILE_EMPTY = 0;
@@ -32,289 +70,182 @@ public class LevelManager {
     public static final int TILE_MOVING_H = 7; // Platform bergerak horizontal
     public static final int TILE_MOVING_V = 8; // Platform bergerak vertikal
     public static final int TILE_DEATH_ZONE = 9; // Lubang kematian instan
+    // Sifat tiap tipe tile (padat, berbahaya, bisa diambil, ...) ada di TileRegistry
 
 
-    public LevelManager(GamePanel gp) {
-        this.gp = gp;
-        this.coinImage = gp.getCoinImage();
-        loadGroundAssets();
-        createLevel();
+    public LevelManager(World world, ChunkSource source) {
+        this.world = world;
+        this.source = source;
+        this.spawner = world::spawnEntity;
+        this.rows = world.maxWorldRow;
+        this.chunkCount = (world.maxWorldCol + CHUNK_COLS - 1) / CHUNK_COLS;
+        this.tiles = new byte[rows * WINDOW_COLS];
+        this.chunkBuffer = new byte[CHUNK_COLS * rows];
     }
 
     /**
-     * Memuat aset gambar untuk ground dari tileset_64x64(new).png.
+     * Mendaftarkan penerima perubahan tile (paling banyak satu), atau null untuk melepasnya.
      */
-    private void loadGroundAssets() {
-        try {
-            InputStream isTileset = getClass().getResourceAsStream("/res/tileset_64x64(new).png");
-            if (isTileset != null) {
-                groundTileset = ImageIO.read(isTileset);
-                System.out.println("DEBUG LevelManager: Ground tileset (tileset_64x64(new).png) dimuat. Dimensi: " + groundTileset.getWidth() + "x" + groundTileset.getHeight());
-            } else {
-                System.err.println("ERROR LevelManager: Tidak dapat menemukan file tileset_64x64(new).png! Pastikan file ada di 'res/'.");
-                return;
-            }
-
-            int tileSetTileSize = 64;
-
-            if (groundTileset.getWidth() >= tileSetTileSize && groundTileset.getHeight() >= tileSetTileSize) {
-                groundSurfaceTile = groundTileset.getSubimage(0, 0, tileSetTileSize, tileSetTileSize);
-                System.out.println("DEBUG LevelManager: groundSurfaceTile berhasil diekstrak dari (0,0).");
-            } else {
-                System.err.println("ERROR LevelManager: Tileset terlalu kecil untuk mengekstrak groundSurfaceTile dari (0,0). Dimensi tileset: " + groundTileset.getWidth() + "x" + groundTileset.getHeight());
-            }
+    public void setTileListener(TileListener listener) {
+        this.tileListener = listener;
+    }
 
-            if (groundTileset.getWidth() >= tileSetTileSize && groundTileset.getHeight() >= 2 * tileSetTileSize) {
-                groundBaseTile = groundTileset.getSubimage(0, 64, tileSetTileSize, tileSetTileSize);
-                System.out.println("DEBUG LevelManager: groundBaseTile berhasil diekstrak dari (0,64).");
-            } else {
-                System.err.println("ERROR LevelManager: Tileset terlalu kecil untuk mengekstrak groundBaseTile dari (0,64). Dimensi tileset: " + groundTileset.getWidth() + "x" + groundTileset.getHeight());
-            }
+    /** @return Sumber isi chunk level ini. */
+    public ChunkSource getSource() {
+        return source;
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("ERROR LevelManager: Terjadi kesalahan saat memuat atau memotong gambar tileset_64x64(new).png.");
-            groundTileset = null;
-            groundSurfaceTile = null;
-            groundBaseTile = null;
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-            System.err.println("ERROR LevelManager: Koordinat subimage tidak valid untuk tileset_64x64(new).png. Periksa dimensi sprite atau koordinat pemotongan.");
-            groundTileset = null;
-            groundSurfaceTile = null;
-            groundBaseTile = null;
-        }
+    /** @return Jumlah koin yang harus dikumpulkan untuk membuka pintu keluar. */
+    public int getCoinTarget() {
+        return coinTarget;
     }
 
     /**
-     * Membuat dan menginisialisasi peta level dengan desain yang lebih mudah dan penempatan koin acak.
+     * Memulai level baru: sumber chunk disiapkan ulang (misalnya koin acak), semua chunk yang dimuat
+     * dan catatan perubahan tile dibuang. Chunk baru dimuat oleh {@link #updateWindow(int)}.
      */
     public void createLevel() {
-        originalLevelMap = new int[gp.maxWorldRow][gp.maxWorldCol];
+        source.reset(world.random);
+        coinTarget = source.getCoinTarget();
+        journal.clear();
+        Arrays.fill(tiles, (byte) TILE_EMPTY);
+        firstChunk = 0;
+        lastChunk = -1;
+        if (tileListener != null) tileListener.levelReset();
+    }
 
-        // Inisialisasi semua dengan ruang kosong
-        for (int r = 0; r < gp.maxWorldRow; r++) {
-            for (int c = 0; c < gp.maxWorldCol; c++) {
-                originalLevelMap[r][c] = TILE_EMPTY;
-            }
+    /**
+     * Memuat chunk di sekitar kamera dan membuang chunk yang sudah tertinggal.
+     * Entitas di chunk yang baru dimuat dimunculkan lewat {@link World#spawnEntity}; penanda platform
+     * bergerak diubah menjadi {@link MovingPlatform} lewat {@link World#spawnMovingPlatform}.
+     * @param cameraX Posisi kiri kamera di dunia.
+     * @return True jika rentang chunk yang dimuat berubah.
+     */
+    public boolean updateWindow(int cameraX) {
+        int chunkWidth = CHUNK_COLS * world.tileSize;
+        int first = Math.max(0, cameraX / chunkWidth - KEEP_BEHIND_CHUNKS);
+        int last = Math.min(chunkCount - 1, (cameraX + world.screenWidth) / chunkWidth + LOAD_AHEAD_CHUNKS);
+        if (first == firstChunk && last == lastChunk) return false;
+
+        for (int chunk = firstChunk; chunk <= lastChunk; chunk++) {
+            if (chunk < first || chunk > last) evict(chunk);
         }
-
-        // --- DESAIN LEVEL LEBIH MUDAH & SEIMBANG ---
-        // Player start di (2, gp.maxWorldRow - 3) = (2, 12)
-
-        // Lantai awal yang panjang dan aman
-        for (int c = 0; c < 15; c++) { 
-            originalLevelMap[gp.maxWorldRow - 2][c] = TILE_GROUND;
-            originalLevelMap[gp.maxWorldRow - 1][c] = TILE_GROUND;
+        int oldFirst = firstChunk;
+        int oldLast = lastChunk;
+        firstChunk = first;
+        lastChunk = last;
+        for (int chunk = first; chunk <= last; chunk++) {
+            if (chunk < oldFirst || chunk > oldLast) load(chunk);
         }
+        return true;
+    }
 
-        // Lubang kecil 1 (2 tile) dengan pijakan yang jelas
-        for (int c = 15; c < 17; c++) originalLevelMap[gp.maxWorldRow - 1][c] = TILE_DEATH_ZONE;
-        originalLevelMap[gp.maxWorldRow - 2][17] = TILE_GROUND; originalLevelMap[gp.maxWorldRow - 1][17] = TILE_GROUND; // Pijakan setelah lubang
-
-        // Platform naik sederhana dan aman
-        originalLevelMap[gp.maxWorldRow - 4][19] = TILE_GROUND;
-        originalLevelMap[gp.maxWorldRow - 5][20] = TILE_GROUND;
-        originalLevelMap[gp.maxWorldRow - 6][21] = TILE_GROUND; // Pijakan tinggi
+    private void load(int chunk) {
+        byte[] buffer = chunkBuffer;
+        source.loadChunk(chunk, buffer, spawner);
 
-        // Lubang dengan platform bergerak horizontal yang dapat dicapai (jarak lebih pendek, platform bergerak lebih besar)
-        for (int c = 22; c < 26; c++) originalLevelMap[gp.maxWorldRow - 1][c] = TILE_DEATH_ZONE; // Lubang 4 tile
-        originalLevelMap[gp.maxWorldRow - 7][24] = TILE_MOVING_H; // Range 3 tiles, speed 1.0 (lebih lambat, lebih dekat)
+        // Penanda platform bergerak menjadi entitas; tile-nya sendiri kosong
+        int firstCol = chunk * CHUNK_COLS;
+        for (int i = 0; i < buffer.length; i++) {
+            if (buffer[i] == TILE_MOVING_H || buffer[i] == TILE_MOVING_V) {
+                world.spawnMovingPlatform(firstCol + i / rows, i % rows, buffer[i] == TILE_MOVING_H);
+                buffer[i] = TILE_EMPTY;
+            }
+        }
 
-        // Platform setelah moving H (lebih lebar)
-        for (int c = 26; c < 32; c++) { // Lebih lebar
-            originalLevelMap[gp.maxWorldRow - 3][c] = TILE_GROUND;
-            originalLevelMap[gp.maxWorldRow - 2][c] = TILE_GROUND;
-            originalLevelMap[gp.maxWorldRow - 1][c] = TILE_GROUND;
+        int slotStart = firstCol & WINDOW_MASK;
+        for (int c = 0; c < CHUNK_COLS; c++) {
+            for (int row = 0; row < rows; row++) {
+                tiles[row * WINDOW_COLS + slotStart + c] = buffer[c * rows + row];
+            }
         }
 
-        // Area dengan duri & blok pecah (lebih jarang)
-        originalLevelMap[gp.maxWorldRow - 4][30] = TILE_SPIKE; // Duri
-        originalLevelMap[gp.maxWorldRow - 4][31] = TILE_BREAKABLE; // Blok pecah
+        // Perubahan yang tercatat untuk chunk ini diterapkan ulang di atas isi dari sumber
+        int firstKey = firstCol * rows;
+        int endKey = firstKey + CHUNK_COLS * rows;
+        for (int i = journal.firstIndexAtOrAfter(firstKey); i < journal.size() && journal.key(i) < endKey; i++) {
+            int key = journal.key(i);
+            tiles[(key % rows) * WINDOW_COLS + ((key / rows) & WINDOW_MASK)] = journal.value(i);
+        }
+    }
 
-        // Meriam pertama (ditempatkan dengan ruang yang lebih aman)
-        originalLevelMap[gp.maxWorldRow - 3][35] = TILE_GROUND; originalLevelMap[gp.maxWorldRow - 2][35] = TILE_GROUND;
+    // Slot chunk yang dibuang dikosongkan; perubahannya sudah ada di journal
+    private void evict(int chunk) {
+        int slotStart = (chunk * CHUNK_COLS) & WINDOW_MASK;
+        for (int row = 0; row < rows; row++) {
+            int rowStart = row * WINDOW_COLS + slotStart;
+            Arrays.fill(tiles, rowStart, rowStart + CHUNK_COLS, (byte) TILE_EMPTY);
+        }
+    }
 
-        // Lubang dengan platform bergerak vertikal (mulai lebih rendah, range lebih pendek)
-        for (int c = 37; c < 41; c++) originalLevelMap[gp.maxWorldRow - 1][c] = TILE_DEATH_ZONE; // Lubang 4 tile
-        originalLevelMap[gp.maxWorldRow - 8][39] = TILE_MOVING_V; // Range 2 tiles, speed 0.8 (lebih lambat)
+    /** @return True jika chunk ke-{@code chunk} sedang dimuat. */
+    public boolean isChunkLoaded(int chunk) {
+        return chunk >= firstChunk && chunk <= lastChunk;
+    }
 
-        // Platform setelah moving V (lebih lebar)
-        for (int c = 41; c < 48; c++) { // Lebih lebar
-            originalLevelMap[gp.maxWorldRow - 3][c] = TILE_GROUND;
-            originalLevelMap[gp.maxWorldRow - 2][c] = TILE_GROUND;
-            originalLevelMap[gp.maxWorldRow - 1][c] = TILE_GROUND;
-        }
+    /** @return Chunk pertama yang dimuat. */
+    public int getFirstLoadedChunk() {
+        return firstChunk;
+    }
 
-        // Area dengan kesehatan dan duri (lebih mudah diakses)
-        originalLevelMap[gp.maxWorldRow - 4][45] = TILE_HEALTH; // Health pack
-        originalLevelMap[gp.maxWorldRow - 4][47] = TILE_SPIKE; // Duri di ujung platform
+    /** @return Chunk terakhir yang dimuat, lebih kecil dari {@link #getFirstLoadedChunk()} jika belum ada. */
+    public int getLastLoadedChunk() {
+        return lastChunk;
+    }
 
-        // Meriam kedua
-        originalLevelMap[gp.maxWorldRow - 3][53] = TILE_GROUND; originalLevelMap[gp.maxWorldRow - 2][53] = TILE_GROUND;
+    /** @return Tepi kiri bagian dunia yang dimuat, dalam piksel. */
+    public int getLoadedMinX() {
+        return firstChunk * CHUNK_COLS * world.tileSize;
+    }
 
-        // Rangkaian platform melayang dengan jarak yang lebih mudah
-        originalLevelMap[gp.maxWorldRow - 5][58] = TILE_GROUND; // Platform 1
-        originalLevelMap[gp.maxWorldRow - 5][61] = TILE_GROUND; // Platform 2
-        originalLevelMap[gp.maxWorldRow - 5][64] = TILE_GROUND; // Platform 3
+    /** @return Tepi kanan (eksklusif) bagian dunia yang dimuat, dalam piksel. */
+    public int getLoadedMaxX() {
+        return (lastChunk + 1) * CHUNK_COLS * world.tileSize;
+    }
 
-        // Area panjang menuju Exit (lebih aman)
-        for (int c = 68; c < gp.maxWorldCol - 6; c++) {
-            originalLevelMap[gp.maxWorldRow - 2][c] = TILE_GROUND;
-            originalLevelMap[gp.maxWorldRow - 1][c] = TILE_GROUND;
-        }
-        
-        // Duri di jalur exit (lebih sedikit dan lebih mudah dihindari)
-        originalLevelMap[gp.maxWorldRow - 3][gp.maxWorldCol - 10] = TILE_SPIKE; // Hanya satu duri
-
-        // Lubang terakhir sebelum exit (lebih pendek)
-        for (int c = gp.maxWorldCol - 8; c < gp.maxWorldCol - 6; c++) originalLevelMap[gp.maxWorldRow - 1][c] = TILE_DEATH_ZONE; // Lubang 2 tile
-
-        // Exit
-        originalLevelMap[gp.maxWorldRow - 3][gp.maxWorldCol - 5] = TILE_EXIT;
-
-
-        // --- Penempatan Koin Acak (Tepat 15 koin) ---
-        int coinsToPlace = 15;
-        int placedCoins = 0;
-        int maxAttempts = 1000;
-
-        while (placedCoins < coinsToPlace && maxAttempts > 0) {
-            int r = random.nextInt(gp.maxWorldRow - 4) + 1; // Koin di atas baris paling bawah, hindari baris 0 (paling atas)
-            int c = random.nextInt(gp.maxWorldCol);
-
-            // Cek apakah tile kosong dan di atas pijakan yang valid
-            if (originalLevelMap[r][c] == TILE_EMPTY) {
-                // Periksa tile di bawahnya harus ground, moving H, atau moving V
-                if (r + 1 < gp.maxWorldRow && 
-                    (originalLevelMap[r+1][c] == TILE_GROUND || 
-                     originalLevelMap[r+1][c] == TILE_MOVING_H || 
-                     originalLevelMap[r+1][c] == TILE_MOVING_V)) 
-                {
-                    // Tambahan cek: Pastikan tidak spawn di atau terlalu dekat dengan duri atau death zone atau langsung di atas moving platform
-                    boolean safeToSpawn = true;
-                    // Cek tile koin itu sendiri dan 1 tile di bawahnya, kiri, kanan
-                    if (originalLevelMap[r][c] == TILE_SPIKE || originalLevelMap[r][c] == TILE_DEATH_ZONE ||
-                        (r + 1 < gp.maxWorldRow && (originalLevelMap[r+1][c] == TILE_SPIKE || originalLevelMap[r+1][c] == TILE_DEATH_ZONE)) ||
-                        (c - 1 >= 0 && (originalLevelMap[r][c-1] == TILE_SPIKE || originalLevelMap[r][c-1] == TILE_DEATH_ZONE)) ||
-                        (c + 1 < gp.maxWorldCol && (originalLevelMap[r][c+1] == TILE_SPIKE || originalLevelMap[r][c+1] == TILE_DEATH_ZONE))
-                        ) {
-                        safeToSpawn = false;
-                    }
-                    // Pastikan tidak tumpang tindih dengan platform bergerak secara visual
-                    if (originalLevelMap[r][c] == TILE_MOVING_H || originalLevelMap[r][c] == TILE_MOVING_V) {
-                        safeToSpawn = false; // Hindari spawn koin langsung di tile moving platform
-                    }
-
-                    if (safeToSpawn) {
-                        originalLevelMap[r][c] = TILE_COIN;
-                        placedCoins++;
-                    }
-                }
-            }
-            maxAttempts--;
-        }
-        System.out.println("DEBUG LevelManager: " + placedCoins + " koin ditempatkan secara acak.");
-
-        // Fallback jika tidak semua koin bisa ditempatkan secara acak (untuk memastikan 15 koin selalu ada)
-        if (placedCoins < coinsToPlace) {
-            System.out.println("WARNING LevelManager: Gagal menempatkan semua koin secara acak. Menempatkan sisa koin di posisi fallback.");
-            for (int i = placedCoins; i < coinsToPlace; i++) {
-                // Tempatkan koin di area awal level yang aman dan di atas ground yang solid
-                if (originalLevelMap[gp.maxWorldRow - 3][i + 2] == TILE_EMPTY && originalLevelMap[gp.maxWorldRow - 2][i+2] == TILE_GROUND) {
-                    originalLevelMap[gp.maxWorldRow - 3][i + 2] = TILE_COIN;
-                } else if (originalLevelMap[gp.maxWorldRow - 3][i + 3] == TILE_EMPTY && originalLevelMap[gp.maxWorldRow - 2][i+3] == TILE_GROUND){
-                    originalLevelMap[gp.maxWorldRow - 3][i + 3] = TILE_COIN;
-                } else {
-                    // Jika bahkan fallback pun sulit, tempatkan di lokasi default yang dijamin ada
-                    originalLevelMap[gp.maxWorldRow - 5][3] = TILE_COIN;
-                }
-            }
-        }
+    /** @return Jumlah tile yang diubah sejak level dibuat. */
+    public int getChangedTileCount() {
+        return journal.size();
+    }
 
+    /**
+     * Mengembalikan tipe tile pada posisi tertentu.
+     * @return Tipe tile, atau {@link #TILE_EMPTY} di luar peta maupun di chunk yang tidak dimuat.
+     */
+    public int getTile(int row, int col) {
+        if (row < 0 || row >= rows || col < 0) return TILE_EMPTY;
+        int chunk = col / CHUNK_COLS;
+        if (chunk < firstChunk || chunk > lastChunk) return TILE_EMPTY;
+        return tiles[row * WINDOW_COLS + (col & WINDOW_MASK)];
+    }
 
-        levelMap = new int[gp.maxWorldRow][gp.maxWorldCol];
-        for(int i = 0; i < gp.maxWorldRow; i++) {
-            System.arraycopy(originalLevelMap[i], 0, levelMap[i], 0, gp.maxWorldCol);
-        }
+    /**
+     * Seperti {@link #getTile(int, int)} tanpa pemeriksaan batas, untuk loop tabrakan.
+     * {@code row} harus di 0..maxWorldRow-1 dan {@code col} tidak negatif serta berada di chunk yang
+     * dimuat atau chunk tepat di sebelahnya (yang selalu terbaca kosong).
+     */
+    public int tileAt(int row, int col) {
+        return tiles[row * WINDOW_COLS + (col & WINDOW_MASK)];
     }
 
     /**
-     * Menggambar tile level di layar.
-     * Mengulang melalui peta level dan menggambar elemen yang berbeda berdasarkan jenis tile.
-     * @param g Objek Graphics untuk menggambar.
+     * Mengatur tile pada peta level dan memberi tahu penerima perubahan tile.
+     * Perubahan di chunk yang tidak dimuat diabaikan.
+     * @param row Indeks baris tile.
+     * @param col Indeks kolom tile.
+     * @param tileType Tipe tile baru.
      */
-    public void draw(Graphics g) {
-        // Aktifkan Rendering Hints untuk kualitas yang lebih baik pada gambar
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-
-        for (int row = 0; row < gp.maxWorldRow; row++) {
-            for (int col = 0; col < gp.maxWorldCol; col++) {
-                int tileType = levelMap[row][col];
-                switch (tileType) {
-                    case TILE_GROUND: // Ground/Platform
-                        if (groundSurfaceTile != null && groundBaseTile != null) {
-                            int surfaceHeight = (int)(gp.tileSize * 0.50);
-                            g2d.drawImage(groundSurfaceTile, col * gp.tileSize, row * gp.tileSize, gp.tileSize, surfaceHeight, null);
-                            int baseHeight = gp.tileSize - surfaceHeight;
-                            g2d.drawImage(groundBaseTile, col * gp.tileSize, row * gp.tileSize + surfaceHeight, gp.tileSize, baseHeight, null);
-                        } else {
-                            System.err.println("WARNING LevelManager: Gambar ground Surface/Base tile tidak dimuat. Menggambar fallback.");
-                            g2d.setColor(new Color(70, 120, 70));
-                            g2d.fillRect(col * gp.tileSize, row * gp.tileSize, gp.tileSize, gp.tileSize);
-                        }
-                        break;
-                    case TILE_SPIKE: // Duri/Bahaya
-                        g2d.setColor(Color.BLACK);
-                        int[] xPoints = {col * gp.tileSize, (col * gp.tileSize) + (gp.tileSize / 2), (col * gp.tileSize) + gp.tileSize};
-                        int[] yPoints = {(row * gp.tileSize) + gp.tileSize, row * gp.tileSize, (row * gp.tileSize) + gp.tileSize};
-                        g2d.fillPolygon(xPoints, yPoints, 3);
-                        break;
-                    case TILE_COIN: // Koin
-                        if (coinImage != null) {
-                            int coinSize = (int)(gp.tileSize * 0.6);
-                            int offset = (gp.tileSize - coinSize) / 2;
-                            g2d.drawImage(coinImage, col * gp.tileSize + offset, row * gp.tileSize + offset, coinSize, coinSize, null);
-                        } else {
-                            System.err.println("WARNING LevelManager: Gambar koin (coinImage) tidak dimuat. Koin tidak akan terlihat.");
-                        }
-                        break;
-                    case TILE_HEALTH: // Pengumpul Kesehatan
-                        g2d.setColor(Color.RED);
-                        int heartSize = (int)(gp.tileSize * 0.7);
-                        int offset = (gp.tileSize - heartSize) / 2;
-                        g2d.fillRect(col * gp.tileSize + offset, row * gp.tileSize + offset, heartSize, heartSize);
-                        break;
-                    case TILE_EXIT: // Keluar/Tujuan
-                        if (gp.getCoinsCollected() < 15) { // Sekarang perlu 15 koin untuk menang
-                            g2d.setColor(new Color(139, 69, 19, 150));
-                        } else {
-                            g2d.setColor(new Color(218, 165, 32));
-                        }
-                        g2d.fillRect(col * gp.tileSize, row * gp.tileSize, gp.tileSize, gp.tileSize);
-                        break;
-                    case TILE_MOVING_H: // Platform Bergerak Horizontal (placeholder)
-                        // Moving Platforms digambar oleh MovingPlatform.java, bukan di sini
-                        break;
-                    case TILE_MOVING_V: // Platform Bergerak Vertikal (placeholder)
-                        // Moving Platforms digambar oleh MovingPlatform.java, bukan di sini
-                        break;
-                    case TILE_DEATH_ZONE: // Lubang Kematian Instan (placeholder visual)
-                        g2d.setColor(new Color(0, 0, 0, 200));
-                        g2d.fillRect(col * gp.tileSize, row * gp.tileSize, gp.tileSize, gp.tileSize);
-                        break;
-                    case TILE_EMPTY: // Ruang kosong, tidak digambar apa-apa
-                        break;
-                    case TILE_BREAKABLE: // Blok yang bisa pecah (placeholder)
-                        g2d.setColor(new Color(150, 100, 50));
-                        g2d.fillRect(col * gp.tileSize, row * gp.tileSize, gp.tileSize, gp.tileSize);
-                        break;
-                }
-            }
+    public void setTile(int row, int col, int tileType) {
+        if (row < 0 || row >= rows || col < 0) return;
+        int chunk = col / CHUNK_COLS;
+        if (chunk < firstChunk || chunk > lastChunk) return;
+        int index = row * WINDOW_COLS + (col & WINDOW_MASK);
+        if (tiles[index] != tileType) {
+            tiles[index] = (byte) tileType;
+            journal.put(col * rows + row, (byte) tileType);
+            if (tileListener != null) tileListener.tileChanged(row, col);
         }
     }
+
+
 }
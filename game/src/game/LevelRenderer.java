@@ -0,0 +1,253 @@
+package game;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+/**
+ * Tampilan level: memuat tileset dan menggambar peta tile milik {@link LevelManager}.
+ * Tile statis dirender ke cache per chunk kolom ({@link LevelManager#CHUNK_COLS}); gambar cache
+ * memakai slot bergiliran yang sama dengan chunk yang dimuat LevelManager, sehingga jumlahnya tetap
+ * berapa pun panjang level. Perubahan tile diterima lewat {@link LevelManager.TileListener}
+ * sehingga hanya chunk yang berubah dirender ulang.
+ * Tidak dibuat sama sekali dalam simulasi headless.
+ */
+public class LevelRenderer implements LevelManager.TileListener {
+
+    private final World world;
+    private final LevelManager level;
+    private BufferedImage coinImage;
+    private BufferedImage groundTileset;
+    private BufferedImage groundSurfaceTile;
+    private BufferedImage groundBaseTile;
+
+    // Cache layer tile statis per chunk; chunk k dirender ke slot k % WINDOW_CHUNKS
+    private static final int CHUNK_COLS = LevelManager.CHUNK_COLS;
+    private final BufferedImage[] chunkImages = new BufferedImage[LevelManager.WINDOW_CHUNKS];
+    private final int[] slotChunk = new int[LevelManager.WINDOW_CHUNKS]; // Chunk yang isinya ada di gambar slot, -1 jika tidak ada
+    private final boolean[] chunkDirty = new boolean[LevelManager.WINDOW_CHUNKS];
+
+    public LevelRenderer(World world, BufferedImage coinImage) {
+        this.world = world;
+        this.level = world.levelManager;
+        this.coinImage = coinImage;
+        loadGroundAssets();
+        levelReset();
+        level.setTileListener(this);
+    }
+
+    /**
+     * Memuat aset gambar untuk ground dari tileset_64x64(new).png.
+     */
+    private void loadGroundAssets() {
+        try {
+            InputStream isTileset = getClass().getResourceAsStream("/res/tileset_64x64(new).png");
+            if (isTileset != null) {
+                groundTileset = ImageIO.read(isTileset);
+                if (Log.DEBUG) Log.debug("LevelRenderer", "Ground tileset (tileset_64x64(new).png) dimuat. Dimensi: " + groundTileset.getWidth() + "x" + groundTileset.getHeight());
+            } else {
+                System.err.println("ERROR LevelRenderer: Tidak dapat menemukan file tileset_64x64(new).png! Pastikan file ada di 'res/'.");
+                return;
+            }
+
+            int tileSetTileSize = 64;
+
+            if (groundTileset.getWidth() >= tileSetTileSize && groundTileset.getHeight() >= tileSetTileSize) {
+                groundSurfaceTile = groundTileset.getSubimage(0, 0, tileSetTileSize, tileSetTileSize);
+                if (Log.DEBUG) Log.debug("LevelRenderer", "groundSurfaceTile berhasil diekstrak dari (0,0).");
+            } else {
+                System.err.println("ERROR LevelRenderer: Tileset terlalu kecil untuk mengekstrak groundSurfaceTile dari (0,0). Dimensi tileset: " + groundTileset.getWidth() + "x" + groundTileset.getHeight());
+            }
+
+            if (groundTileset.getWidth() >= tileSetTileSize && groundTileset.getHeight() >= 2 * tileSetTileSize) {
+                groundBaseTile = groundTileset.getSubimage(0, 64, tileSetTileSize, tileSetTileSize);
+                if (Log.DEBUG) Log.debug("LevelRenderer", "groundBaseTile berhasil diekstrak dari (0,64).");
+            } else {
+                System.err.println("ERROR LevelRenderer: Tileset terlalu kecil untuk mengekstrak groundBaseTile dari (0,64). Dimensi tileset: " + groundTileset.getWidth() + "x" + groundTileset.getHeight());
+            }
+
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("ERROR LevelRenderer: Terjadi kesalahan saat memuat atau memotong gambar tileset_64x64(new).png.");
+            groundTileset = null;
+            groundSurfaceTile = null;
+            groundBaseTile = null;
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
+            System.err.println("ERROR LevelRenderer: Koordinat subimage tidak valid untuk tileset_64x64(new).png. Periksa dimensi sprite atau koordinat pemotongan.");
+            groundTileset = null;
+            groundSurfaceTile = null;
+            groundBaseTile = null;
+        }
+    }
+
+    /**
+     * Menandai chunk yang berisi kolom tertentu sebagai kotor (perlu dirender ulang).
+     */
+    @Override
+    public void tileChanged(int row, int col) {
+        int chunk = col / CHUNK_COLS;
+        int slot = chunk % LevelManager.WINDOW_CHUNKS;
+        if (slotChunk[slot] == chunk) {
+            chunkDirty[slot] = true;
+        }
+    }
+
+    /**
+     * Membuang seluruh cache chunk, misalnya setelah level dibuat ulang.
+     */
+    @Override
+    public void levelReset() {
+        Arrays.fill(slotChunk, -1);
+    }
+
+    /**
+     * Menggambar tile level di layar.
+     * Tile statis diambil dari cache chunk yang sudah dirender sebelumnya, sehingga biayanya
+     * sebanding dengan jumlah chunk yang terlihat, bukan ukuran dunia. Chunk dirender ulang hanya
+     * saat pertama terlihat di slotnya atau setelah diubah lewat {@link LevelManager#setTile(int, int, int)}.
+     * @param g Objek Graphics untuk menggambar (sudah ditranslasikan oleh kamera).
+     * @param cameraX Posisi kamera (sudah diinterpolasi) untuk frame ini.
+     * @param coinsCollected Jumlah koin yang sudah dikumpulkan, menentukan warna pintu keluar.
+     */
+    public void draw(Graphics g, int cameraX, int coinsCollected) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        int chunkWidth = CHUNK_COLS * world.tileSize;
+
+        int firstChunk = Math.max(level.getFirstLoadedChunk(), cameraX / chunkWidth);
+        int lastChunk = Math.min(level.getLastLoadedChunk(), (cameraX + world.screenWidth) / chunkWidth);
+
+        for (int chunk = firstChunk; chunk <= lastChunk; chunk++) {
+            int slot = chunk % LevelManager.WINDOW_CHUNKS;
+            if (slotChunk[slot] != chunk || chunkDirty[slot]) {
+                renderChunk(chunk, slot);
+            }
+            g2d.drawImage(chunkImages[slot], chunk * chunkWidth, 0, null);
+        }
+
+        // Tile dinamis (warna pintu keluar bergantung pada jumlah koin) digambar langsung,
+        // hanya untuk kolom yang terlihat.
+        int firstCol = Math.max(0, cameraX / world.tileSize);
+        int lastCol = Math.min(world.maxWorldCol - 1, (cameraX + world.screenWidth) / world.tileSize);
+        for (int row = 0; row < world.maxWorldRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                if (level.getTile(row, col) == LevelManager.TILE_EXIT) {
+                    if (coinsCollected < level.getCoinTarget()) {
+                        g2d.setColor(new Color(139, 69, 19, 150));
+                    } else {
+                        g2d.setColor(new Color(218, 165, 32));
+                    }
+                    g2d.fillRect(col * world.tileSize, row * world.tileSize, world.tileSize, world.tileSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merender semua tile statis dari satu chunk kolom ke gambar cache-nya.
+     * Tile ground diskalakan dari 64px ke ukuran tile di sini, bukan setiap frame.
+     */
+    private void renderChunk(int chunk, int slot) {
+        int chunkWidth = CHUNK_COLS * world.tileSize;
+        BufferedImage image = chunkImages[slot];
+        if (image == null) {
+            image = AssetCache.createCompatibleImage(chunkWidth, world.worldHeight, Transparency.TRANSLUCENT);
+            chunkImages[slot] = image;
+        }
+
+        Graphics2D g2d = image.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2d.setComposite(AlphaComposite.SrcOver);
+
+        // Aktifkan Rendering Hints untuk kualitas yang lebih baik pada gambar
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        int firstCol = chunk * CHUNK_COLS;
+        int lastCol = Math.min(world.maxWorldCol, firstCol + CHUNK_COLS);
+        g2d.translate(-firstCol * world.tileSize, 0);
+        for (int row = 0; row < world.maxWorldRow; row++) {
+            for (int col = firstCol; col < lastCol; col++) {
+                drawStaticTile(g2d, level.getTile(row, col), row, col);
+            }
+        }
+        g2d.dispose();
+        slotChunk[slot] = chunk;
+        chunkDirty[slot] = false;
+    }
+
+    /**
+     * Menggambar satu tile statis berdasarkan jenisnya.
+     */
+    private void drawStaticTile(Graphics2D g2d, int tileType, int row, int col) {
+        switch (tileType) {
+            case LevelManager.TILE_GROUND: // Ground/Platform
+                if (groundSurfaceTile != null && groundBaseTile != null) {
+                    int surfaceHeight = (int)(world.tileSize * 0.50);
+                    g2d.drawImage(groundSurfaceTile, col * world.tileSize, row * world.tileSize, world.tileSize, surfaceHeight, null);
+                    int baseHeight = world.tileSize - surfaceHeight;
+                    g2d.drawImage(groundBaseTile, col * world.tileSize, row * world.tileSize + surfaceHeight, world.tileSize, baseHeight, null);
+                } else {
+                    if (Log.WARN) Log.warn("LevelRenderer", "Gambar ground Surface/Base tile tidak dimuat. Menggambar fallback.");
+                    g2d.setColor(new Color(70, 120, 70));
+                    g2d.fillRect(col * world.tileSize, row * world.tileSize, world.tileSize, world.tileSize);
+                }
+                break;
+            case LevelManager.TILE_SPIKE: // Duri/Bahaya
+                g2d.setColor(Color.BLACK);
+                int[] xPoints = {col * world.tileSize, (col * world.tileSize) + (world.tileSize / 2), (col * world.tileSize) + world.tileSize};
+                int[] yPoints = {(row * world.tileSize) + world.tileSize, row * world.tileSize, (row * world.tileSize) + world.tileSize};
+                g2d.fillPolygon(xPoints, yPoints, 3);
+                break;
+            case LevelManager.TILE_COIN: // Koin
+                if (coinImage != null) {
+                    int coinSize = (int)(world.tileSize * 0.6);
+                    int offset = (world.tileSize - coinSize) / 2;
+                    g2d.drawImage(coinImage, col * world.tileSize + offset, row * world.tileSize + offset, coinSize, coinSize, null);
+                } else {
+                    if (Log.WARN) Log.warn("LevelRenderer", "Gambar koin (coinImage) tidak dimuat. Koin tidak akan terlihat.");
+                }
+                break;
+            case LevelManager.TILE_HEALTH: // Pengumpul Kesehatan
+                g2d.setColor(Color.RED);
+                int heartSize = (int)(world.tileSize * 0.7);
+                int offset = (world.tileSize - heartSize) / 2;
+                g2d.fillRect(col * world.tileSize + offset, row * world.tileSize + offset, heartSize, heartSize);
+                break;
+            case LevelManager.TILE_EXIT: // Keluar/Tujuan: digambar dinamis di draw()
+                break;
+            case LevelManager.TILE_MOVING_H: // Platform Bergerak Horizontal (placeholder)
+                // Moving Platforms digambar oleh MovingPlatform.java, bukan di sini
+                break;
+            case LevelManager.TILE_MOVING_V: // Platform Bergerak Vertikal (placeholder)
+                // Moving Platforms digambar oleh MovingPlatform.java, bukan di sini
+                break;
+            case LevelManager.TILE_DEATH_ZONE: // Lubang Kematian Instan (placeholder visual)
+                g2d.setColor(new Color(0, 0, 0, 200));
+                g2d.fillRect(col * world.tileSize, row * world.tileSize, world.tileSize, world.tileSize);
+                break;
+            case LevelManager.TILE_EMPTY: // Ruang kosong, tidak digambar apa-apa
+                break;
+            case LevelManager.TILE_BREAKABLE: // Blok yang bisa pecah (placeholder)
+                g2d.setColor(new Color(150, 100, 50));
+                g2d.fillRect(col * world.tileSize, row * world.tileSize, world.tileSize, world.tileSize);
+                break;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package game;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fasad logging kecil untuk jalur yang dipanggil setiap frame.
+ *
+ * Level dipilih sekali saat JVM dimulai lewat {@code -Dgame.log=debug|info|warn|error|off}
+ * (default: info) dan disimpan dalam konstanta static final. Pemanggil membungkus
+ * log dengan pengecekan konstanta, misalnya:
+ * <pre>
+ *     if (Log.DEBUG) Log.debug("Player", "Posisi X: " + x);
+ * </pre>
+ * sehingga ketika level tersebut mati, JIT membuang seluruh blok termasuk penggabungan string.
+ *
+ * Pesan tidak ditulis langsung ke stdout dari game thread. Pesan dimasukkan ke antrean tanpa lock
+ * berkapasitas tetap dan ditulis oleh thread daemon terpisah, yang dimulai sekali saat kelas ini
+ * dimuat. Jika antrean penuh, pesan dibuang (dan dihitung) alih-alih memblokir game thread. Pesan
+ * yang masih mengantre saat JVM berhenti ditulis oleh shutdown hook lewat {@link #flush()}.
+ */
+public final class Log {
+
+    public static final int LEVEL_DEBUG = 0;
+    public static final int LEVEL_INFO = 1;
+    public static final int LEVEL_WARN = 2;
+    public static final int LEVEL_ERROR = 3;
+    public static final int LEVEL_OFF = 4;
+
+    /** Level aktif, dibaca sekali dari {@code -Dgame.log}. */
+    public static final int LEVEL = parseLevel(System.getProperty("game.log", "info"));
+
+    public static final boolean DEBUG = LEVEL <= LEVEL_DEBUG;
+    public static final boolean INFO = LEVEL <= LEVEL_INFO;
+    public static final boolean WARN = LEVEL <= LEVEL_WARN;
+    public static final boolean ERROR = LEVEL <= LEVEL_ERROR;
+
+    private static final int BUFFER_CAPACITY = 4096;
+    private static final long IDLE_WAIT_NANOS = 10_000_000L; // Jeda thread penulis saat antrean kosong
+    private static final ConcurrentLinkedQueue<String> buffer = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger buffered = new AtomicInteger(); // Ukuran antrean; size() antrean itu O(n)
+    private static final AtomicLong dropped = new AtomicLong();
+    private static long reportedDrops = 0; // Hanya disentuh di bawah lock WRITE_LOCK
+    private static final Object WRITE_LOCK = new Object();
+
+    static {
+        Thread writerThread = new Thread(Log::drain, "game-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        // Thread penulis adalah daemon, jadi pesan yang belum ditulis saat keluar dikosongkan di sini
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "game-log-flush"));
+    }
+
+    private Log() {}
+
+    public static void debug(String tag, String message) {
+        if (DEBUG) enqueue("DEBUG " + tag + ": " + message);
+    }
+
+    public static void info(String tag, String message) {
+        if (INFO) enqueue("INFO " + tag + ": " + message);
+    }
+
+    public static void warn(String tag, String message) {
+        if (WARN) enqueue("WARNING " + tag + ": " + message);
+    }
+
+    public static void error(String tag, String message) {
+        if (ERROR) enqueue("ERROR " + tag + ": " + message);
+    }
+
+    /**
+     * @return Jumlah pesan yang dibuang karena ring buffer penuh.
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Menulis semua pesan yang masih mengantre di thread pemanggil. Dipanggil otomatis saat JVM
+     * berhenti; bisa juga dipanggil sebelum keluar agar pesan terakhir pasti terlihat.
+     */
+    public static void flush() {
+        String line;
+        while ((line = poll()) != null) {
+            write(line);
+        }
+    }
+
+    // Dipanggil dari game thread: hanya operasi atomik, tanpa lock
+    private static void enqueue(String line) {
+        if (buffered.incrementAndGet() > BUFFER_CAPACITY) {
+            buffered.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        buffer.offer(line);
+    }
+
+    private static String poll() {
+        String line = buffer.poll();
+        if (line != null) buffered.decrementAndGet();
+        return line;
+    }
+
+    /**
+     * Loop thread penulis: mengosongkan antrean ke stdout/stderr, lalu menunggu sebentar saat kosong
+     * agar game thread tidak perlu membangunkannya.
+     */
+    private static void drain() {
+        while (true) {
+            String line = poll();
+            if (line != null) {
+                write(line);
+            } else {
+                LockSupport.parkNanos(IDLE_WAIT_NANOS);
+            }
+        }
+    }
+
+    // Lock menjaga urutan baris saat thread penulis dan flush() berjalan bersamaan
+    private static void write(String line) {
+        synchronized (WRITE_LOCK) {
+            if (line.startsWith("WARNING") || line.startsWith("ERROR")) {
+                System.err.println(line);
+            } else {
+                System.out.println(line);
+            }
+
+            long drops = dropped.get();
+            if (drops != reportedDrops && buffered.get() == 0) {
+                System.err.println("WARNING Log: " + (drops - reportedDrops) + " pesan log dibuang karena buffer penuh.");
+                reportedDrops = drops;
+            }
+        }
+    }
+
+    private static int parseLevel(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "debug": return LEVEL_DEBUG;
+            case "info": return LEVEL_INFO;
+            case "warn":
+            case "warning": return LEVEL_WARN;
+            case "error": return LEVEL_ERROR;
+            case "off": return LEVEL_OFF;
+            default:
+                System.err.println("WARNING Log: Level log tidak dikenal: " + value + ". Menggunakan INFO.");
+                return LEVEL_INFO;
+        }
+    }
+}
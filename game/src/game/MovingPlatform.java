@@ -1,19 +1,14 @@
 package game;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
 import java.awt.image.BufferedImage; // Import untuk BufferedImage
-import javax.imageio.ImageIO;     // Import untuk ImageIO
-import java.io.InputStream;         // Import untuk InputStream
-import java.io.IOException;         // Import untuk IOException
-import java.awt.RenderingHints;     // Import untuk RenderingHints
 
 public class MovingPlatform {
 
-    private GamePanel gp;
+    private World world;
     public double x, y;
+    private double prevX, prevY; // Posisi pada tick sebelumnya, untuk interpolasi render
     // Mengubah width dan height menjadi public
     public int width;
     public int height;
@@ -30,7 +25,8 @@ public class MovingPlatform {
     }
     private PlatformType type;
 
-    private BufferedImage platformSprite; // Sprite untuk platform bergerak
+    private AssetCache.FrameSet platformSprite; // Sprite untuk platform bergerak (satu frame)
+    private final AABB bounds = new AABB(); // Dipakai ulang oleh getBounds()
 
     /**
      * Konstruktor untuk MovingPlatform.
@@ -39,33 +35,23 @@ public class MovingPlatform {
      * @param type Tipe platform (HORIZONTAL atau VERTICAL).
      * @param moveRange Jarak pergerakan platform dalam piksel.
      * @param speed Kecepatan pergerakan platform.
-     * @param gp Referensi ke GamePanel.
+     * @param world Dunia tempat entitas ini berada.
      */
-    public MovingPlatform(int x, int y, PlatformType type, int moveRange, double speed, GamePanel gp) {
+    public MovingPlatform(int x, int y, PlatformType type, int moveRange, double speed, World world) {
         this.x = x;
         this.y = y;
         this.startX = x;
         this.startY = y;
+        this.prevX = x;
+        this.prevY = y;
         this.type = type;
-        this.gp = gp;
+        this.world = world;
 
-        this.width = gp.tileSize;
-        this.height = gp.tileSize;
-
-        // Muat sprite platform
-        try {
-            InputStream is = getClass().getResourceAsStream("/res/Idle.png"); // Menggunakan Idle.png
-            if (is != null) {
-                platformSprite = ImageIO.read(is);
-                System.out.println("DEBUG MovingPlatform: Sprite Idle.png dimuat. Dimensi: " + platformSprite.getWidth() + "x" + platformSprite.getHeight());
-            } else {
-                System.err.println("ERROR MovingPlatform: Tidak dapat menemukan Idle.png untuk platform bergerak.");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("ERROR MovingPlatform: Gagal memuat atau membaca Idle.png.");
-        }
+        this.width = world.tileSize;
+        this.height = world.tileSize;
 
+        // Sprite platform dibagikan lewat AssetCache (Idle.png hanya di-decode sekali)
+        platformSprite = getSprite();
 
         if (type == PlatformType.HORIZONTAL) {
             this.velX = speed;
@@ -77,6 +63,8 @@ public class MovingPlatform {
     }
 
     public void update() {
+        prevX = x;
+        prevY = y;
         if (type == PlatformType.HORIZONTAL) {
             x += velX;
             if (movingRight) {
@@ -106,27 +94,47 @@ public class MovingPlatform {
         }
     }
 
-    public void draw(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g;
-        
-        // Aktifkan Rendering Hints untuk pixel art agar tidak blur
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-
-        if (platformSprite != null) {
-            g2d.drawImage(platformSprite, (int)x, (int)y, width, height, null);
-        } else {
+    /**
+     * Sprite platform: seluruh Idle.png sebagai satu frame.
+     */
+    static AssetCache.FrameSet getSprite() {
+        return AssetCache.getFrames(AssetCache.PLATFORM_FRAMES, "/res/Idle.png",
+                sheet -> sheet == null ? null : new BufferedImage[] { sheet });
+    }
+
+    /**
+     * Memuat sprite platform di awal agar ikut dikemas ke atlas sprite.
+     */
+    public static void preloadSprites() {
+        getSprite();
+    }
+
+    public void draw(SpriteBatch batch) {
+        int drawX = (int) batch.interpolate(prevX, x);
+        int drawY = (int) batch.interpolate(prevY, y);
+        if (!batch.isVisible(drawX, width)) return;
+
+        // Pixel art digambar tanpa filter agar tidak blur
+        batch.setSmooth(false);
+        if (!batch.draw(platformSprite, 0, drawX, drawY, width, height, false)) {
             // Fallback: Gambar kotak hijau jika sprite tidak dimuat
+            Graphics2D g2d = batch.graphics();
             g2d.setColor(new Color(0, 150, 0)); // Hijau gelap
-            g2d.fillRect((int)x, (int)y, width, height);
+            g2d.fillRect(drawX, drawY, width, height);
         }
     }
 
-    public Rectangle getBounds() {
-        return new Rectangle((int)x, (int)y, width, height);
+    /**
+     * Mengembalikan kotak batas platform. Objek yang dikembalikan dipakai ulang dan
+     * diperbarui pada setiap pemanggilan.
+     */
+    public AABB getBounds() {
+        return bounds.set((int)x, (int)y, width, height);
     }
 
+    /** @return Posisi X penanda platform di level, tempat gerakannya berawal. */
+    public int getStartX() { return startX; }
+
     public double getVelX() { return velX; }
     public double getVelY() { return velY; }
 }
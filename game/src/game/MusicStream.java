@@ -0,0 +1,182 @@
+package game;
+
+import javax.sound.sampled.AudioInputStream;
+import java.io.IOException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trek musik yang di-stream dari file dalam potongan kecil, bukan di-decode utuh ke memori.
+ *
+ * Thread streamer bersama ("game-music-streamer") membaca file ke ring buffer PCM berukuran tetap
+ * ({@link #RING_FRAMES} frame), dan {@link AudioMixer} membaca dari ring tersebut saat mencampur.
+ * Pemakaian memori tetap sama berapa pun panjang treknya, dan membuka trek hanya membaca header.
+ * Saat trek yang diulang mencapai akhir file, file dibuka lagi dan pengisian berlanjut ke ring
+ * yang sama, sehingga perulangan tidak memiliki jeda.
+ *
+ * Ring ini single-producer (thread streamer) / single-consumer (thread mixer).
+ */
+final class MusicStream {
+
+    static final int RING_FRAMES = 16384; // ~0,37 detik pada 44,1 kHz; harus pangkat dua
+    private static final int CHUNK_FRAMES = 2048;
+    private static final long STREAMER_SLEEP_MS = 10;
+
+    private static final CopyOnWriteArrayList<MusicStream> active = new CopyOnWriteArrayList<>();
+    private static Thread streamerThread;
+
+    final String path;
+    final boolean loop;
+    final int channels;
+    final float sampleRate;
+
+    private final short[] ring;
+    private final byte[] chunk;
+    private AudioInputStream input; // Hanya disentuh thread streamer setelah dibuka
+    private final AtomicLong written = new AtomicLong(); // Frame yang sudah ditulis ke ring
+    private final AtomicLong consumed = new AtomicLong(); // Frame yang sudah dipakai mixer
+    private volatile boolean ended = false; // Tidak ada data lagi (akhir file tanpa loop, atau error)
+    private volatile boolean released = false; // Mixer sudah selesai dengan stream ini
+
+    private MusicStream(String path, boolean loop, AudioInputStream input) {
+        this.path = path;
+        this.loop = loop;
+        this.input = input;
+        this.channels = input.getFormat().getChannels();
+        float rate = input.getFormat().getSampleRate();
+        this.sampleRate = rate > 0 ? rate : AudioMixer.SAMPLE_RATE;
+        this.ring = new short[RING_FRAMES * channels];
+        this.chunk = new byte[CHUNK_FRAMES * channels * 2];
+    }
+
+    /**
+     * Membuka trek dan mulai mengisi ring buffer di thread streamer.
+     * @return Stream baru, atau null jika file tidak bisa dibuka.
+     */
+    static MusicStream open(String path, boolean loop) {
+        AudioInputStream input = SoundBank.openPcm16(path);
+        if (input == null) return null;
+        MusicStream stream = new MusicStream(path, loop, input);
+        active.add(stream);
+        ensureStreamerStarted();
+        if (Log.DEBUG) Log.debug("MusicStream", "Streaming dimulai: " + path + (loop ? " (loop)" : ""));
+        return stream;
+    }
+
+    /** @return Jumlah frame yang sudah tersedia di ring (dihitung sejak awal stream). */
+    long available() {
+        return written.get();
+    }
+
+    /** @return True jika tidak akan ada frame baru lagi. */
+    boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Membaca satu sampel. {@code frame} harus berada di antara {@link #markConsumed} terakhir
+     * dan {@link #available()}.
+     */
+    short sample(long frame, int channel) {
+        return ring[(int) (frame & (RING_FRAMES - 1)) * channels + channel];
+    }
+
+    /** Memberi tahu streamer bahwa frame sebelum {@code frame} boleh ditimpa. */
+    void markConsumed(long frame) {
+        consumed.lazySet(frame);
+    }
+
+    /** Dipanggil mixer saat stream tidak dipakai lagi; file ditutup oleh thread streamer. */
+    void release() {
+        released = true;
+    }
+
+    private static synchronized void ensureStreamerStarted() {
+        if (streamerThread != null) return;
+        streamerThread = new Thread(MusicStream::runStreamer, "game-music-streamer");
+        streamerThread.setDaemon(true);
+        streamerThread.start();
+    }
+
+    private static void runStreamer() {
+        while (true) {
+            for (MusicStream stream : active) {
+                if (stream.released) {
+                    stream.closeInput();
+                    active.remove(stream);
+                } else if (!stream.ended) {
+                    stream.fill();
+                }
+            }
+            try {
+                Thread.sleep(STREAMER_SLEEP_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Mengisi ring sebanyak mungkin tanpa menimpa frame yang belum dipakai mixer.
+     */
+    private void fill() {
+        try {
+            boolean reopenedWithoutData = false;
+            while (written.get() - consumed.get() <= RING_FRAMES - CHUNK_FRAMES) {
+                int bytes = readChunk();
+                if (bytes <= 0) {
+                    if (!loop || reopenedWithoutData) {
+                        ended = true;
+                        closeInput();
+                        return;
+                    }
+                    // Akhir file: buka lagi dan lanjutkan mengisi ring yang sama agar loop tanpa jeda
+                    closeInput();
+                    input = SoundBank.openPcm16(path);
+                    if (input == null) {
+                        ended = true;
+                        return;
+                    }
+                    reopenedWithoutData = true;
+                    continue;
+                }
+                reopenedWithoutData = false;
+
+                int frames = bytes / (2 * channels);
+                long start = written.get();
+                for (int f = 0; f < frames; f++) {
+                    int dst = (int) ((start + f) & (RING_FRAMES - 1)) * channels;
+                    for (int c = 0; c < channels; c++) {
+                        int src = (f * channels + c) * 2;
+                        ring[dst + c] = (short) ((chunk[src] & 0xFF) | (chunk[src + 1] << 8));
+                    }
+                }
+                written.lazySet(start + frames);
+            }
+        } catch (IOException e) {
+            System.err.println("ERROR MusicStream: Terjadi masalah I/O saat streaming musik: " + path);
+            ended = true;
+            closeInput();
+        }
+    }
+
+    private int readChunk() throws IOException {
+        int total = 0;
+        while (total < chunk.length) {
+            int n = input.read(chunk, total, chunk.length - total);
+            if (n <= 0) break;
+            total += n;
+        }
+        return total - total % (2 * channels);
+    }
+
+    private void closeInput() {
+        if (input == null) return;
+        try {
+            input.close();
+        } catch (IOException ignored) {
+        }
+        input = null;
+    }
+}
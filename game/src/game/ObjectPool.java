@@ -0,0 +1,90 @@
+package game;
+
+import java.util.function.Supplier;
+
+/**
+ * Pool objek berkapasitas tetap untuk entitas yang sering dibuat dan dibuang.
+ *
+ * Paling banyak {@code capacity} instance akan pernah dibuat. Instance yang dikembalikan
+ * lewat {@link #release(Object)} disimpan di stack dan dipakai ulang oleh {@link #obtain()},
+ * sehingga siklus spawn/despawn tidak menghasilkan sampah untuk GC. Jika semua instance
+ * sedang dipakai, {@link #obtain()} mengembalikan null dan pemanggil harus melewatkan spawn.
+ *
+ * Pool ini tidak thread-safe; gunakan hanya dari game thread.
+ *
+ * @param <T> Tipe objek yang di-pool.
+ */
+public class ObjectPool<T> {
+
+    private final Supplier<T> factory;
+    private final Object[] free;
+    private int freeCount = 0;
+    private int created = 0;
+
+    /**
+     * @param capacity Jumlah maksimum instance yang boleh dibuat.
+     * @param factory Pembuat instance baru saat pool masih di bawah kapasitas.
+     */
+    public ObjectPool(int capacity, Supplier<T> factory) {
+        this.free = new Object[Math.max(0, capacity)];
+        this.factory = factory;
+    }
+
+    /**
+     * Mengisi pool di awal agar spawn pertama di tengah permainan tidak perlu membuat objek.
+     * @param count Jumlah instance yang dibuat sekarang (dibatasi kapasitas).
+     */
+    public void prewarm(int count) {
+        while (created < free.length && freeCount < count) {
+            free[freeCount++] = factory.get();
+            created++;
+        }
+    }
+
+    /**
+     * @return Instance yang siap di-reset, atau null jika pool sudah mencapai kapasitas.
+     */
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        if (freeCount > 0) {
+            T item = (T) free[--freeCount];
+            free[freeCount] = null;
+            return item;
+        }
+        if (created < free.length) {
+            created++;
+            return factory.get();
+        }
+        return null;
+    }
+
+    /**
+     * Mengembalikan instance ke pool. Instance tidak boleh dipakai lagi oleh pemanggil.
+     * Instance yang sudah ada di pool diabaikan, agar pengembalian ganda tidak membuat
+     * {@link #obtain()} memberikan objek yang sama dua kali.
+     */
+    public void release(T item) {
+        if (item == null) return;
+        // Pencarian linear cukup murah: kapasitas pool hanya puluhan hingga ratusan
+        for (int i = 0; i < freeCount; i++) {
+            if (free[i] == item) {
+                if (Log.WARN) Log.warn("ObjectPool", "Objek dikembalikan dua kali ke pool, diabaikan.");
+                return;
+            }
+        }
+        if (freeCount >= free.length) {
+            if (Log.WARN) Log.warn("ObjectPool", "Pool sudah penuh, objek yang bukan dari pool ini diabaikan.");
+            return;
+        }
+        free[freeCount++] = item;
+    }
+
+    /** @return Jumlah instance yang sedang dipakai (belum dikembalikan). */
+    public int getActiveCount() {
+        return created - freeCount;
+    }
+
+    public int getCapacity() {
+        return free.length;
+    }
+}
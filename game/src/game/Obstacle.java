@@ -1,21 +1,15 @@
 package game;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.InputStream;
-import java.io.IOException;
-import java.awt.RenderingHints;
 import java.util.ArrayList;
-import java.util.Random; // Import Random
 
 public class Obstacle {
 
-    private GamePanel gp;
+    private World world;
     public double x, y;
+    private double prevX, prevY; // Posisi pada tick sebelumnya, untuk interpolasi render
     public double velX, velY;
     private int width, height;
 
@@ -31,22 +25,19 @@ public class Obstacle {
     private double frequency = 0;
     private double angle = 0;
 
-    private BufferedImage rockSpriteSheet;
-    private BufferedImage[] rockFrames;
+    private AssetCache.FrameSet rockFrames;
     private int rockAnimationFrame = 0;
     private int rockAnimationTick = 0;
     private final int rockAnimationSpeed = 15;
 
-    private BufferedImage birdSpriteSheet;
-    private BufferedImage[] birdFlyingFrames;
+    private AssetCache.FrameSet birdFlyingFrames;
     private int birdAnimationFrame = 0;
     private int birdAnimationTick = 0;
     private final int birdAnimationSpeed = 8;
 
     // Aset Meriam
-    private BufferedImage cannonSpriteSheet;
-    private BufferedImage[] cannonIdleFrames;
-    private BufferedImage[] cannonFiringFrames;
+    private AssetCache.FrameSet cannonIdleFrames;
+    private AssetCache.FrameSet cannonFiringFrames;
     private int cannonAnimationFrame = 0;
     private int cannonAnimationTick = 0;
     private final int cannonIdleAnimationSpeed = 25;
@@ -59,92 +50,144 @@ public class Obstacle {
 
     private boolean isFiring = false;
 
-    private Random random = new Random(); // Untuk variasi burung/batu
 
+    private final AABB bounds = new AABB(); // Dipakai ulang oleh getBounds()
 
     /**
-     * Inner class untuk merepresentasikan proyektil meriam.
+     * Kelas untuk merepresentasikan proyektil meriam.
+     * Proyektil dipinjam dari pool milik ObstacleSpawner dan dikembalikan saat keluar layar
+     * atau mengenai pemain, sehingga satu instance bisa dipakai oleh meriam yang berbeda.
      */
-    public class Projectile {
+    public static class Projectile {
+        private final World world;
+        private Obstacle owner;
         public double projX, projY;
+        private double prevProjX, prevProjY;
         public double projVelX, projVelY;
         public int projWidth, projHeight;
+        private final AABB bounds = new AABB();
 
-        public Projectile(double startX, double startY, double targetVelX, double targetVelY) {
+        /**
+         * Membuat proyektil kosong untuk pool. Gunakan {@link #reset} sebelum dipakai.
+         */
+        Projectile(World world) {
+            this.world = world;
+        }
+
+        /**
+         * Menginisialisasi ulang proyektil yang diambil dari pool.
+         */
+        void reset(Obstacle owner, double startX, double startY, double targetVelX, double targetVelY) {
+            this.owner = owner;
             this.projX = startX;
             this.projY = startY;
+            this.prevProjX = startX;
+            this.prevProjY = startY;
             this.projVelX = targetVelX;
             this.projVelY = targetVelY;
-            this.projWidth = gp.tileSize / 2;
-            this.projHeight = gp.tileSize / 2;
+            this.projWidth = world.tileSize / 2;
+            this.projHeight = world.tileSize / 2;
         }
 
         public void update() {
+            prevProjX = projX;
+            prevProjY = projY;
             projX += projVelX;
             projY += projVelY;
         }
 
-        public void draw(Graphics g) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        public void draw(SpriteBatch batch) {
+            int drawX = (int) batch.interpolate(prevProjX, projX);
+            if (!batch.isVisible(drawX, projWidth)) return;
 
+            Graphics2D g2d = batch.graphics();
             g2d.setColor(Color.DARK_GRAY);
-            g2d.fillOval((int)projX, (int)projY, projWidth, projHeight);
+            g2d.fillOval(drawX, (int) batch.interpolate(prevProjY, projY), projWidth, projHeight);
+        }
+
+        /** Hitbox proyektil; objek yang dikembalikan dipakai ulang dan diperbarui pada setiap pemanggilan. */
+        public AABB getBounds() {
+            return bounds.set((int)projX, (int)projY, projWidth, projHeight);
         }
 
-        public Rectangle getBounds() {
-            return new Rectangle((int)projX, (int)projY, projWidth, projHeight);
+        /**
+         * @return Meriam yang menembakkan proyektil ini.
+         */
+        public Obstacle getOwner() {
+            return owner;
         }
 
         public boolean isOffScreen() {
-            return projX < gp.cameraX - projWidth || projX > gp.cameraX + gp.screenWidth + projWidth ||
-                   projY < -projHeight || projY > gp.worldHeight + projHeight;
+            return projX < world.cameraX - projWidth || projX > world.cameraX + world.screenWidth + projWidth ||
+                   projY < -projHeight || projY > world.worldHeight + projHeight;
         }
     }
 
 
     /**
-     * Konstruktor untuk membuat objek rintangan.
+     * Membuat rintangan kosong untuk pool. Gunakan {@link #reset} sebelum dipakai.
+     * @param world Dunia tempat entitas ini berada.
+     */
+    Obstacle(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Menginisialisasi ulang seluruh status rintangan, baik untuk instance baru maupun
+     * instance yang diambil kembali dari pool.
      * @param x Posisi X awal.
-     * @param y Posisi Y awal.
-     * @param type Tipe rintangan (BIRD, ROCK, atau CANNON).
-     * @param gp Referensi ke GamePanel.
-     * @param extraParams Opsional: [playerY saat spawn untuk burung, rockScale untuk batu]
+     * @param intY Posisi Y awal.
+     * @param type Tipe rintangan.
+     * @param hasExtraParam True jika {@code extraParam} diberikan.
+     * @param extraParam playerY saat spawn untuk burung, atau rockScale untuk batu.
      */
-    public Obstacle(int x, int intY, ObstacleType type, GamePanel gp, double... extraParams) { // Mengubah parameter
+    void reset(int x, int intY, ObstacleType type, boolean hasExtraParam, double extraParam) {
         this.x = x;
         this.y = intY;
         this.initialY = intY;
         this.type = type;
-        this.gp = gp;
+        this.velX = 0;
+        this.velY = 0;
+        this.amplitude = 0;
+        this.frequency = 0;
+        this.angle = 0;
+        this.rockAnimationFrame = 0;
+        this.rockAnimationTick = 0;
+        this.birdAnimationFrame = 0;
+        this.birdAnimationTick = 0;
+        this.cannonAnimationFrame = 0;
+        this.cannonAnimationTick = 0;
+        this.fireTimer = 0;
+        this.isFiring = false;
+        releaseProjectiles();
 
         if (type == ObstacleType.ROCK) {
-            loadRockSprite();
+            rockFrames = getRockFrames();
         } else if (type == ObstacleType.BIRD) {
-            loadBirdSprite();
+            birdFlyingFrames = getBirdFrames();
         } else if (type == ObstacleType.CANNON) {
-            loadCannonSprite();
+            cannonIdleFrames = getCannonIdleFrames();
+            cannonFiringFrames = getCannonFiringFrames();
         }
 
         switch (type) {
             case BIRD:
                 int originalBirdWidth = 32;
                 int originalBirdHeight = 22;
-                this.width = (int)(originalBirdWidth * gp.scale / 1.5);
-                this.height = (int)(originalBirdHeight * gp.scale / 1.5);
+                this.width = (int)(originalBirdWidth * world.scale / 1.5);
+                this.height = (int)(originalBirdHeight * world.scale / 1.5);
 
                 this.velX = -4; // Kecepatan burung ditingkatkan
-                this.amplitude = gp.tileSize / 4;
+                this.amplitude = world.tileSize / 4;
                 this.frequency = 0.05;
 
                 // Burung lebih pintar: target Y pemain saat spawn
-                if (extraParams.length > 0) {
-                    double playerY = extraParams[0];
+                if (hasExtraParam) {
+                    double playerY = extraParam;
                     // Atur initialY burung agar sedikit di atas/bawah playerY
-                    this.initialY = playerY + (random.nextBoolean() ? 1 : -1) * (random.nextInt(gp.tileSize / 2));
+                    this.initialY = playerY + (world.random.nextBoolean() ? 1 : -1) * (world.random.nextInt(world.tileSize / 2));
                     // Pastikan tidak terlalu tinggi atau terlalu rendah
-                    this.initialY = Math.max(gp.tileSize, Math.min(gp.worldHeight - gp.tileSize * 2, this.initialY));
+                    this.initialY = Math.max(world.tileSize, Math.min(world.worldHeight - world.tileSize * 2, this.initialY));
                 }
                 break;
             case ROCK:
@@ -152,12 +195,12 @@ public class Obstacle {
                 int originalRockHeight = 52;
                 
                 double rockScale = 1.0; // Default scale
-                if (extraParams.length > 0) {
-                    rockScale = extraParams[0]; // Gunakan scale dari parameter
+                if (hasExtraParam) {
+                    rockScale = extraParam; // Gunakan scale dari parameter
                 }
                 // Variasi ukuran batu
-                this.width = (int)(originalRockWidth * gp.scale / 3.0 * rockScale);
-                this.height = (int)(originalRockHeight * gp.scale / 3.0 * rockScale);
+                this.width = (int)(originalRockWidth * world.scale / 3.0 * rockScale);
+                this.height = (int)(originalRockHeight * world.scale / 3.0 * rockScale);
                 
                 this.velY = 5;
                 this.velX = 0;
@@ -165,190 +208,122 @@ public class Obstacle {
             case CANNON:
                 int originalCannonWidth = 32;
                 int originalCannonHeight = 32;
-                this.width = (int)(originalCannonWidth * gp.scale / 1.0);
-                this.height = (int)(originalCannonHeight * gp.scale / 1.0);
+                this.width = (int)(originalCannonWidth * world.scale / 1.0);
+                this.height = (int)(originalCannonHeight * world.scale / 1.0);
 
                 this.velX = 0;
                 this.velY = 0;
                 this.fireTimer = FIRE_INTERVAL;
-                this.y -= (this.height - gp.tileSize);
+                this.y -= (this.height - world.tileSize);
                 break;
         }
+        this.prevX = this.x;
+        this.prevY = this.y;
     }
 
     /**
-     * Memuat lembar sprite untuk rintangan ROCK dan mengekstrak frame animasi.
+     * Memuat set frame bersama untuk rintangan ROCK dari Blink (54x52).png.
+     * Lembar sprite hanya di-decode dan dipotong sekali untuk seluruh proses.
      */
-    private void loadRockSprite() {
-        try {
-            InputStream is = getClass().getResourceAsStream("/res/Blink (54x52).png");
-            if (is != null) {
-                rockSpriteSheet = ImageIO.read(is);
-                System.out.println("DEBUG Obstacle: rockSpriteSheet (Blink (54x52).png) dimuat. Dimensi: " + rockSpriteSheet.getWidth() + "x" + rockSpriteSheet.getHeight());
-                int frameWidth = 54;
-                int frameHeight = 52;
-                rockFrames = new BufferedImage[4];
-                for (int i = 0; i < 4; i++) {
-                    if (rockSpriteSheet.getWidth() >= (i + 1) * frameWidth && rockSpriteSheet.getHeight() >= frameHeight) {
-                        rockFrames[i] = rockSpriteSheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-                        System.out.println("DEBUG Obstacle: rockFrame[" + i + "] berhasil diekstrak.");
-                    } else {
-                        System.err.println("WARNING Obstacle: Tidak cukup frame ditemukan di Blink (54x52).png untuk animasi batu, frame " + i + ". Ukuran SpriteSheet: " + rockSpriteSheet.getWidth() + "x" + rockSpriteSheet.getHeight() + ". Diperlukan: " + ((i + 1) * frameWidth) + "x" + frameHeight);
-                        rockFrames[i] = null;
-                    }
+    static AssetCache.FrameSet getRockFrames() {
+        return AssetCache.getFrames(AssetCache.ROCK_FRAMES, "/res/Blink (54x52).png", sheet -> {
+            if (sheet == null) return null;
+            int frameWidth = 54;
+            int frameHeight = 52;
+            BufferedImage[] frames = new BufferedImage[4];
+            for (int i = 0; i < 4; i++) {
+                if (sheet.getWidth() >= (i + 1) * frameWidth && sheet.getHeight() >= frameHeight) {
+                    frames[i] = sheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
+                } else {
+                    System.err.println("WARNING Obstacle: Tidak cukup frame ditemukan di Blink (54x52).png untuk animasi batu, frame " + i + ". Ukuran SpriteSheet: " + sheet.getWidth() + "x" + sheet.getHeight() + ". Diperlukan: " + ((i + 1) * frameWidth) + "x" + frameHeight);
                 }
-            } else {
-                System.err.println("ERROR Obstacle: Tidak dapat menemukan Blink (54x52).png untuk rintangan batu. Pastikan file ada di 'res/'.");
-                rockSpriteSheet = null;
-                rockFrames = new BufferedImage[0];
             }
-        }
-        catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Obstacle: Gagal memuat atau membaca Blink (54x52).png untuk rintangan batu.");
-            rockSpriteSheet = null;
-            rockFrames = new BufferedImage[0];
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Obstacle: Koordinat subimage tidak valid untuk Blink (54x52).png. Periksa dimensi sprite.");
-            rockSpriteSheet = null;
-            rockFrames = new BufferedImage[0];
-        }
+            return frames;
+        });
     }
 
     /**
-     * Memuat lembar sprite untuk rintangan BIRD dan mengekstrak frame animasi terbang.
+     * Memuat set frame bersama untuk animasi terbang BIRD dari bird_flying_anim_strip_3.png.
      */
-    private void loadBirdSprite() {
-        try {
-            InputStream is = getClass().getResourceAsStream("/res/bird_flying_anim_strip_3.png");
-            if (is != null) {
-                birdSpriteSheet = ImageIO.read(is);
-                System.out.println("DEBUG Obstacle: birdSpriteSheet (bird_flying_anim_strip_3.png) dimuat. Dimensi: " + birdSpriteSheet.getWidth() + "x" + birdSpriteSheet.getHeight());
-                
-                int frameCount = 3;
-                int calculatedFrameWidth = birdSpriteSheet.getWidth() / frameCount;
-                int calculatedFrameHeight = birdSpriteSheet.getHeight();
-
-                this.width = (int)(calculatedFrameWidth * gp.scale / 1.5);
-                this.height = (int)(calculatedFrameHeight * gp.scale / 1.5);
-
-                birdFlyingFrames = new BufferedImage[frameCount];
-                for (int i = 0; i < frameCount; i++) {
-                    if (birdSpriteSheet.getWidth() >= (i + 1) * calculatedFrameWidth && birdSpriteSheet.getHeight() >= calculatedFrameHeight) {
-                        birdFlyingFrames[i] = birdSpriteSheet.getSubimage(i * calculatedFrameWidth, 0, calculatedFrameWidth, calculatedFrameHeight);
-                        System.out.println("DEBUG Obstacle: birdFlyingFrames[" + i + "] berhasil diekstrak (W:" + calculatedFrameWidth + ", H:" + calculatedFrameHeight + ").");
-                    } else {
-                        System.err.println("WARNING Obstacle: Tidak cukup frame ditemukan di bird_flying_anim_strip_3.png untuk animasi burung, frame " + i + ". Ukuran SpriteSheet: " + birdSpriteSheet.getWidth() + "x" + birdSpriteSheet.getHeight() + ". Diperlukan: " + ((i + 1) * calculatedFrameWidth) + "x" + calculatedFrameHeight);
-                        birdFlyingFrames[i] = null;
-                    }
-                }
-            } else {
-                System.err.println("ERROR Obstacle: Tidak dapat menemukan bird_flying_anim_strip_3.png untuk rintangan burung. Pastikan file ada di 'res/'.");
-                birdSpriteSheet = null;
-                birdFlyingFrames = new BufferedImage[0];
+    static AssetCache.FrameSet getBirdFrames() {
+        return AssetCache.getFrames(AssetCache.BIRD_FRAMES, "/res/bird_flying_anim_strip_3.png", sheet -> {
+            if (sheet == null) return null;
+            int frameCount = 3;
+            int calculatedFrameWidth = sheet.getWidth() / frameCount;
+            int calculatedFrameHeight = sheet.getHeight();
+            BufferedImage[] frames = new BufferedImage[frameCount];
+            for (int i = 0; i < frameCount; i++) {
+                frames[i] = sheet.getSubimage(i * calculatedFrameWidth, 0, calculatedFrameWidth, calculatedFrameHeight);
             }
-        }
-        catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Obstacle: Gagal memuat atau membaca bird_flying_anim_strip_3.png untuk rintangan burung.");
-            birdSpriteSheet = null;
-            birdFlyingFrames = new BufferedImage[0];
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Obstacle: Koordinat subimage tidak valid untuk bird_flying_anim_strip_3.png. Periksa dimensi sprite.");
-            birdSpriteSheet = null;
-            birdFlyingFrames = new BufferedImage[0];
-        }
+            return frames;
+        });
     }
 
     /**
-     * Memuat lembar sprite untuk CANNON dari cannon_spritesheet.png.
+     * Memuat set frame idle meriam (2 frame, baris 1) dari cannon_spritesheet.png.
      */
-    private void loadCannonSprite() {
-        try {
-            InputStream is = getClass().getResourceAsStream("/res/cannon_spritesheet.png");
-            if (is != null) {
-                cannonSpriteSheet = ImageIO.read(is);
-                System.out.println("DEBUG Obstacle: cannonSpriteSheet (cannon_spritesheet.png) dimuat. Dimensi: " + cannonSpriteSheet.getWidth() + "x" + cannonSpriteSheet.getHeight());
-                
-                int frameWidth = 32; // Asumsi lebar frame 32px
-                int frameHeight = 32; // Asumsi tinggi frame 32px
-
-                // Inisialisasi frame arrays, default ke array kosong jika ada masalah loading
-                cannonIdleFrames = new BufferedImage[0];
-                cannonFiringFrames = new BufferedImage[0];
-
-                // --- Pengecekan dimensi minimum yang lebih ketat ---
-                int expectedWidthForFiring = (4 + 7) * frameWidth; // Kolom 4 (indeks) + 7 frame = 11 kolom * 32px = 352px
-                int expectedHeightForFiring = 2 * frameHeight + frameHeight; // Baris 3 (indeks 2) + 1 baris frame = 3 baris * 32px = 96px
-                
-                if (cannonSpriteSheet.getWidth() < expectedWidthForFiring || cannonSpriteSheet.getHeight() < expectedHeightForFiring) {
-                    System.err.println("ERROR Obstacle: cannon_spritesheet.png terlalu kecil. Diperlukan minimal " + expectedWidthForFiring + "x" + expectedHeightForFiring + ". Dimensi saat ini: " + cannonSpriteSheet.getWidth() + "x" + cannonSpriteSheet.getHeight());
-                    cannonSpriteSheet = null; // Set null agar fallback digambar
-                    return;
-                }
-
-                // Cannon Idle (2 frames, baris 1, frame 0 & 1)
-                cannonIdleFrames = new BufferedImage[2];
-                if (cannonSpriteSheet.getWidth() >= 2 * frameWidth && cannonSpriteSheet.getHeight() >= frameHeight) {
-                    cannonIdleFrames[0] = cannonSpriteSheet.getSubimage(0 * frameWidth, 0, frameWidth, frameHeight);
-                    cannonIdleFrames[1] = cannonSpriteSheet.getSubimage(1 * frameWidth, 0, frameWidth, frameHeight);
-                    System.out.println("DEBUG Obstacle: cannonIdleFrames berhasil diekstrak (Pos: 0,0 dan 32,0).");
-                } else {
-                    System.err.println("WARNING Obstacle: Tidak cukup frame untuk cannonIdleFrames. SpriteSheet: " + cannonSpriteSheet.getWidth() + "x" + cannonSpriteSheet.getHeight());
-                    cannonIdleFrames = new BufferedImage[0];
-                }
-                
-                // Cannon Firing (7 frames, baris 3 (indeks 2), mulai dari kolom 5 (indeks 4))
-                cannonFiringFrames = new BufferedImage[7]; // 7 frames untuk menembak
-                for (int i = 0; i < 7; i++) {
-                    int srcX = (4 + i) * frameWidth; // Dimulai dari kolom ke-5 (indeks 4)
-                    int srcY = 2 * frameHeight; // Baris ke-3 (indeks 2)
-                    if (cannonSpriteSheet.getWidth() >= srcX + frameWidth && cannonSpriteSheet.getHeight() >= srcY + frameHeight) {
-                         cannonFiringFrames[i] = cannonSpriteSheet.getSubimage(srcX, srcY, frameWidth, frameHeight);
-                         System.out.println("DEBUG Obstacle: cannonFiringFrames[" + i + "] diekstrak dari (" + srcX + "," + srcY + ").");
-                    } else {
-                        System.err.println("WARNING Obstacle: Tidak cukup frame di cannon_spritesheet.png untuk menembak, frame " + i + ". Dimensi SpriteSheet: " + cannonSpriteSheet.getWidth() + "x" + cannonSpriteSheet.getHeight() + ". Diperlukan: " + (srcX + frameWidth) + "x" + (srcY + frameHeight));
-                        cannonFiringFrames[i] = null;
-                    }
-                }
+    static AssetCache.FrameSet getCannonIdleFrames() {
+        return AssetCache.getFrames(AssetCache.CANNON_IDLE_FRAMES, "/res/cannon_spritesheet.png", sheet -> {
+            if (!isCannonSheetValid(sheet)) return null;
+            int frameSize = 32;
+            return new BufferedImage[] {
+                sheet.getSubimage(0 * frameSize, 0, frameSize, frameSize),
+                sheet.getSubimage(1 * frameSize, 0, frameSize, frameSize)
+            };
+        });
+    }
 
-            } else {
-                System.err.println("ERROR Obstacle: Tidak dapat menemukan cannon_spritesheet.png untuk meriam. Pastikan file ada di 'res/'.");
-                cannonSpriteSheet = null;
-                cannonIdleFrames = new BufferedImage[0];
-                cannonFiringFrames = new BufferedImage[0];
+    /**
+     * Memuat set frame menembak meriam (7 frame, baris 3 (indeks 2), mulai dari kolom 5 (indeks 4)).
+     */
+    static AssetCache.FrameSet getCannonFiringFrames() {
+        return AssetCache.getFrames(AssetCache.CANNON_FIRING_FRAMES, "/res/cannon_spritesheet.png", sheet -> {
+            if (!isCannonSheetValid(sheet)) return null;
+            int frameSize = 32;
+            BufferedImage[] frames = new BufferedImage[7];
+            for (int i = 0; i < 7; i++) {
+                frames[i] = sheet.getSubimage((4 + i) * frameSize, 2 * frameSize, frameSize, frameSize);
             }
+            return frames;
+        });
+    }
+
+    private static boolean isCannonSheetValid(BufferedImage sheet) {
+        if (sheet == null) return false;
+        int expectedWidthForFiring = (4 + 7) * 32; // Kolom 4 (indeks) + 7 frame = 11 kolom * 32px = 352px
+        int expectedHeightForFiring = 3 * 32; // Baris 3 (indeks 2) + 1 baris frame = 3 baris * 32px = 96px
+        if (sheet.getWidth() < expectedWidthForFiring || sheet.getHeight() < expectedHeightForFiring) {
+            System.err.println("ERROR Obstacle: cannon_spritesheet.png terlalu kecil. Diperlukan minimal " + expectedWidthForFiring + "x" + expectedHeightForFiring + ". Dimensi saat ini: " + sheet.getWidth() + "x" + sheet.getHeight());
+            return false;
         }
-        catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Obstacle: Gagal memuat atau membaca cannon_spritesheet.png.");
-            cannonSpriteSheet = null;
-            cannonIdleFrames = new BufferedImage[0];
-            cannonFiringFrames = new BufferedImage[0];
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Obstacle: Koordinat subimage tidak valid untuk cannon_spritesheet.png. Periksa dimensi sprite.");
-            cannonSpriteSheet = null;
-            cannonIdleFrames = new BufferedImage[0];
-            cannonFiringFrames = new BufferedImage[0];
-        }
+        return true;
     }
 
+    /**
+     * Memuat semua set frame rintangan di awal, agar rintangan pertama yang muncul
+     * di tengah permainan tidak perlu men-decode lembar sprite.
+     */
+    public static void preloadSprites() {
+        getRockFrames();
+        getBirdFrames();
+        getCannonIdleFrames();
+        getCannonFiringFrames();
+    }
 
     public void update() {
+        prevX = x;
+        prevY = y;
         switch (type) {
             case BIRD:
                 x += velX;
                 angle += frequency;
-                y = initialY + Math.sin(angle) * amplitude;
-                if (birdFlyingFrames != null && birdFlyingFrames.length > 0) {
+                y = initialY + StrictMath.sin(angle) * amplitude; // StrictMath: hasil sama persis di setiap JVM
+                if (birdFlyingFrames != null && birdFlyingFrames.size() > 0) {
                     birdAnimationTick++;
                     if (birdAnimationTick >= birdAnimationSpeed) {
                         birdAnimationTick = 0;
                         birdAnimationFrame++;
-                        if (birdAnimationFrame >= birdFlyingFrames.length) {
+                        if (birdAnimationFrame >= birdFlyingFrames.size()) {
                             birdAnimationFrame = 0;
                         }
                     }
@@ -356,12 +331,12 @@ public class Obstacle {
                 break;
             case ROCK:
                 y += velY;
-                if (rockFrames != null && rockFrames.length > 0) {
+                if (rockFrames != null && rockFrames.size() > 0) {
                     rockAnimationTick++;
                     if (rockAnimationTick >= rockAnimationSpeed) {
                         rockAnimationTick = 0;
                         rockAnimationFrame++;
-                        if (rockAnimationFrame >= rockFrames.length) {
+                        if (rockAnimationFrame >= rockFrames.size()) {
                             rockAnimationFrame = 0;
                         }
                     }
@@ -370,15 +345,18 @@ public class Obstacle {
             case CANNON:
                 fireTimer--;
                 if (fireTimer <= 0) {
-                    if (cannonFiringFrames != null && cannonFiringFrames.length > 0 && !isFiring) {
-                        projectiles.add(new Projectile(this.x + this.width * 0.1, this.y + this.height * 0.4, -PROJECTILE_SPEED, 0));
+                    if (cannonFiringFrames != null && cannonFiringFrames.size() > 0 && !isFiring) {
+                        Projectile projectile = world.obstacleSpawner.spawnProjectile(this, this.x + this.width * 0.1, this.y + this.height * 0.4, -PROJECTILE_SPEED, 0);
+                        if (projectile != null) { // null jika pool proyektil sudah mencapai batas
+                            projectiles.add(projectile);
+                        }
                         fireTimer = FIRE_INTERVAL;
                         isFiring = true;
                         cannonAnimationFrame = 0;
                         cannonAnimationTick = 0;
-                        System.out.println("DEBUG Obstacle Cannon: Proyektil ditembakkan. isFiring: true, cannonAnimationFrame: " + cannonAnimationFrame);
-                    } else if (cannonFiringFrames == null || cannonFiringFrames.length == 0) {
-                        System.err.println("WARNING Obstacle Cannon: Tidak dapat menembak proyektil karena cannonFiringFrames tidak valid. Menunda penembakan.");
+                        if (Log.DEBUG) Log.debug("Obstacle Cannon", "Proyektil ditembakkan. isFiring: true, cannonAnimationFrame: " + cannonAnimationFrame);
+                    } else if (cannonFiringFrames == null || cannonFiringFrames.size() == 0) {
+                        if (Log.WARN) Log.warn("Obstacle Cannon", "Tidak dapat menembak proyektil karena cannonFiringFrames tidak valid. Menunda penembakan.");
                         fireTimer = FIRE_INTERVAL / 2;
                     }
                 }
@@ -388,8 +366,8 @@ public class Obstacle {
                     if (cannonAnimationTick >= cannonFiringAnimationSpeed) {
                         cannonAnimationTick = 0;
                         cannonAnimationFrame++;
-                        if (cannonAnimationFrame >= cannonFiringFrames.length) {
-                            System.out.println("DEBUG Obstacle Cannon: Animasi menembak selesai. Kembali ke idle.");
+                        if (cannonAnimationFrame >= cannonFiringFrames.size()) {
+                            if (Log.DEBUG) Log.debug("Obstacle Cannon", "Animasi menembak selesai. Kembali ke idle.");
                             isFiring = false;
                             cannonAnimationFrame = 0;
                             cannonAnimationTick = 0;
@@ -400,107 +378,107 @@ public class Obstacle {
                     if (cannonAnimationTick >= cannonIdleAnimationSpeed) {
                         cannonAnimationTick = 0;
                         cannonAnimationFrame++;
-                        if (cannonAnimationFrame >= cannonIdleFrames.length) {
+                        if (cannonAnimationFrame >= cannonIdleFrames.size()) {
                             cannonAnimationFrame = 0;
                         }
                     }
                 }
 
-                projectiles.removeIf(p -> p.isOffScreen());
-                for (Projectile p : projectiles) {
-                    p.update();
+                for (int i = projectiles.size() - 1; i >= 0; i--) {
+                    if (projectiles.get(i).isOffScreen()) {
+                        world.obstacleSpawner.releaseProjectile(projectiles.remove(i));
+                    }
+                }
+                for (int i = 0; i < projectiles.size(); i++) {
+                    projectiles.get(i).update();
                 }
                 break;
         }
     }
 
-    public void draw(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g.create();
+    public void draw(SpriteBatch batch) {
+        int drawX = (int) batch.interpolate(prevX, x);
+        int drawY = (int) batch.interpolate(prevY, y);
 
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        if (batch.isVisible(drawX, width)) {
+            drawBody(batch, drawX, drawY);
+        }
+        // Proyektil meriam di-cull sendiri-sendiri; bisa terlihat walau meriamnya di luar layar
+        if (type == ObstacleType.CANNON) {
+            for (int i = 0; i < projectiles.size(); i++) {
+                projectiles.get(i).draw(batch);
+            }
+        }
+    }
 
+    private void drawBody(SpriteBatch batch, int drawX, int drawY) {
+        batch.setSmooth(false);
+        Graphics2D g2d = batch.graphics();
         switch (type) {
             case BIRD:
-                if (birdFlyingFrames != null && birdFlyingFrames.length > 0 && birdAnimationFrame < birdFlyingFrames.length && birdFlyingFrames[birdAnimationFrame] != null) {
-                    if (velX > 0) {
-                        g2d.translate(x + width, y);
-                        g2d.scale(-1, 1);
-                        g2d.drawImage(birdFlyingFrames[birdAnimationFrame], 0, 0, width, height, null);
-                    } else {
-                        g2d.drawImage(birdFlyingFrames[birdAnimationFrame], (int)x, (int)y, width, height, null);
-                    }
-                } else {
-                    System.err.println("WARNING Obstacle: Sprite burung tidak dapat digambar (null atau frame tidak valid). Menggambar fallback.");
+                if (!batch.draw(birdFlyingFrames, birdAnimationFrame, drawX, drawY, width, height, velX > 0)) {
+                    if (Log.WARN) Log.warn("Obstacle", "Sprite burung tidak dapat digambar (null atau frame tidak valid). Menggambar fallback.");
                     g2d.setColor(new Color(150, 0, 150));
-                    g2d.fillRect((int)x, (int)y, width, height);
+                    g2d.fillRect(drawX, drawY, width, height);
                 }
                 break;
             case ROCK:
-                if (rockFrames != null && rockFrames.length > 0 && rockAnimationFrame < rockFrames.length && rockAnimationFrame != -1 && rockFrames[rockAnimationFrame] != null) {
-                    g2d.drawImage(rockFrames[rockAnimationFrame], (int)x, (int)y, width, height, null);
-                } else {
-                    System.err.println("WARNING Obstacle: Sprite batu tidak dapat digambar (null atau frame tidak valid). Menggambar fallback.");
+                if (!batch.draw(rockFrames, rockAnimationFrame, drawX, drawY, width, height, false)) {
+                    if (Log.WARN) Log.warn("Obstacle", "Sprite batu tidak dapat digambar (null atau frame tidak valid). Menggambar fallback.");
                     g2d.setColor(new Color(80, 80, 80));
-                    g2d.fillOval((int)x, (int)y, width, height);
+                    g2d.fillOval(drawX, drawY, width, height);
                 }
                 break;
             case CANNON:
-                BufferedImage currentCannonFrame = null;
-                String debugAnimState = "None";
-
-                if (isFiring) {
-                    if (cannonFiringFrames != null && cannonFiringFrames.length > 0 && cannonAnimationFrame < cannonFiringFrames.length && cannonFiringFrames[cannonAnimationFrame] != null) {
-                        currentCannonFrame = cannonFiringFrames[cannonAnimationFrame];
-                        debugAnimState = "Firing";
-                    }
-                } else {
-                    if (cannonIdleFrames != null && cannonIdleFrames.length > 0 && cannonAnimationFrame < cannonIdleFrames.length && cannonIdleFrames[cannonAnimationFrame] != null) {
-                        currentCannonFrame = cannonIdleFrames[cannonAnimationFrame];
-                        debugAnimState = "Idle";
-                    }
-                }
-
-                if (currentCannonFrame != null) {
-                    g2d.drawImage(currentCannonFrame, (int)x, (int)y, width, height, null);
-                } else {
-                    System.err.println("WARNING Obstacle: Sprite meriam tidak dapat digambar (status: " + debugAnimState + ", frameIndex: " + cannonAnimationFrame + ", isFiring: " + isFiring + "). Menggambar fallback.");
+                AssetCache.FrameSet cannonFrames = isFiring ? cannonFiringFrames : cannonIdleFrames;
+                if (!batch.draw(cannonFrames, cannonAnimationFrame, drawX, drawY, width, height, false)) {
+                    String debugAnimState = isFiring ? "Firing" : "Idle";
+                    if (Log.WARN) Log.warn("Obstacle", "Sprite meriam tidak dapat digambar (status: " + debugAnimState + ", frameIndex: " + cannonAnimationFrame + ", isFiring: " + isFiring + "). Menggambar fallback.");
                     g2d.setColor(new Color(50, 50, 50));
-                    g2d.fillRect((int)x, (int)y, width, height);
-                }
-
-                for (Projectile p : projectiles) {
-                    p.draw(g2d);
+                    g2d.fillRect(drawX, drawY, width, height);
                 }
                 break;
         }
-        g2d.dispose();
     }
 
-    public Rectangle getBounds() {
+    /**
+     * Mengembalikan hitbox rintangan. Objek yang dikembalikan dipakai ulang dan
+     * diperbarui pada setiap pemanggilan.
+     */
+    public AABB getBounds() {
         if (type == ObstacleType.BIRD) {
             int hitboxWidth = (int)(width * 0.75);
             int hitboxHeight = (int)(height * 0.75);
             int hitboxX = (int)x + (width - hitboxWidth) / 2;
             int hitboxY = (int)y + (height - hitboxHeight) / 2;
-            return new Rectangle(hitboxX, hitboxY, hitboxWidth, hitboxHeight);
+            return bounds.set(hitboxX, hitboxY, hitboxWidth, hitboxHeight);
         } else if (type == ObstacleType.CANNON) {
             int hitboxWidth = (int)(width * 0.8);
             int hitboxHeight = (int)(height * 0.8);
             int hitboxX = (int)x + (width - hitboxWidth) / 2;
             int hitboxY = (int)y + (height - hitboxHeight);
-            return new Rectangle(hitboxX, hitboxY, hitboxWidth, hitboxHeight);
+            return bounds.set(hitboxX, hitboxY, hitboxWidth, hitboxHeight);
+        }
+        return bounds.set((int)x, (int)y, width, height);
+    }
+
+    /**
+     * Mengembalikan semua proyektil milik meriam ini ke pool.
+     */
+    void releaseProjectiles() {
+        for (int i = 0; i < projectiles.size(); i++) {
+            world.obstacleSpawner.releaseProjectile(projectiles.get(i));
         }
-        return new Rectangle((int)x, (int)y, width, height);
+        projectiles.clear();
     }
 
     public boolean isOffScreen() {
         if (type == ObstacleType.BIRD) {
-            return x + width < gp.cameraX - width;
+            // Burung dengan velX positif terbang ke kanan dan hilang setelah melewati bagian dunia yang dimuat
+            return x + width < world.cameraX - width || x > world.levelManager.getLoadedMaxX();
         }
         else if (type == ObstacleType.ROCK) {
-            return y > gp.worldHeight;
+            return y > world.worldHeight;
         }
         return false;
     }
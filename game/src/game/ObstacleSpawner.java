@@ -0,0 +1,92 @@
+package game;
+
+/**
+ * Titik tunggal untuk memunculkan dan membuang rintangan serta proyektil meriam.
+ *
+ * Batu, burung, dan proyektil diambil dari {@link ObjectPool} dan di-reset, bukan dibuat baru,
+ * sehingga mode dengan laju spawn tinggi tidak membebani heap. Jumlah maksimum yang aktif
+ * bersamaan diatur lewat {@code -Dgame.pool.obstacles} dan {@code -Dgame.pool.projectiles};
+ * spawn yang melebihi batas akan dilewati.
+ */
+public class ObstacleSpawner {
+
+    private final World world;
+    private final ObjectPool<Obstacle> obstaclePool;
+    private final ObjectPool<Obstacle.Projectile> projectilePool;
+
+    public ObstacleSpawner(World world) {
+        this.world = world;
+        this.obstaclePool = new ObjectPool<>(GameSettings.OBSTACLE_POOL_SIZE, () -> new Obstacle(world));
+        this.projectilePool = new ObjectPool<>(GameSettings.PROJECTILE_POOL_SIZE, () -> new Obstacle.Projectile(world));
+        obstaclePool.prewarm(16);
+        projectilePool.prewarm(16);
+    }
+
+    /**
+     * Memunculkan batu jatuh.
+     * @return Batu yang siap dipakai, atau null jika pool sudah penuh.
+     */
+    public Obstacle spawnRock(int x, int y, double rockScale) {
+        Obstacle rock = obstaclePool.obtain();
+        if (rock != null) {
+            rock.reset(x, y, Obstacle.ObstacleType.ROCK, true, rockScale);
+        }
+        return rock;
+    }
+
+    /**
+     * Memunculkan burung yang terbang mengarah ke ketinggian pemain.
+     * @return Burung yang siap dipakai, atau null jika pool sudah penuh.
+     */
+    public Obstacle spawnBird(int x, int y, double playerY) {
+        Obstacle bird = obstaclePool.obtain();
+        if (bird != null) {
+            bird.reset(x, y, Obstacle.ObstacleType.BIRD, true, playerY);
+        }
+        return bird;
+    }
+
+    /**
+     * Memunculkan meriam statis.
+     * @return Meriam yang siap dipakai, atau null jika pool sudah penuh.
+     */
+    public Obstacle spawnCannon(int x, int y) {
+        Obstacle cannon = obstaclePool.obtain();
+        if (cannon != null) {
+            cannon.reset(x, y, Obstacle.ObstacleType.CANNON, false, 0);
+        }
+        return cannon;
+    }
+
+    /**
+     * Mengambil proyektil dari pool untuk meriam {@code owner}.
+     * @return Proyektil yang siap dipakai, atau null jika pool sudah penuh.
+     */
+    public Obstacle.Projectile spawnProjectile(Obstacle owner, double x, double y, double velX, double velY) {
+        Obstacle.Projectile projectile = projectilePool.obtain();
+        if (projectile != null) {
+            projectile.reset(owner, x, y, velX, velY);
+        }
+        return projectile;
+    }
+
+    /**
+     * Mengembalikan rintangan (beserta proyektilnya, jika meriam) ke pool.
+     */
+    public void release(Obstacle obstacle) {
+        obstacle.releaseProjectiles();
+        obstaclePool.release(obstacle);
+    }
+
+    public void releaseProjectile(Obstacle.Projectile projectile) {
+        projectilePool.release(projectile);
+    }
+
+    public int getActiveObstacleCount() {
+        return obstaclePool.getActiveCount();
+    }
+
+    public int getActiveProjectileCount() {
+        return projectilePool.getActiveCount();
+    }
+}
@@ -0,0 +1,150 @@
+package game;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kompositor latar belakang paralaks.
+ *
+ * Setiap lapisan diskalakan satu kali ke ukuran layar saat dibuat. Lapisan bersebelahan
+ * dengan faktor paralaks yang sama digabung menjadi satu strip, dan lapisan statis
+ * (faktor 0.0) di bagian bawah tumpukan digabung ke satu gambar dasar yang buram (opaque).
+ * Setiap strip diulang (wrap-around) dengan dua blit tanpa skala.
+ *
+ * Hasil komposisi disimpan di satu buffer seukuran layar (VolatileImage jika ada layar, agar
+ * komposisi ulang juga diakselerasi). Buffer hanya dikomposisi ulang jika posisi kamera
+ * menghasilkan offset strip yang berbeda dari frame sebelumnya atau isi VRAM-nya hilang;
+ * jika tidak, menggambar latar belakang cukup satu blit buram.
+ */
+public class ParallaxBackground {
+
+    private final int width, height;
+    private final BufferedImage base; // Warna dasar + semua lapisan statis di bawah tumpukan
+    private final BufferedImage[] strips; // Gabungan lapisan bergerak, urut dari belakang ke depan
+    private final double[] stripFactors;
+    private final int[] stripOffsets;
+    private final GraphicsConfiguration gc; // null dalam mode headless
+    private Image composite;
+    private boolean compositeValid = false;
+
+    /**
+     * @param layers Lapisan dari belakang ke depan; elemen null dilewati.
+     * @param factors Faktor paralaks per lapisan (0.0 = diam, 1.0 = bergerak bersama kamera).
+     * @param width Lebar layar dalam piksel.
+     * @param height Tinggi layar dalam piksel.
+     * @param fill Warna di bawah semua lapisan.
+     */
+    public ParallaxBackground(BufferedImage[] layers, double[] factors, int width, int height, Color fill) {
+        this.width = width;
+        this.height = height;
+        this.gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+
+        base = AssetCache.createCompatibleImage(width, height, Transparency.OPAQUE);
+        Graphics2D bg = base.createGraphics();
+        bg.setColor(fill);
+        bg.fillRect(0, 0, width, height);
+
+        List<BufferedImage> stripList = new ArrayList<>();
+        List<Double> factorList = new ArrayList<>();
+        Graphics2D sg = null;
+        boolean inBase = true;
+        for (int i = 0; i < layers.length; i++) {
+            BufferedImage layer = layers[i];
+            if (layer == null) continue;
+            double factor = factors[i];
+
+            if (inBase && factor == 0.0) {
+                bg.drawImage(layer, 0, 0, width, height, null);
+                continue;
+            }
+            inBase = false;
+
+            if (stripList.isEmpty() || factorList.get(factorList.size() - 1) != factor) {
+                if (sg != null) sg.dispose();
+                BufferedImage strip = AssetCache.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+                stripList.add(strip);
+                factorList.add(factor);
+                sg = strip.createGraphics();
+            }
+            sg.drawImage(layer, 0, 0, width, height, null);
+        }
+        if (sg != null) sg.dispose();
+        bg.dispose();
+
+        strips = stripList.toArray(new BufferedImage[0]);
+        stripFactors = new double[strips.length];
+        for (int i = 0; i < strips.length; i++) {
+            stripFactors[i] = factorList.get(i);
+        }
+        stripOffsets = new int[strips.length];
+
+        if (Log.DEBUG) Log.debug("ParallaxBackground", layers.length + " lapisan digabung menjadi 1 gambar dasar dan " + strips.length + " strip.");
+    }
+
+    /**
+     * Menggambar latar belakang untuk posisi kamera tertentu di (0, 0) layar.
+     */
+    public void draw(Graphics2D g2d, int cameraX) {
+        validateComposite();
+        boolean dirty = !compositeValid;
+        for (int i = 0; i < strips.length; i++) {
+            int parallaxX = (int) (cameraX * stripFactors[i]);
+            int offset = -(parallaxX % width);
+            if (offset != stripOffsets[i]) {
+                stripOffsets[i] = offset;
+                dirty = true;
+            }
+        }
+
+        if (dirty) {
+            Graphics2D cg = (Graphics2D) composite.getGraphics();
+            cg.setComposite(AlphaComposite.Src);
+            cg.drawImage(base, 0, 0, null);
+            cg.setComposite(AlphaComposite.SrcOver);
+            for (int i = 0; i < strips.length; i++) {
+                int offset = stripOffsets[i];
+                cg.drawImage(strips[i], offset, 0, null);
+                cg.drawImage(strips[i], offset + width, 0, null);
+            }
+            cg.dispose();
+            compositeValid = true;
+        }
+
+        g2d.drawImage(composite, 0, 0, null);
+        if (composite instanceof VolatileImage && ((VolatileImage) composite).contentsLost()) {
+            compositeValid = false;
+        }
+    }
+
+    /**
+     * Memastikan buffer komposisi ada dan masih berlaku. VolatileImage yang dibuat ulang
+     * atau dipulihkan setelah isinya hilang harus dikomposisi ulang.
+     */
+    private void validateComposite() {
+        if (gc == null) {
+            if (composite == null) {
+                composite = AssetCache.createCompatibleImage(width, height, Transparency.OPAQUE);
+            }
+            return;
+        }
+        VolatileImage image = (VolatileImage) composite;
+        int status = image == null ? VolatileImage.IMAGE_INCOMPATIBLE : image.validate(gc);
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (image != null) image.flush();
+            composite = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+            compositeValid = false;
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            compositeValid = false;
+        }
+    }
+}
@@ -1,19 +1,15 @@
 package game;
 
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.InputStream;
-import java.io.IOException;
 import java.util.ArrayList; // Import untuk ArrayList
 
 public class Player {
 
-    private GamePanel gp; // Referensi ke GamePanel
+    private World world; // Dunia tempat pemain berada
     public double x, y; // Posisi pemain (floating point untuk pergerakan yang lebih halus)
+    private double prevX, prevY; // Posisi pada tick sebelumnya, untuk interpolasi render
     private double velX = 0; // Kecepatan horizontal pemain
     public double velY = 0; // Kecepatan vertikal pemain
     public int width; // Diubah dari private menjadi public
@@ -23,12 +19,14 @@ public class Player {
     private final double gravity = 0.8; // Gravitasi yang diterapkan setiap frame
     public boolean onGround = false; // Diubah dari private menjadi public
     private String direction = "right"; // Arah hadap pemain ("left" atau "right")
-    private BufferedImage spriteSheet; // Gambar lembar sprite penuh
-    private BufferedImage[] idleFrames, walkFrames; // Array untuk menyimpan frame animasi
+    private static final String SPRITE_SHEET_PATH = "/res/AnimationSheet_Character.png";
+    private static final int SPRITE_WIDTH = 16; // Lebar satu frame di lembar sprite
+    private static final int SPRITE_HEIGHT = 28; // Tinggi satu frame di lembar sprite
+    private AssetCache.FrameSet idleFrames, walkFrames; // Set frame animasi bersama dari AssetCache
     private int animationFrame = 0; // Frame animasi saat ini
     private int animationTick = 0; // Penghitung untuk mengontrol kecepatan animasi
     private final int animationSpeed = 8; // Berapa banyak tick game sebelum frame animasi berikutnya
-    private BufferedImage[] previousAnimation = null; // Untuk mendeteksi perubahan animasi dan mereset frame
+    private AssetCache.FrameSet previousAnimation = null; // Untuk mendeteksi perubahan animasi dan mereset frame
 
     public int health;
     private boolean invincible = false; // True jika pemain sementara tidak bisa diserang setelah menerima damage
@@ -47,9 +45,12 @@ public class Player {
     // Referensi ke platform bergerak saat ini (jika pemain berdiri di atasnya)
     private MovingPlatform currentMovingPlatform = null;
 
+    // Kotak batas yang dipakai ulang oleh getBounds() agar update tidak mengalokasikan objek
+    private final AABB bounds = new AABB();
 
-    public Player(GamePanel gp) {
-        this.gp = gp;
+
+    public Player(World world) {
+        this.world = world;
         fullReset(); // Menginisialisasi status pemain
         loadSprite(); // Memuat gambar sprite pemain
     }
@@ -70,8 +71,8 @@ public class Player {
      * Karakter pemain secara visual akan berskala dengan kesehatan.
      */
     private void updateSize() {
-        double baseWidth = 16 * gp.scale;
-        double baseHeight = 28 * gp.scale;
+        double baseWidth = 16 * world.scale;
+        double baseHeight = 28 * world.scale;
         double scaleFactor = 0.5 + (double)health / MAX_HEALTH * 0.5;
         width = (int)(baseWidth * scaleFactor);
         height = (int)(baseHeight * scaleFactor);
@@ -82,8 +83,17 @@ public class Player {
      * Dipanggil saat memulai game baru atau restart.
      */
     public void fullReset() {
-        x = gp.tileSize * 2;
-        y = gp.tileSize * 11;
+        fullReset(world.tileSize * 2, world.tileSize * 11);
+    }
+
+    /**
+     * Seperti {@link #fullReset()}, dengan posisi awal dari tabel spawn level.
+     */
+    public void fullReset(double startX, double startY) {
+        x = startX;
+        y = startY;
+        prevX = x;
+        prevY = y;
         velX = 0;
         velY = 0;
         health = MAX_HEALTH;
@@ -130,26 +140,27 @@ public class Player {
      */
     public void requestJump() {
         if (onGround || coyoteTimeCounter > 0) {
-            gp.soundManager.playSoundEffect("res/jump.wav");
+            world.playSound(SoundManager.SFX_JUMP, world.panAt(x + width / 2.0));
             velY = jumpStrength;
             onGround = false;
             jumpBufferTimer = 0;
             coyoteTimeCounter = 0;
             currentMovingPlatform = null;
-            System.out.println("DEBUG Player: Lompat berhasil! velY: " + velY + ", onGround: " + onGround + (onGround ? " (Langsung)" : " (Dari Coyote Time)"));
+            if (Log.DEBUG) Log.debug("Player", "Lompat berhasil! velY: " + velY + ", onGround: " + onGround + (onGround ? " (Langsung)" : " (Dari Coyote Time)"));
         } else {
             jumpBufferTimer = JUMP_BUFFER_DURATION;
-            System.out.println("DEBUG Player: Gagal melompat (tidak di tanah), jumpBuffer diaktifkan: " + jumpBufferTimer + ". onGround: " + onGround + ", velY: " + velY);
+            if (Log.DEBUG) Log.debug("Player", "Gagal melompat (tidak di tanah), jumpBuffer diaktifkan: " + jumpBufferTimer + ". onGround: " + onGround + ", velY: " + velY);
         }
     }
 
 
     /**
      * Mengembalikan kotak batas tabrakan pemain.
-     * @return Sebuah Rectangle yang merepresentasikan posisi dan dimensi pemain saat ini.
+     * Objek yang dikembalikan dipakai ulang dan diperbarui pada setiap pemanggilan.
+     * @return AABB yang merepresentasikan posisi dan dimensi pemain saat ini.
      */
-    public Rectangle getBounds() {
-        return new Rectangle((int)x, (int)y, width, height);
+    public AABB getBounds() {
+        return bounds.set((int)x, (int)y, width, height);
     }
 
     /**
@@ -161,76 +172,68 @@ public class Player {
     }
 
     /**
-     * Memuat lembar sprite pemain dari sumber daya dan mengekstrak frame animasi.
-     * Menyediakan fallback jika lembar sprite tidak dapat dimuat atau tidak valid.
+     * Memuat frame animasi pemain dari AnimationSheet_Character.png lewat AssetCache.
+     * Jika lembar sprite tidak ada atau terlalu kecil, set frame kosong dan pemain digambar sebagai kotak.
      */
     private void loadSprite() {
-        try {
-            InputStream is = getClass().getResourceAsStream("/res/AnimationSheet_Character.png");
-            if (is != null) {
-                spriteSheet = ImageIO.read(is);
-                System.out.println("DEBUG Player: Lembar sprite pemain berhasil dimuat. Dimensi: " + spriteSheet.getWidth() + "x" + spriteSheet.getHeight());
-            } else {
-                System.err.println("ERROR Player: Lembar sprite pemain tidak ditemukan di /res/AnimationSheet_Character.png. Menggunakan kotak default.");
-                spriteSheet = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
-                Graphics2D g2 = spriteSheet.createGraphics();
-                g2.setColor(Color.BLUE);
-                g2.fillRect(0, 0, 100, 100);
-                g2.dispose();
-            }
-
-            int spriteWidth = 16;
-            int spriteHeight = 28;
+        idleFrames = getIdleFrames();
+        walkFrames = getWalkFrames();
+    }
 
-            if (spriteSheet != null && spriteSheet.getWidth() >= 168 + spriteWidth && spriteSheet.getHeight() >= 161 + spriteHeight) {
-                idleFrames = new BufferedImage[2];
-                walkFrames = new BufferedImage[6];
+    /**
+     * Memuat frame pemain di awal agar ikut dikemas ke atlas sprite.
+     */
+    public static void preloadSprites() {
+        getIdleFrames();
+        getWalkFrames();
+    }
 
-                idleFrames[0] = spriteSheet.getSubimage(8, 5, spriteWidth, spriteHeight);
-                idleFrames[1] = spriteSheet.getSubimage(40, 5, spriteWidth, spriteHeight);
-                System.out.println("DEBUG Player: Idle frames berhasil diekstrak.");
+    static AssetCache.FrameSet getIdleFrames() {
+        return AssetCache.getFrames(AssetCache.PLAYER_IDLE_FRAMES, SPRITE_SHEET_PATH, sheet -> {
+            if (!isSpriteSheetValid(sheet)) return null;
+            return new BufferedImage[] {
+                sheet.getSubimage(8, 5, SPRITE_WIDTH, SPRITE_HEIGHT),
+                sheet.getSubimage(40, 5, SPRITE_WIDTH, SPRITE_HEIGHT)
+            };
+        });
+    }
 
-                walkFrames[0] = spriteSheet.getSubimage(8, 69, spriteWidth, spriteHeight);
-                walkFrames[1] = spriteSheet.getSubimage(40, 69, spriteWidth, spriteHeight);
-                walkFrames[2] = spriteSheet.getSubimage(72, 69, spriteWidth, spriteHeight);
-                walkFrames[3] = spriteSheet.getSubimage(104, 69, spriteWidth, spriteHeight);
-                walkFrames[4] = spriteSheet.getSubimage(136, 69, spriteWidth, spriteHeight);
-                walkFrames[5] = spriteSheet.getSubimage(168, 69, spriteWidth, spriteHeight);
-                System.out.println("DEBUG Player: Walk frames berhasil diekstrak.");
-            } else {
-                System.err.println("ERROR Player: Lembar sprite pemain null atau terlalu kecil untuk ekstraksi subimage. Menginisialisasi frame animasi kosong.");
-                idleFrames = new BufferedImage[0];
-                walkFrames = new BufferedImage[0];
+    static AssetCache.FrameSet getWalkFrames() {
+        return AssetCache.getFrames(AssetCache.PLAYER_WALK_FRAMES, SPRITE_SHEET_PATH, sheet -> {
+            if (!isSpriteSheetValid(sheet)) return null;
+            BufferedImage[] frames = new BufferedImage[6];
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = sheet.getSubimage(8 + i * 32, 69, SPRITE_WIDTH, SPRITE_HEIGHT);
             }
+            return frames;
+        });
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Player: Membaca gambar lembar sprite pemain gagal. Menggunakan kotak default dan frame animasi kosong.");
-            spriteSheet = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = spriteSheet.createGraphics();
-            g2.setColor(Color.BLUE);
-            g2.fillRect(0, 0, 100, 100);
-            g2.dispose();
-            idleFrames = new BufferedImage[0];
-            walkFrames = new BufferedImage[0];
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-            System.err.println("ERROR Player: Koordinat subimage tidak valid. Pastikan lembar sprite dan koordinat benar.");
-            idleFrames = new BufferedImage[0];
-            walkFrames = new BufferedImage[0];
+    private static boolean isSpriteSheetValid(BufferedImage sheet) {
+        if (sheet == null) {
+            System.err.println("ERROR Player: Lembar sprite pemain tidak ditemukan di " + SPRITE_SHEET_PATH + ". Menggunakan kotak default.");
+            return false;
         }
+        if (sheet.getWidth() < 168 + SPRITE_WIDTH || sheet.getHeight() < 161 + SPRITE_HEIGHT) {
+            System.err.println("ERROR Player: Lembar sprite pemain terlalu kecil untuk ekstraksi subimage. Menginisialisasi frame animasi kosong.");
+            return false;
+        }
+        return true;
     }
 
     /**
      * Memperbarui status pemain, termasuk pergerakan, gravitasi, tabrakan, dan animasi.
-     * @param levelMap Array 2D yang merepresentasikan level game.
+     * @param level Peta tile level (chunk yang sedang dimuat).
      * @param tileSize Ukuran satu tile dalam piksel.
      * @param jumpPressed True jika tombol lompat ditekan.
      * @param leftPressed True jika tombol gerakan kiri ditekan.
      * @param rightPressed True jika tombol gerakan kanan ditekan.
      * @param movingPlatforms Daftar platform bergerak di level.
      */
-    public void update(int[][] levelMap, int tileSize, boolean jumpPressed, boolean leftPressed, boolean rightPressed, ArrayList<MovingPlatform> movingPlatforms) {
+    public void update(LevelManager level, int tileSize, boolean jumpPressed, boolean leftPressed, boolean rightPressed, ArrayList<MovingPlatform> movingPlatforms) {
+        prevX = x;
+        prevY = y;
+
         if (invincible) {
             invincibleCounter--;
             if (invincibleCounter <= 0) {
@@ -246,15 +249,17 @@ public class Player {
         // Pastikan currentMovingPlatform masih solid (tidak null dan pemain masih di atasnya)
         if (onGround && currentMovingPlatform != null) {
             // Cek apakah pemain masih berinteraksi dengan platform bergerak
-            Rectangle playerFeetBounds = new Rectangle((int)x + width/4, (int)y + height - 5, width/2, 5); // Area kaki pemain
-            if (playerFeetBounds.intersects(currentMovingPlatform.getBounds())) {
+            AABB platformBounds = currentMovingPlatform.getBounds();
+            // Area kaki pemain
+            if (AABB.intersects((int)x + width/4, (int)y + height - 5, width/2, 5,
+                    platformBounds.x, platformBounds.y, platformBounds.width, platformBounds.height)) {
                 x += currentMovingPlatform.getVelX();
                 y += currentMovingPlatform.getVelY();
-                System.out.println("DEBUG Player Update: Bergerak bersama MovingPlatform. Player X: " + x + ", Y: " + y);
+                if (Log.DEBUG) Log.debug("Player Update", "Bergerak bersama MovingPlatform. Player X: " + x + ", Y: " + y);
             } else {
                 currentMovingPlatform = null; // Pemain sudah tidak di platform ini
                 onGround = false; // Set onGround menjadi false agar gravitasi bekerja
-                System.out.println("DEBUG Player Update: Terjatuh dari MovingPlatform.");
+                if (Log.DEBUG) Log.debug("Player Update", "Terjatuh dari MovingPlatform.");
             }
         }
 
@@ -271,75 +276,76 @@ public class Player {
         if (jumpBufferTimer > 0) {
             jumpBufferTimer--;
             if (onGround) {
-                gp.soundManager.playSoundEffect("res/jump.wav");
+                world.playSound(SoundManager.SFX_JUMP, world.panAt(x + width / 2.0));
                 velY = jumpStrength;
                 onGround = false;
                 jumpBufferTimer = 0;
                 coyoteTimeCounter = 0;
                 currentMovingPlatform = null;
-                System.out.println("DEBUG Player: Lompat berhasil (dari buffer)! velY: " + velY + ", onGround: " + onGround);
+                if (Log.DEBUG) Log.debug("Player", "Lompat berhasil (dari buffer)! velY: " + velY + ", onGround: " + onGround);
             }
         }
 
         // Panggil handleCollisions dengan movingPlatforms
-        move(levelMap, tileSize, movingPlatforms);
+        move(level, tileSize, movingPlatforms);
         updateAnimationTick(leftPressed, rightPressed);
-        System.out.println("DEBUG Player Update: Posisi X: " + x + ", Y: " + y + ", velY: " + velY + ", onGround: " + onGround + ", JumpBuffer: " + jumpBufferTimer + ", CoyoteTime: " + coyoteTimeCounter);
+        if (Log.DEBUG) Log.debug("Player Update", "Posisi X: " + x + ", Y: " + y + ", velY: " + velY + ", onGround: " + onGround + ", JumpBuffer: " + jumpBufferTimer + ", CoyoteTime: " + coyoteTimeCounter);
     }
 
     /**
      * Applies horizontal and vertical movement and handles collisions with level tiles and moving platforms.
-     * @param levelMap The 2D array representing the game level.
+     * @param level The level tiles (currently loaded chunks).
      * @param tileSize The size of a single tile in pixels.
      * @param movingPlatforms List of active moving platforms.
      */
-    private void move(int[][] levelMap, int tileSize, ArrayList<MovingPlatform> movingPlatforms) {
+    private void move(LevelManager level, int tileSize, ArrayList<MovingPlatform> movingPlatforms) {
         x += velX;
-        handleCollisions(levelMap, tileSize, 'x', movingPlatforms); // Pass movingPlatforms
+        handleCollisions(level, tileSize, 'x', movingPlatforms); // Pass movingPlatforms
 
         y += velY;
-        handleCollisions(levelMap, tileSize, 'y', movingPlatforms); // Pass movingPlatforms
+        handleCollisions(level, tileSize, 'y', movingPlatforms); // Pass movingPlatforms
     }
 
     /**
      * Handles collisions between the player and level tiles for a given axis, including moving platforms.
-     * @param levelMap The 2D array representing the game level.
+     * @param level The level tiles (currently loaded chunks).
      * @param tileSize The size of a single tile in pixels.
      * @param axis The axis to check collision for ('x' or 'y').
      * @param movingPlatforms List of active moving platforms.
      */
-    private void handleCollisions(int[][] levelMap, int tileSize, char axis, ArrayList<MovingPlatform> movingPlatforms) {
+    private void handleCollisions(LevelManager level, int tileSize, char axis, ArrayList<MovingPlatform> movingPlatforms) {
         boolean wasOnGroundBeforeCollisionCheck = onGround;
         if (axis == 'y') {
             onGround = false; // Asumsikan tidak di tanah di awal pemeriksaan tabrakan vertikal
             currentMovingPlatform = null; // Reset platform saat ini untuk setiap cek Y-axis
         }
 
-        Rectangle playerBounds = getBounds();
+        AABB playerBounds = getBounds();
 
-        int startCol = Math.max(0, (int) (playerBounds.getX() / tileSize) - 1);
-        int endCol = Math.min(gp.maxWorldCol - 1, (int) ((playerBounds.getX() + playerBounds.getWidth()) / tileSize) + 1);
-        int startRow = Math.max(0, (int) (playerBounds.getY() / tileSize) - 1);
-        int endRow = Math.min(gp.maxWorldRow - 1, (int) ((playerBounds.getY() + playerBounds.getHeight()) / tileSize) + 1);
+        int startCol = Math.max(0, playerBounds.x / tileSize - 1);
+        int endCol = Math.min(world.maxWorldCol - 1, (playerBounds.x + playerBounds.width) / tileSize + 1);
+        int startRow = Math.max(0, playerBounds.y / tileSize - 1);
+        int endRow = Math.min(world.maxWorldRow - 1, (playerBounds.y + playerBounds.height) / tileSize + 1);
 
         // --- Cek tabrakan dengan Moving Platforms terlebih dahulu ---
         if (axis == 'y') {
-            for (MovingPlatform platform : movingPlatforms) {
-                Rectangle platformBounds = platform.getBounds();
+            for (int i = 0; i < movingPlatforms.size(); i++) {
+                MovingPlatform platform = movingPlatforms.get(i);
+                AABB platformBounds = platform.getBounds();
                 if (playerBounds.intersects(platformBounds)) {
                     // Cek jika pemain mendarat di atas platform bergerak
                     // Player velY > 0 (jatuh) atau mendekati 0. Tambahkan toleransi yang lebih besar.
-                    if (velY >= 0 && (playerBounds.getMaxY() <= platformBounds.getMinY() + (velY + 8))) { // Toleransi pendaratan yang lebih besar (misal 8 piksel)
+                    if (velY >= 0 && (playerBounds.getMaxY() <= platformBounds.y + (velY + 8))) { // Toleransi pendaratan yang lebih besar (misal 8 piksel)
                         y = platformBounds.y - height; // Atur posisi pemain tepat di atas platform
                         velY = 0;
                         onGround = true;
                         currentMovingPlatform = platform; // Tandai platform ini sebagai pijakan
-                        System.out.println("DEBUG Player Collision: Mendarat di MovingPlatform di X:" + platform.x + ", Y:" + platform.y + ", tol: " + (velY + 8));
+                        if (Log.DEBUG) Log.debug("Player Collision", "Mendarat di MovingPlatform di X:" + platform.x + ", Y:" + platform.y + ", tol: " + (velY + 8));
                         return; // Penting: Kembali setelah tabrakan platform karena posisi sudah diatur
-                    } else if (velY < 0 && playerBounds.getMinY() <= platformBounds.getMaxY()) { // Membentur bagian bawah platform
+                    } else if (velY < 0 && playerBounds.y <= platformBounds.getMaxY()) { // Membentur bagian bawah platform
                         y = platformBounds.y + platform.height;
                         velY = 0;
-                        System.out.println("DEBUG Player Collision: Membentur bagian bawah MovingPlatform di X:" + platform.x + ", Y:" + platform.y);
+                        if (Log.DEBUG) Log.debug("Player Collision", "Membentur bagian bawah MovingPlatform di X:" + platform.x + ", Y:" + platform.y);
                         return;
                     }
                 }
@@ -349,55 +355,47 @@ public class Player {
         // --- Kemudian, cek tabrakan dengan tile statis level map ---
         for (int row = startRow; row <= endRow; row++) {
             for (int col = startCol; col <= endCol; col++) {
-                if (row < 0 || row >= gp.maxWorldRow || col < 0 || col >= gp.maxWorldCol) {
-                    continue;
-                }
-
-                int tileType = levelMap[row][col];
+                int tileType = level.tileAt(row, col); // Baris dan kolom sudah dibatasi di atas
+                int flags = TileRegistry.flags(tileType);
 
-                // Lewati tile yang tidak solid atau sudah ditangani di GamePanel (seperti DEATH_ZONE)
-                if (tileType == LevelManager.TILE_EMPTY || 
-                    tileType == LevelManager.TILE_COIN || 
-                    tileType == LevelManager.TILE_HEALTH || 
-                    tileType == LevelManager.TILE_EXIT || 
-                    tileType == LevelManager.TILE_DEATH_ZONE ||
-                    tileType == LevelManager.TILE_MOVING_H || // Sudah ditangani di atas
-                    tileType == LevelManager.TILE_MOVING_V) continue; // Sudah ditangani di atas
+                // Lewati tile yang tidak menahan atau melukai; koin, pintu keluar, dan lubang kematian ditangani di World
+                if ((flags & (TileRegistry.SOLID | TileRegistry.DAMAGING)) == 0) continue;
 
-                Rectangle tileBounds = new Rectangle(col * tileSize, row * tileSize, tileSize, tileSize);
+                int tileX = col * tileSize;
+                int tileY = row * tileSize;
 
-                if (playerBounds.intersects(tileBounds)) {
-                    if (tileType == LevelManager.TILE_SPIKE) {
+                if (playerBounds.intersects(tileX, tileY, tileSize, tileSize)) {
+                    if ((flags & TileRegistry.DAMAGING) != 0) {
                         takeDamage();
                         return;
                     }
                     if (axis == 'x') {
                         if (velX > 0) {
-                            x = tileBounds.x - width;
-                            System.out.println("DEBUG Player Collision: Tabrakan horizontal (kanan) di tile [" + row + "," + col + "] Tipe: " + tileType + ". velX direset ke 0. Pemain di X: " + x);
+                            x = tileX - width;
+                            if (Log.DEBUG) Log.debug("Player Collision", "Tabrakan horizontal (kanan) di tile [" + row + "," + col + "] Tipe: " + tileType + ". velX direset ke 0. Pemain di X: " + x);
                         } else if (velX < 0) {
-                            x = tileBounds.x + tileSize;
-                            System.out.println("DEBUG Player Collision: Tabrakan horizontal (kiri) di tile [" + row + "," + col + "] Tipe: " + tileType + ". velX direset ke 0. Pemain di X: " + x);
+                            x = tileX + tileSize;
+                            if (Log.DEBUG) Log.debug("Player Collision", "Tabrakan horizontal (kiri) di tile [" + row + "," + col + "] Tipe: " + tileType + ". velX direset ke 0. Pemain di X: " + x);
                         }
                         velX = 0;
                         return; // Kembali setelah tabrakan horizontal
                     } else { // axis == 'y'
                         if (velY > 0) { // Jatuh ke bawah
-                            y = tileBounds.y - height;
+                            y = tileY - height;
                             onGround = true;
                             velY = 0;
                             if (!wasOnGroundBeforeCollisionCheck) {
-                                System.out.println("DEBUG Player Collision: Mendarat di tile [" + row + "," + col + "] Tipe: " + tileType + ". onGround: true, velY: 0. Pemain di Y: " + y);
+                                if (Log.DEBUG) Log.debug("Player Collision", "Mendarat di tile [" + row + "," + col + "] Tipe: " + tileType + ". onGround: true, velY: 0. Pemain di Y: " + y);
                             }
                         } else if (velY < 0) { // Bergerak ke atas (melompat)
-                            y = tileBounds.y + tileSize;
+                            y = tileY + tileSize;
                             velY = 0;
-                            System.out.println("DEBUG Player Collision: Membentur langit-langit di tile [" + row + "," + col + "] Tipe: " + tileType + ". velY: 0. Pemain di Y: " + y);
+                            if (Log.DEBUG) Log.debug("Player Collision", "Membentur langit-langit di tile [" + row + "," + col + "] Tipe: " + tileType + ". velY: 0. Pemain di Y: " + y);
                         }
 
-                        if (tileType == LevelManager.TILE_BREAKABLE) {
-                            gp.setTile(row, col, LevelManager.TILE_EMPTY);
-                            System.out.println("DEBUG Player Collision: Blok pecah di [" + row + "," + col + "] dihancurkan.");
+                        if ((flags & TileRegistry.BREAKABLE) != 0) {
+                            world.setTile(row, col, LevelManager.TILE_EMPTY);
+                            if (Log.DEBUG) Log.debug("Player Collision", "Blok pecah di [" + row + "," + col + "] dihancurkan.");
                         }
                         return; // Kembali setelah tabrakan vertikal
                     }
@@ -407,7 +405,7 @@ public class Player {
         
         // Jika tidak bertabrakan dengan platform atau tile statis di sumbu Y
         if (axis == 'y' && !onGround && wasOnGroundBeforeCollisionCheck) {
-            System.out.println("DEBUG Player Collision: Meninggalkan tanah, onGround: false.");
+            if (Log.DEBUG) Log.debug("Player Collision", "Meninggalkan tanah, onGround: false.");
         }
     }
 
@@ -415,9 +413,9 @@ public class Player {
      * Memperbarui frame animasi pemain berdasarkan status pergerakan.
      */
     private void updateAnimationTick(boolean leftPressed, boolean rightPressed) {
-        if (walkFrames == null || idleFrames == null || idleFrames.length == 0 || walkFrames.length == 0) return;
+        if (idleFrames.isEmpty() || walkFrames.isEmpty()) return;
 
-        BufferedImage[] currentAnimation = getCurrentAnimation(leftPressed, rightPressed);
+        AssetCache.FrameSet currentAnimation = getCurrentAnimation(leftPressed, rightPressed);
         if (currentAnimation != previousAnimation) {
             animationFrame = 0;
             animationTick = 0;
@@ -428,7 +426,7 @@ public class Player {
         if (animationTick >= animationSpeed) {
             animationTick = 0;
             animationFrame++;
-            if (animationFrame >= currentAnimation.length) {
+            if (animationFrame >= currentAnimation.size()) {
                 animationFrame = 0;
             }
         }
@@ -437,9 +435,9 @@ public class Player {
     /**
      * Menentukan array animasi mana (idle atau walk) yang harus digunakan saat ini.
      */
-    private BufferedImage[] getCurrentAnimation(boolean leftPressed, boolean rightPressed) {
-        if (idleFrames == null || walkFrames == null || idleFrames.length == 0) {
-            return new BufferedImage[0];
+    private AssetCache.FrameSet getCurrentAnimation(boolean leftPressed, boolean rightPressed) {
+        if (idleFrames.isEmpty()) {
+            return AssetCache.FrameSet.EMPTY;
         }
 
         if (!onGround) return idleFrames;
@@ -448,35 +446,22 @@ public class Player {
     }
 
     /**
-     * Menggambar karakter pemain di layar.
+     * Menggambar karakter pemain di layar lewat sprite batch.
      */
-    public void draw(Graphics g) {
+    public void draw(SpriteBatch batch) {
         if (invincible) {
             if (invincibleCounter % 20 < 10) {
                 return;
             }
         }
 
-        BufferedImage imageToDraw = null;
-        if (previousAnimation != null && previousAnimation.length > 0 && animationFrame < previousAnimation.length) {
-            imageToDraw = previousAnimation[animationFrame];
-        }
-
-        if (imageToDraw != null) {
-            Graphics2D g2d = (Graphics2D) g.create();
-
-            g2d.translate((int)x, (int)y);
-
-            if (direction.equals("left")) {
-                g2d.translate(width, 0);
-                g2d.scale(-1, 1);
-            }
-
-            g2d.drawImage(imageToDraw, 0, 0, width, height, null);
-            g2d.dispose();
-        } else {
-            g.setColor(Color.RED);
-            g.fillRect((int)x, (int)y, width, height);
+        int drawX = (int) batch.interpolate(prevX, x);
+        int drawY = (int) batch.interpolate(prevY, y);
+        batch.setSmooth(false);
+        if (previousAnimation == null || !batch.draw(previousAnimation, animationFrame, drawX, drawY, width, height, direction.equals("left"))) {
+            Graphics2D g2d = batch.graphics();
+            g2d.setColor(Color.RED);
+            g2d.fillRect(drawX, drawY, width, height);
         }
     }
 }
@@ -0,0 +1,140 @@
+package game;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Cache frame sprite yang sudah diskalakan ke ukuran tujuan dan (jika perlu) sudah dibalik.
+ *
+ * Setiap kombinasi (region atlas, lebar, tinggi, arah hadap, filter) dirender satu kali
+ * ke halaman gambar kompatibel saat pertama kali diminta. Setelah itu {@link SpriteBatch}
+ * cukup melakukan blit 1:1 dari halaman tersebut: tanpa skala, tanpa transform, dan tanpa
+ * bergantung pada hint interpolasi. Varian disimpan sebagai linked list pendek per region,
+ * sehingga lookup tidak mengalokasikan objek.
+ *
+ * Jumlah varian per region dan jumlah halaman dibatasi. Permintaan di luar batas
+ * mengembalikan null dan pemanggil menggambar dari atlas dengan skala seperti biasa.
+ * Hanya dipakai oleh thread yang sedang merender.
+ */
+final class ScaledFrameCache {
+
+    /** Sisi satu halaman cache dalam piksel. */
+    static final int PAGE_SIZE = 1024;
+
+    /** Batas halaman (masing-masing 4 MB dalam ARGB). */
+    static final int MAX_PAGES = 4;
+
+    /** Batas varian ukuran/arah per frame; pemain saja memakai 5 ukuran x 2 arah. */
+    static final int MAX_VARIANTS_PER_FRAME = 16;
+
+    /** Satu varian frame yang sudah dirender di halaman cache. */
+    static final class Entry {
+        final int width, height;
+        final boolean flipX, smooth;
+        final BufferedImage page;
+        final int x, y;
+        final Entry next;
+
+        Entry(int width, int height, boolean flipX, boolean smooth, BufferedImage page, int x, int y, Entry next) {
+            this.width = width;
+            this.height = height;
+            this.flipX = flipX;
+            this.smooth = smooth;
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.next = next;
+        }
+    }
+
+    private Entry[] variants = new Entry[0]; // Kepala linked list per id region atlas
+    private int[] variantCounts = new int[0];
+    private final ArrayList<BufferedImage> pages = new ArrayList<>();
+    private int cursorX = 0, cursorY = 0, shelfHeight = 0;
+    private boolean fullWarned = false;
+
+    /**
+     * Mengembalikan varian yang sudah dirender untuk region atlas, merendernya jika belum ada.
+     * @return Varian siap blit, atau null jika cache sudah penuh atau varian terlalu besar.
+     */
+    Entry get(int region, int width, int height, boolean flipX, boolean smooth) {
+        if (region >= variants.length) {
+            int capacity = Math.max(region + 1, variants.length * 2);
+            variants = Arrays.copyOf(variants, capacity);
+            variantCounts = Arrays.copyOf(variantCounts, capacity);
+        }
+        for (Entry e = variants[region]; e != null; e = e.next) {
+            if (e.width == width && e.height == height && e.flipX == flipX && e.smooth == smooth) {
+                return e;
+            }
+        }
+        if (width <= 0 || height <= 0 || variantCounts[region] >= MAX_VARIANTS_PER_FRAME) {
+            return null;
+        }
+        if (!allocate(width, height)) {
+            if (!fullWarned) {
+                fullWarned = true;
+                if (Log.WARN) Log.warn("ScaledFrameCache", "Cache frame penuh (" + pages.size() + " halaman). Frame baru digambar dengan skala langsung.");
+            }
+            return null;
+        }
+
+        BufferedImage page = pages.get(pages.size() - 1);
+        int x = cursorX - width;
+        int y = cursorY;
+        render(region, page, x, y, width, height, flipX, smooth);
+
+        Entry entry = new Entry(width, height, flipX, smooth, page, x, y, variants[region]);
+        variants[region] = entry;
+        variantCounts[region]++;
+        return entry;
+    }
+
+    /**
+     * Menyediakan ruang width x height di halaman terakhir (shelf packing), membuka halaman baru
+     * bila perlu. Setelah berhasil, ruang tersebut berakhir di (cursorX, cursorY).
+     */
+    private boolean allocate(int width, int height) {
+        if (width > PAGE_SIZE || height > PAGE_SIZE) return false;
+        if (!pages.isEmpty() && cursorX + width > PAGE_SIZE) {
+            cursorX = 0;
+            cursorY += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (pages.isEmpty() || cursorY + height > PAGE_SIZE) {
+            if (pages.size() >= MAX_PAGES) return false;
+            pages.add(AssetCache.createCompatibleImage(PAGE_SIZE, PAGE_SIZE, Transparency.TRANSLUCENT));
+            cursorX = 0;
+            cursorY = 0;
+            shelfHeight = 0;
+        }
+        cursorX += width;
+        shelfHeight = Math.max(shelfHeight, height);
+        return true;
+    }
+
+    private static void render(int region, BufferedImage page, int x, int y, int width, int height, boolean flipX, boolean smooth) {
+        Graphics2D g2d = page.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, smooth
+                ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        int sx = SpriteAtlas.regionX(region);
+        int sy = SpriteAtlas.regionY(region);
+        int dx1 = flipX ? x + width : x;
+        int dx2 = flipX ? x : x + width;
+        g2d.drawImage(SpriteAtlas.page(region), dx1, y, dx2, y + height,
+                sx, sy, sx + SpriteAtlas.regionWidth(region), sy + SpriteAtlas.regionHeight(region), null);
+        g2d.dispose();
+    }
+
+    int getPageCount() {
+        return pages.size();
+    }
+}
@@ -0,0 +1,103 @@
+package game;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Menjalankan logika game tanpa jendela, tanpa render, dan tanpa suara.
+ *
+ * Berguna untuk mengukur biaya simulasi murni dan untuk menjalankan banyak tick dengan
+ * cepat di server/CI. Pemain dikendalikan bot sederhana: terus berjalan ke kanan dan
+ * melompat secara berkala. Dunia direset setiap kali permainan berakhir.
+ *
+ * Contoh: {@code java -cp game.jar game.Simulation 100000 42}
+ * (argumen: jumlah tick, default 36000 = 10 menit waktu game; seed opsional, default dari
+ * {@code -Dgame.seed} atau acak). Seed dan checksum keadaan akhir dicetak, sehingga dua jalannya
+ * dengan seed yang sama bisa dibandingkan. Dengan {@code -Dgame.record=path}, input bot pada
+ * permainan pertama direkam ke file tersebut.
+ *
+ * Mode replay: {@code java -cp game.jar game.Simulation --replay rekaman.bin} memutar ulang
+ * rekaman {@link InputLog} secepat CPU mampu pada level yang tercatat di rekaman, lalu memeriksa
+ * keadaan akhirnya terhadap checksum rekaman. Exit code 1 jika replay menyimpang.
+ */
+public final class Simulation {
+
+    private static final int DEFAULT_TICKS = GameSettings.UPDATES_PER_SECOND * 60 * 10;
+    private static final int JUMP_INTERVAL = 45; // Tick di antara dua lompatan bot
+
+    private Simulation() {}
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        // Frame animasi tetap didekode karena jumlah frame ikut menentukan logika (misalnya tembakan meriam)
+        Enemy.preloadSprites();
+        Obstacle.preloadSprites();
+        Player.preloadSprites();
+        MovingPlatform.preloadSprites();
+
+        if (args.length > 1 && args[0].equals("--replay")) {
+            if (!replay(new File(args[1]))) System.exit(1);
+            return;
+        }
+
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+        Long seed = args.length > 1 ? Long.valueOf(args[1]) : null;
+
+        World world = seed != null ? new World(seed) : new World();
+        world.reset();
+        long firstSeed = world.getSeed();
+        InputLog recording = GameSettings.RECORD_PATH != null ? new InputLog(world) : null;
+
+        int games = 1;
+        int wins = 0;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            int input = InputLog.RIGHT;
+            if (tick % JUMP_INTERVAL == 0) input |= InputLog.JUMP | InputLog.JUMP_PRESSED;
+            if (recording != null) recording.append(input);
+            world.tick(input);
+
+            if (world.getStatus() != World.Status.PLAYING) {
+                if (recording != null) {
+                    recording.finish(world.checksum());
+                    recording.save(new File(GameSettings.RECORD_PATH));
+                    recording = null;
+                }
+                if (world.getStatus() == World.Status.GAME_WON) wins++;
+                world.reset();
+                games++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(String.format("Simulation: %d tick dalam %.2f detik (%.0f tick/detik, %.1fx waktu nyata), %d permainan, %d menang.",
+                ticks, seconds, ticks / seconds, ticks / seconds / GameSettings.UPDATES_PER_SECOND, games, wins));
+        System.out.println(String.format("Simulation: seed permainan pertama %d, checksum akhir %016x.", firstSeed, world.checksum()));
+    }
+
+    /**
+     * Memutar ulang rekaman tanpa batas kecepatan sampai input habis atau permainan berakhir.
+     * @return True jika keadaan akhir cocok dengan checksum rekaman (atau rekaman tidak punya checksum).
+     */
+    private static boolean replay(File file) throws IOException {
+        InputLog log = InputLog.load(file);
+        World world = new World(log.getSeed(), log.getLevelPath(), log.isEndless()); // Level dari rekaman, bukan dari -D
+        world.reset(log.getSeed());
+        InputLog.Playback playback = log.playback();
+
+        long start = System.nanoTime();
+        while (playback.hasNext() && world.getStatus() == World.Status.PLAYING) {
+            world.tick(playback.next());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long ticks = world.getTickCount();
+
+        boolean match = !log.hasFinalChecksum()
+                || (ticks == log.getTickCount() && world.checksum() == log.getFinalChecksum());
+        System.out.println(String.format("Replay: %d tick (%d run) dalam %.3f detik (%.0f tick/detik), status %s, %s.",
+                ticks, log.getRunCount(), seconds, ticks / seconds, world.getStatus(),
+                !log.hasFinalChecksum() ? "tanpa checksum" : match ? "cocok dengan rekaman" : "MENYIMPANG dari rekaman"));
+        return match;
+    }
+}
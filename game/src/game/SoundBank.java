@@ -0,0 +1,147 @@
+package game;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bank sampel audio bersama untuk seluruh proses.
+ *
+ * Setiap file di-decode sekali menjadi PCM 16-bit saat {@link #preload(String...)} dan diberi
+ * id integer. {@link AudioMixer} memutar sampel berdasarkan id tersebut, sehingga memicu efek
+ * suara tidak membaca file, tidak mem-parsing WAV, dan tidak membuka line audio.
+ *
+ * File yang tidak ditemukan atau tidak bisa di-decode hanya dilaporkan sekali saat dimuat,
+ * setelah itu id-nya bernilai -1 dan pemutarannya diabaikan.
+ */
+public final class SoundBank {
+
+    /**
+     * Data PCM satu sampel: 16-bit bertanda, channel diselang-seling (interleaved).
+     */
+    public static final class Sample {
+        public final short[] data;
+        public final int channels;
+        public final float sampleRate;
+        public final int frames;
+
+        Sample(short[] data, int channels, float sampleRate) {
+            this.data = data;
+            this.channels = channels;
+            this.sampleRate = sampleRate > 0 ? sampleRate : AudioMixer.SAMPLE_RATE;
+            this.frames = data.length / channels;
+        }
+    }
+
+    private static final Map<String, Integer> ids = new HashMap<>();
+    private static volatile Sample[] samples = new Sample[0]; // Dibaca thread mixer tanpa kunci
+
+    private SoundBank() {}
+
+    /**
+     * Men-decode semua file yang diberikan. File yang sudah dimuat dilewati.
+     * @param paths Jalur file di classpath (misalnya "res/jump.wav").
+     */
+    public static synchronized void preload(String... paths) {
+        for (String path : paths) {
+            if (!ids.containsKey(path)) {
+                ids.put(path, register(load(path)));
+            }
+        }
+    }
+
+    /**
+     * Mengembalikan id sampel untuk jalur file.
+     * Sampel yang belum di-preload dimuat saat itu juga (sekali), dengan peringatan.
+     * @return Id sampel, atau -1 jika file tidak bisa dimuat.
+     */
+    public static synchronized int idOf(String path) {
+        Integer id = ids.get(path);
+        if (id == null) {
+            if (Log.WARN) Log.warn("SoundBank", "Sampel belum di-preload, memuat sekarang: " + path);
+            id = register(load(path));
+            ids.put(path, id);
+        }
+        return id;
+    }
+
+    /**
+     * @return Sampel dengan id tersebut, atau null jika id tidak valid.
+     */
+    public static Sample getSample(int id) {
+        Sample[] current = samples;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    private static int register(Sample sample) {
+        if (sample == null) return -1;
+        Sample[] updated = Arrays.copyOf(samples, samples.length + 1);
+        updated[samples.length] = sample;
+        samples = updated;
+        return samples.length - 1;
+    }
+
+    private static Sample load(String path) {
+        try (AudioInputStream decoded = openPcm16(path)) {
+            if (decoded == null) return null;
+            AudioFormat format = decoded.getFormat();
+            byte[] bytes = decoded.readAllBytes();
+            short[] data = new short[bytes.length / 2];
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(data);
+            Sample sample = new Sample(data, format.getChannels(), format.getSampleRate());
+            if (Log.DEBUG) Log.debug("SoundBank", "Sampel dimuat: " + path + " (" + sample.frames + " frame, " + sample.channels + " channel)");
+            return sample;
+        } catch (IOException e) {
+            System.err.println("ERROR SoundBank: Terjadi masalah I/O saat membaca file audio: " + path);
+        }
+        return null;
+    }
+
+    /**
+     * Membuka file audio di classpath sebagai stream PCM 16-bit little-endian tanpa membaca isinya.
+     * Dipakai juga oleh {@link MusicStream} untuk streaming.
+     * @return Stream yang harus ditutup pemanggil, atau null jika file tidak ada atau formatnya tidak didukung.
+     */
+    static AudioInputStream openPcm16(String path) {
+        String resourcePath = path.startsWith("/") ? path : "/" + path;
+        InputStream is = SoundBank.class.getResourceAsStream(resourcePath);
+        if (is == null) {
+            System.err.println("WARNING SoundBank: File audio tidak ditemukan di jalur: " + path + ". Suara ini tidak akan berbunyi.");
+            return null;
+        }
+        try {
+            return toPcm16(AudioSystem.getAudioInputStream(new BufferedInputStream(is)));
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            System.err.println("ERROR SoundBank: Format file audio tidak didukung: " + path + ". Pastikan menggunakan format WAV.");
+        } catch (IOException e) {
+            System.err.println("ERROR SoundBank: Terjadi masalah I/O saat membaca file audio: " + path);
+        }
+        try {
+            is.close();
+        } catch (IOException ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Mengonversi stream ke PCM 16-bit bertanda little-endian, format yang dibaca {@link AudioMixer}.
+     */
+    private static AudioInputStream toPcm16(AudioInputStream source) {
+        AudioFormat format = source.getFormat();
+        if (format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED && format.getSampleSizeInBits() == 16 && !format.isBigEndian()) {
+            return source;
+        }
+        AudioFormat target = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+        return AudioSystem.getAudioInputStream(target, source);
+    }
+}
@@ -1,116 +1,131 @@
 package game;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.UnsupportedAudioFileException;
-import javax.sound.sampled.LineUnavailableException;
-import java.io.InputStream;
-import java.io.BufferedInputStream;
-import java.io.IOException;
-
+/**
+ * Antarmuka suara untuk panel-panel game.
+ *
+ * Semua pemutaran diteruskan sebagai perintah ke {@link AudioMixer}, yang mencampur musik dan
+ * efek suara di thread audio sendiri. Metode di kelas ini aman dipanggil dari thread mana pun
+ * dan tidak pernah memblokir pemanggil pada perangkat audio.
+ */
 public class SoundManager {
 
-    private Clip musicClip; // Mengganti 'clip' menjadi 'musicClip' untuk membedakan dengan SFX
+    // Efek suara yang dipakai game, sebagai indeks ke SFX_PATHS; di-preload saat GamePanel memuat aset
+    public static final int SFX_JUMP = 0;
+    public static final int SFX_COIN = 1;
+    public static final int SFX_STOMP = 2;
+    public static final int SFX_DAMAGE = 3;
+    public static final int SFX_GAME_OVER = 4;
+    private static final String[] SFX_PATHS = {
+        "res/jump.wav", "res/coin_collect.wav", "res/stomp.wav", "res/damage.wav", "res/game_over_sound.wav"
+    };
+
+    // Id SoundBank untuk setiap efek, diisi sekali oleh preloadEffects(); null sebelum itu
+    private static volatile int[] sfxSampleIds;
+
+    // Trek musik; di-stream dari file, tidak di-preload
+    public static final String MUSIC_CUTSCENE = "res/game-overdrive-253440.wav";
+    public static final String MUSIC_GAMEPLAY = "res/game_bgm.wav";
+    public static final String MUSIC_ENDING = "res/ending_music.wav";
+
+    private static final float MUSIC_GAIN = AudioMixer.dbToGain(-10.0f); // Volume musik -10 dB
+    private static final float SFX_GAIN = AudioMixer.dbToGain(-5.0f); // Volume SFX -5 dB
+    private static final float MUSIC_CROSSFADE_SECONDS = 1.5f; // Lama crossfade default antar trek
+    private static final float MUSIC_STOP_FADE_SECONDS = 0.05f; // Fade singkat agar berhenti tanpa bunyi klik
+
+    private final AudioMixer mixer = AudioMixer.get();
+
+    /**
+     * Men-decode semua efek suara game ke {@link SoundBank} dan menyimpan id-nya, sehingga
+     * memutar efek hanya membaca array tanpa kunci maupun pencarian string.
+     */
+    public static synchronized void preloadEffects() {
+        if (sfxSampleIds != null) return;
+        SoundBank.preload(SFX_PATHS);
+        int[] ids = new int[SFX_PATHS.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = SoundBank.idOf(SFX_PATHS[i]);
+        }
+        sfxSampleIds = ids;
+    }
 
     /**
-     * Memutar musik dari jalur file yang ditentukan.
+     * Memutar musik dari jalur file yang ditentukan, dengan crossfade dari musik yang sedang diputar.
      * CATATAN PENTING: Pustaka bawaan Java (javax.sound.sampled) seringkali memiliki
      * dukungan terbatas untuk format MP3. WAV, AIFF, atau AU umumnya lebih andal.
-     * Jika Anda mengalami "UnsupportedAudioFileException", coba ubah file audio Anda ke WAV.
      * @param filePath Jalur ke file audio (misalnya, "res/music.wav").
-     * @param loop Jika true, musik akan diputar secara berulang.
+     * @param loop Jika true, musik akan diputar secara berulang tanpa jeda.
      */
     public void playMusic(String filePath, boolean loop) {
-        // Hentikan musik yang sedang diputar sebelum memulai yang baru
-        stopMusic();
-
-        try {
-            InputStream is = getClass().getResourceAsStream(filePath.startsWith("/") ? filePath : "/" + filePath);
-            if (is == null) {
-                System.err.println("ERROR SoundManager: File musik tidak ditemukan di jalur: " + filePath + ". Pastikan nama file dan lokasi sudah benar.");
-                return;
-            }
-
-            AudioInputStream audioInput = AudioSystem.getAudioInputStream(new BufferedInputStream(is));
-            musicClip = AudioSystem.getClip();
-            musicClip.open(audioInput);
-
-            FloatControl gainControl = (FloatControl) musicClip.getControl(FloatControl.Type.MASTER_GAIN);
-            gainControl.setValue(-10.0f); // Volume musik -10 dB
-
-            if (loop) {
-                musicClip.loop(Clip.LOOP_CONTINUOUSLY);
-            } else {
-                musicClip.start();
-            }
+        crossfadeMusic(filePath, loop, MUSIC_CROSSFADE_SECONDS);
+    }
 
-        } catch (UnsupportedAudioFileException e) {
-            System.err.println("ERROR SoundManager: Format file musik tidak didukung: " + filePath + ". Pastikan Anda menggunakan format WAV atau yang didukung Java.");
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.err.println("ERROR SoundManager: Terjadi masalah I/O saat membaca file musik: " + filePath);
-            e.printStackTrace();
-        } catch (LineUnavailableException e) {
-            System.err.println("ERROR SoundManager: Jalur audio tidak tersedia untuk musik: " + filePath);
-            e.printStackTrace();
-        } catch (Exception e) {
-            System.err.println("ERROR SoundManager: Terjadi kesalahan umum saat memutar musik: " + filePath);
-            e.printStackTrace();
-        }
+    /**
+     * Mengganti musik yang sedang diputar: trek lama memudar keluar sementara trek baru memudar masuk.
+     * Trek di-stream dari file dalam potongan kecil, sehingga memori tidak bergantung pada panjang trek
+     * dan hanya header file yang dibaca di thread pemanggil.
+     * @param filePath Jalur ke file audio.
+     * @param loop Jika true, musik akan diputar secara berulang tanpa jeda.
+     * @param seconds Lama crossfade dalam detik; 0 untuk berganti langsung.
+     */
+    public void crossfadeMusic(String filePath, boolean loop, float seconds) {
+        mixer.fadeOutBus(AudioMixer.BUS_MUSIC, seconds);
+        if (!mixer.isAvailable()) return; // Tanpa perangkat audio, file tidak perlu dibuka
+        MusicStream stream = MusicStream.open(filePath, loop);
+        mixer.playStream(stream, AudioMixer.BUS_MUSIC, MUSIC_GAIN, 0f, seconds);
     }
 
     /**
-     * Memutar efek suara satu kali. Efek suara akan dimuat dan dimainkan
-     * secara terpisah, memungkinkan beberapa efek suara dimainkan secara bersamaan.
+     * Memutar efek suara satu kali di tengah (tanpa panning).
+     * Untuk file di luar efek game; efek game diputar lewat {@link #playSoundEffect(int, float)}.
      * @param filePath Jalur ke file audio efek suara (misalnya, "res/jump.wav").
      */
     public void playSoundEffect(String filePath) {
-        try {
-            InputStream is = getClass().getResourceAsStream(filePath.startsWith("/") ? filePath : "/" + filePath);
-            if (is == null) {
-                System.err.println("ERROR SoundManager: File efek suara tidak ditemukan di jalur: " + filePath);
-                return;
-            }
-
-            AudioInputStream audioInput = AudioSystem.getAudioInputStream(new BufferedInputStream(is));
-            Clip sfxClip = AudioSystem.getClip();
-            sfxClip.open(audioInput);
+        mixer.play(SoundBank.idOf(filePath), AudioMixer.BUS_SFX, SFX_GAIN, 0f, false);
+    }
 
-            FloatControl gainControl = (FloatControl) sfxClip.getControl(FloatControl.Type.MASTER_GAIN);
-            gainControl.setValue(-5.0f); // Volume SFX -5 dB (contoh)
+    /**
+     * Memutar efek suara game satu kali dengan panning stereo.
+     * Efek yang sama boleh berbunyi bersamaan; jika semua voice mixer terpakai, voice efek tertua dicuri.
+     * @param effect Salah satu konstanta SFX_ di kelas ini.
+     * @param pan -1 (kiri) hingga 1 (kanan), lihat {@link World#panAt(double)}.
+     */
+    public void playSoundEffect(int effect, float pan) {
+        int[] ids = sfxSampleIds;
+        if (ids == null) {
+            preloadEffects(); // Hanya jika efek diputar sebelum aset dimuat
+            ids = sfxSampleIds;
+        }
+        mixer.play(ids[effect], AudioMixer.BUS_SFX, SFX_GAIN, pan, false);
+    }
 
-            sfxClip.start();
+    /**
+     * Menghentikan musik yang sedang diputar.
+     */
+    public void stopMusic() {
+        fadeOutMusic(MUSIC_STOP_FADE_SECONDS);
+    }
 
-            sfxClip.addLineListener(event -> {
-                if (event.getType() == javax.sound.sampled.LineEvent.Type.STOP) {
-                    sfxClip.close();
-                }
-            });
+    /**
+     * Memudarkan musik yang sedang diputar hingga hening, lalu menghentikannya.
+     * @param seconds Lama fade dalam detik.
+     */
+    public void fadeOutMusic(float seconds) {
+        mixer.fadeOutBus(AudioMixer.BUS_MUSIC, seconds);
+    }
 
-        } catch (UnsupportedAudioFileException e) {
-            System.err.println("ERROR SoundManager: Format file efek suara tidak didukung: " + filePath + ". Pastikan menggunakan format WAV.");
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.err.println("ERROR SoundManager: Terjadi masalah I/O saat membaca file efek suara: " + filePath);
-            e.printStackTrace();
-        } catch (LineUnavailableException e) {
-            System.err.println("ERROR SoundManager: Jalur audio tidak tersedia untuk efek suara: " + filePath);
-            e.printStackTrace();
-        } catch (Exception e) {
-            System.err.println("ERROR SoundManager: Terjadi kesalahan umum saat memutar efek suara: " + filePath);
-            e.printStackTrace();
-        }
+    /**
+     * Mengatur volume bus musik.
+     * @param volume Gain linear (0 = hening, 1 = normal).
+     */
+    public void setMusicVolume(float volume) {
+        mixer.setBusGain(AudioMixer.BUS_MUSIC, volume);
     }
 
     /**
-     * Menghentikan musik yang sedang diputar dan menutup audio clip-nya.
+     * Mengatur volume bus efek suara.
+     * @param volume Gain linear (0 = hening, 1 = normal).
      */
-    public void stopMusic() {
-        if (musicClip != null && musicClip.isRunning()) {
-            musicClip.stop();
-            musicClip.close();
-        }
+    public void setEffectsVolume(float volume) {
+        mixer.setBusGain(AudioMixer.BUS_SFX, volume);
     }
 }
@@ -0,0 +1,95 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broadphase tabrakan berbasis grid seragam yang dikunci pada kolom tile.
+ *
+ * Dunia game hanya setinggi satu layar, sehingga grid cukup dibagi menurut sumbu X:
+ * setiap sel mencakup {@code cellCols} kolom tile. Grid hanya mencakup rentang selebar
+ * {@code spanWidth} mulai dari titik asal yang dipilih setiap {@link #clear(int)} (bagian dunia
+ * yang sedang dimuat), sehingga ukurannya tidak bergantung pada panjang level. Setiap item disimpan di sel yang memuat
+ * tepi kirinya saja, dan query memperlebar rentang ke kiri sebesar lebar item terbesar.
+ * Dengan begitu setiap item muncul paling banyak satu kali per query tanpa perlu
+ * struktur deduplikasi, dan query tidak mengalokasikan objek apa pun.
+ *
+ * Penggunaan per tick: {@link #clear(int)}, lalu {@link #insert(Object, int, int)} untuk setiap
+ * entitas, lalu {@link #query(int, int, List)} untuk setiap AABB yang ingin diperiksa.
+ * Hasil query hanyalah kandidat; pemanggil tetap harus melakukan uji interseksi yang tepat.
+ *
+ * @param <T> Tipe entitas yang disimpan.
+ */
+public class SpatialHash<T> {
+
+    private final int cellWidth;
+    private final ArrayList<T>[] cells;
+    private int originX = 0;
+    private int maxItemWidth = 0;
+    private int size = 0;
+
+    /**
+     * @param spanWidth Lebar rentang yang dicakup grid dalam piksel.
+     * @param tileSize Ukuran satu tile dalam piksel.
+     * @param cellCols Jumlah kolom tile per sel grid.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"}) // Array generik tidak bisa dibuat tanpa tipe mentah
+    public SpatialHash(int spanWidth, int tileSize, int cellCols) {
+        this.cellWidth = tileSize * cellCols;
+        int cellCount = Math.max(1, (spanWidth + cellWidth - 1) / cellWidth);
+        this.cells = new ArrayList[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            cells[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Mengosongkan semua sel tanpa membuang kapasitasnya.
+     * @param originX Tepi kiri rentang grid di dunia untuk isi berikutnya.
+     */
+    public void clear(int originX) {
+        this.originX = originX;
+        for (ArrayList<T> cell : cells) {
+            cell.clear();
+        }
+        maxItemWidth = 0;
+        size = 0;
+    }
+
+    /**
+     * Menyimpan item dengan rentang horizontal [minX, maxX).
+     * Item di luar rentang grid dimasukkan ke sel paling tepi.
+     */
+    public void insert(T item, int minX, int maxX) {
+        cells[cellOf(minX)].add(item);
+        maxItemWidth = Math.max(maxItemWidth, maxX - minX);
+        size++;
+    }
+
+    /**
+     * Menambahkan ke {@code out} semua item yang mungkin tumpang tindih dengan rentang [minX, maxX).
+     * {@code out} tidak dikosongkan terlebih dahulu.
+     */
+    public void query(int minX, int maxX, List<T> out) {
+        if (size == 0) return;
+        int firstCell = cellOf(minX - maxItemWidth);
+        int lastCell = cellOf(maxX);
+        for (int c = firstCell; c <= lastCell; c++) {
+            ArrayList<T> cell = cells[c];
+            for (int i = 0, n = cell.size(); i < n; i++) {
+                out.add(cell.get(i));
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int cellOf(int x) {
+        int cell = Math.floorDiv(x - originX, cellWidth);
+        if (cell < 0) return 0;
+        if (cell >= cells.length) return cells.length - 1;
+        return cell;
+    }
+}
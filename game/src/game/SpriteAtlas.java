@@ -0,0 +1,199 @@
+package game;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Atlas tekstur untuk semua frame animasi entitas.
+ *
+ * Frame hasil getSubimage berbagi raster dengan lembar sprite aslinya, sehingga Java2D
+ * sering tidak bisa menyimpannya sebagai managed image di VRAM dan setiap frame menjadi
+ * sumber gambar yang berbeda. Atlas menyalin semua frame ke beberapa halaman kompatibel
+ * (shelf packing, tiap halaman maksimal {@link #MAX_PAGE_SIZE} piksel), lalu setiap frame
+ * dirujuk lewat id region: indeks ke array halaman dan rectangle sumber.
+ *
+ * Setiap region diberi gutter 1 piksel berisi piksel tepi yang diperpanjang, agar filter
+ * bilinear tidak mengambil warna dari region tetangga. Atlas dibangun satu kali saat
+ * startup (lewat {@link AssetCache#buildAtlas()}) sebelum game thread dimulai, dan setelah
+ * itu hanya dibaca.
+ */
+public final class SpriteAtlas {
+
+    /** Sisi maksimum satu halaman atlas dalam piksel. */
+    public static final int MAX_PAGE_SIZE = 1024;
+
+    /** Lebar gutter di setiap sisi region. */
+    static final int GUTTER = 1;
+
+    private static BufferedImage[] pages = new BufferedImage[0];
+    private static int[] regionPage = new int[0];
+    private static int[] regionX = new int[0];
+    private static int[] regionY = new int[0];
+    private static int[] regionWidth = new int[0];
+    private static int[] regionHeight = new int[0];
+
+    private SpriteAtlas() {}
+
+    /** Satu frame yang menunggu dikemas, beserta posisinya setelah penempatan. */
+    private static final class Entry {
+        final AssetCache.FrameSet set;
+        final int index;
+        final BufferedImage image;
+        int page, x, y;
+
+        Entry(AssetCache.FrameSet set, int index, BufferedImage image) {
+            this.set = set;
+            this.index = index;
+            this.image = image;
+        }
+    }
+
+    /**
+     * Mengemas semua frame dari set frame yang diberikan ke halaman atlas dan mengisi id region
+     * setiap frame. Frame yang lebih besar dari satu halaman dilewati dan tetap digambar
+     * langsung dari gambar aslinya.
+     */
+    static synchronized void pack(Collection<AssetCache.FrameSet> sets) {
+        List<Entry> entries = new ArrayList<>();
+        for (AssetCache.FrameSet set : sets) {
+            for (int i = 0; i < set.size(); i++) {
+                BufferedImage image = set.get(i);
+                if (image == null) continue;
+                if (image.getWidth() + GUTTER * 2 > MAX_PAGE_SIZE || image.getHeight() + GUTTER * 2 > MAX_PAGE_SIZE) {
+                    if (Log.WARN) Log.warn("SpriteAtlas", "Frame " + image.getWidth() + "x" + image.getHeight() + " terlalu besar untuk atlas. Digambar langsung.");
+                    continue;
+                }
+                entries.add(new Entry(set, i, image));
+            }
+        }
+
+        // Frame tertinggi lebih dulu, agar setiap rak (shelf) terisi rapat
+        entries.sort((a, b) -> a.image.getHeight() != b.image.getHeight()
+                ? b.image.getHeight() - a.image.getHeight()
+                : b.image.getWidth() - a.image.getWidth());
+
+        List<int[]> pageSizes = new ArrayList<>(); // {lebar terpakai, tinggi terpakai}
+        int page = -1, cursorX = 0, cursorY = 0, shelfHeight = 0;
+        for (Entry entry : entries) {
+            int w = entry.image.getWidth() + GUTTER * 2;
+            int h = entry.image.getHeight() + GUTTER * 2;
+            if (page >= 0 && cursorX + w > MAX_PAGE_SIZE) {
+                cursorX = 0;
+                cursorY += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (page < 0 || cursorY + h > MAX_PAGE_SIZE) {
+                page++;
+                pageSizes.add(new int[2]);
+                cursorX = 0;
+                cursorY = 0;
+                shelfHeight = 0;
+            }
+            entry.page = page;
+            entry.x = cursorX;
+            entry.y = cursorY;
+            cursorX += w;
+            shelfHeight = Math.max(shelfHeight, h);
+            int[] size = pageSizes.get(page);
+            size[0] = Math.max(size[0], cursorX);
+            size[1] = Math.max(size[1], cursorY + h);
+        }
+
+        BufferedImage[] staging = new BufferedImage[pageSizes.size()];
+        for (int p = 0; p < staging.length; p++) {
+            staging[p] = new BufferedImage(pageSizes.get(p)[0], pageSizes.get(p)[1], BufferedImage.TYPE_INT_ARGB);
+        }
+
+        int count = entries.size();
+        int[] newPage = new int[count];
+        int[] newX = new int[count];
+        int[] newY = new int[count];
+        int[] newWidth = new int[count];
+        int[] newHeight = new int[count];
+        for (int region = 0; region < count; region++) {
+            Entry entry = entries.get(region);
+            copyWithGutter(entry.image, staging[entry.page], entry.x, entry.y);
+            newPage[region] = entry.page;
+            newX[region] = entry.x + GUTTER;
+            newY[region] = entry.y + GUTTER;
+            newWidth[region] = entry.image.getWidth();
+            newHeight[region] = entry.image.getHeight();
+            entry.set.setRegion(entry.index, region);
+        }
+
+        BufferedImage[] newPages = new BufferedImage[staging.length];
+        for (int p = 0; p < staging.length; p++) {
+            newPages[p] = toCompatibleImage(staging[p]);
+        }
+
+        pages = newPages;
+        regionPage = newPage;
+        regionX = newX;
+        regionY = newY;
+        regionWidth = newWidth;
+        regionHeight = newHeight;
+
+        if (Log.INFO) {
+            StringBuilder sizes = new StringBuilder();
+            for (BufferedImage p : newPages) {
+                if (sizes.length() > 0) sizes.append(", ");
+                sizes.append(p.getWidth()).append('x').append(p.getHeight());
+            }
+            Log.info("SpriteAtlas", count + " frame dikemas ke " + newPages.length + " halaman atlas (" + sizes + ").");
+        }
+    }
+
+    /**
+     * Menyalin frame ke halaman staging pada (x, y) beserta gutter: baris dan kolom tepi
+     * frame diulang satu piksel ke luar.
+     */
+    private static void copyWithGutter(BufferedImage image, BufferedImage target, int x, int y) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[] src = image.getRGB(0, 0, w, h, null, 0, w);
+        int paddedWidth = w + GUTTER * 2;
+        int paddedHeight = h + GUTTER * 2;
+        int[] padded = new int[paddedWidth * paddedHeight];
+        for (int py = 0; py < paddedHeight; py++) {
+            int sy = Math.min(h - 1, Math.max(0, py - GUTTER));
+            for (int px = 0; px < paddedWidth; px++) {
+                int sx = Math.min(w - 1, Math.max(0, px - GUTTER));
+                padded[py * paddedWidth + px] = src[sy * w + sx];
+            }
+        }
+        target.setRGB(x, y, paddedWidth, paddedHeight, padded, 0, paddedWidth);
+    }
+
+    /**
+     * Menyalin halaman ke gambar yang kompatibel dengan layar agar blit-nya bisa diakselerasi.
+     * Dalam mode headless halaman staging dipakai apa adanya.
+     */
+    private static BufferedImage toCompatibleImage(BufferedImage staging) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return staging;
+        }
+        BufferedImage image = AssetCache.createCompatibleImage(staging.getWidth(), staging.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(staging, 0, 0, null);
+        g2d.dispose();
+        return image;
+    }
+
+    public static int getPageCount() {
+        return pages.length;
+    }
+
+    // Akses region untuk SpriteBatch; id region selalu berasal dari pack() terakhir
+    static BufferedImage page(int region) { return pages[regionPage[region]]; }
+    static int regionX(int region) { return regionX[region]; }
+    static int regionY(int region) { return regionY[region]; }
+    static int regionWidth(int region) { return regionWidth[region]; }
+    static int regionHeight(int region) { return regionHeight[region]; }
+}
@@ -0,0 +1,207 @@
+package game;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Jalur gambar tunggal untuk semua sprite entitas.
+ *
+ * Entitas tidak lagi membuat salinan Graphics, mengubah transform, atau mengatur rendering
+ * hint sendiri. Mereka meminta frame berdasarkan set frame dan indeks. Frame yang sudah
+ * dikemas ke {@link SpriteAtlas} diambil dari {@link ScaledFrameCache}, yang menyimpan frame
+ * tersebut dalam ukuran tujuan dan arah hadap yang diminta, sehingga jalur utama hanyalah
+ * blit 1:1 tanpa skala. Frame lain (atau jika cache penuh) digambar dengan skala dari atlas
+ * atau gambar aslinya; membalik sprite cukup dengan menukar tepi kiri dan kanan tujuan.
+ *
+ * Hint interpolasi hanya dipasang pada jalur berskala, dan hanya jika nilainya berbeda dari
+ * yang terakhir dipasang. Jumlah draw call dan perubahan state (hint maupun gambar sumber)
+ * frame terakhir tersedia untuk statistik benchmark.
+ *
+ * Batch juga menjadi tahap culling: entitas memanggil {@link #isVisible(int, int)} dengan posisi
+ * gambarnya dan melewati semua kerja gambar jika berada di luar rentang terlihat. Jumlah entitas
+ * yang digambar dan yang di-cull dicatat per frame untuk profiling.
+ *
+ * Penggunaan per frame: {@link #begin(Graphics2D, double)}, {@link #setVisibleRange(int, int)}, lalu draw
+ * untuk setiap sprite, lalu {@link #end()}.
+ * Hanya dipakai oleh thread yang sedang merender.
+ */
+public final class SpriteBatch {
+
+    private final ScaledFrameCache scaledFrames = new ScaledFrameCache();
+    private Graphics2D g2d;
+    private double alpha = 1.0;
+    private boolean smooth = false;
+    private Object interpolation;
+    private BufferedImage lastSource;
+    private int drawCalls = 0;
+    private int stateChanges = 0;
+    private int lastFrameDrawCalls = 0;
+    private int lastFrameStateChanges = 0;
+    private int visibleMinX = Integer.MIN_VALUE;
+    private int visibleMaxX = Integer.MAX_VALUE;
+    private int drawn = 0;
+    private int culled = 0;
+    private int lastFrameDrawn = 0;
+    private int lastFrameCulled = 0;
+
+    /**
+     * Memulai batch pada Graphics yang sudah ditranslasi kamera.
+     * Antialiasing dimatikan sekali di sini untuk seluruh sprite (dan bentuk fallback-nya).
+     * @param alpha Posisi relatif frame di antara dua tick (0..1), untuk {@link #interpolate(double, double)}.
+     */
+    public void begin(Graphics2D g2d, double alpha) {
+        this.g2d = g2d;
+        this.alpha = alpha;
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        smooth = false;
+        interpolation = null;
+        lastSource = null;
+        drawCalls = 0;
+        stateChanges = 0;
+        visibleMinX = Integer.MIN_VALUE;
+        visibleMaxX = Integer.MAX_VALUE;
+        drawn = 0;
+        culled = 0;
+    }
+
+    /**
+     * Mengatur rentang horizontal terlihat [minX, maxX] dalam koordinat dunia,
+     * biasanya jendela kamera ditambah margin. Berlaku hingga {@link #end()}.
+     */
+    public void setVisibleRange(int minX, int maxX) {
+        visibleMinX = minX;
+        visibleMaxX = maxX;
+    }
+
+    /**
+     * Menguji apakah entitas dengan rentang [x, x + width) bersinggungan dengan rentang terlihat,
+     * dan mencatatnya sebagai digambar atau di-cull.
+     * @return False jika entitas tidak perlu digambar sama sekali.
+     */
+    public boolean isVisible(int x, int width) {
+        if (x + width < visibleMinX || x > visibleMaxX) {
+            culled++;
+            return false;
+        }
+        drawn++;
+        return true;
+    }
+
+    /**
+     * Menginterpolasi posisi entitas antara tick sebelumnya dan tick saat ini untuk frame ini.
+     * @param previous Nilai pada tick sebelumnya.
+     * @param current Nilai pada tick saat ini.
+     * @return Nilai yang diinterpolasi.
+     */
+    public double interpolate(double previous, double current) {
+        return previous + (current - previous) * alpha;
+    }
+
+    /**
+     * Memilih filter untuk sprite berikutnya: bilinear jika {@code smooth}, nearest neighbor
+     * (pixel art tajam) jika tidak.
+     */
+    public void setSmooth(boolean smooth) {
+        this.smooth = smooth;
+    }
+
+    private void applyInterpolation() {
+        Object hint = smooth ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+        if (hint != interpolation) {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, hint);
+            interpolation = hint;
+            stateChanges++;
+        }
+    }
+
+    /**
+     * Menggambar satu frame ke rectangle tujuan (x, y, width, height).
+     * Frame yang tidak ada di atlas digambar langsung dari gambar aslinya dengan skala.
+     * @param flipX True untuk membalik sprite secara horizontal.
+     * @return False jika frame tidak ada (indeks di luar batas atau gagal dimuat);
+     *         pemanggil menggambar fallback-nya sendiri lewat {@link #graphics()}.
+     */
+    public boolean draw(AssetCache.FrameSet frames, int index, int x, int y, int width, int height, boolean flipX) {
+        BufferedImage source;
+        int sx, sy, sw, sh;
+        int region = frames.region(index);
+        if (region >= 0) {
+            ScaledFrameCache.Entry scaled = scaledFrames.get(region, width, height, flipX, smooth);
+            if (scaled != null) {
+                // Jalur utama: blit 1:1 dari cache, tanpa skala dan tanpa hint interpolasi
+                blit(scaled.page, x, y, x + width, y + height, scaled.x, scaled.y, scaled.x + width, scaled.y + height);
+                return true;
+            }
+
+            source = SpriteAtlas.page(region);
+            sx = SpriteAtlas.regionX(region);
+            sy = SpriteAtlas.regionY(region);
+            sw = SpriteAtlas.regionWidth(region);
+            sh = SpriteAtlas.regionHeight(region);
+        } else {
+            source = frames.get(index);
+            if (source == null) return false;
+            sx = 0;
+            sy = 0;
+            sw = source.getWidth();
+            sh = source.getHeight();
+        }
+
+        applyInterpolation();
+        int dx1 = flipX ? x + width : x;
+        int dx2 = flipX ? x : x + width;
+        blit(source, dx1, y, dx2, y + height, sx, sy, sx + sw, sy + sh);
+        return true;
+    }
+
+    private void blit(BufferedImage source, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2) {
+        if (source != lastSource) {
+            lastSource = source;
+            stateChanges++;
+        }
+        g2d.drawImage(source, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+        drawCalls++;
+    }
+
+    /**
+     * Graphics di bawah batch, untuk bentuk fallback dan entitas tanpa sprite (misalnya proyektil).
+     * Jangan mengubah hint interpolasi lewat objek ini; gunakan {@link #setSmooth(boolean)}.
+     */
+    public Graphics2D graphics() {
+        return g2d;
+    }
+
+    /**
+     * Mengakhiri batch dan menyimpan statistik frame ini.
+     */
+    public void end() {
+        lastFrameDrawCalls = drawCalls;
+        lastFrameStateChanges = stateChanges;
+        lastFrameDrawn = drawn;
+        lastFrameCulled = culled;
+        g2d = null;
+        lastSource = null;
+    }
+
+    /** Jumlah sprite yang digambar pada frame terakhir yang selesai. */
+    public int getDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+
+    /** Jumlah perubahan hint interpolasi dan gambar sumber pada frame terakhir yang selesai. */
+    public int getStateChanges() {
+        return lastFrameStateChanges;
+    }
+
+    /** Jumlah entitas yang lolos culling pada frame terakhir yang selesai. */
+    public int getDrawnCount() {
+        return lastFrameDrawn;
+    }
+
+    /** Jumlah entitas yang di-cull pada frame terakhir yang selesai. */
+    public int getCulledCount() {
+        return lastFrameCulled;
+    }
+}
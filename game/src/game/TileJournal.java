@@ -0,0 +1,66 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Catatan tile yang diubah selama satu permainan, di atas desain level yang tidak pernah disalin.
+ *
+ * Setiap entri adalah kunci posisi tile ({@code kolom * baris_per_kolom + baris}) dan tipe tile
+ * barunya, disimpan di dua array primitif yang terurut menurut kunci. Karena kunci disusun kolom
+ * demi kolom, semua perubahan di satu chunk membentuk satu rentang yang ditemukan dengan binary search.
+ * Perubahan biasanya terjadi dari kiri ke kanan, sehingga penambahan hampir selalu di ujung array.
+ */
+final class TileJournal {
+
+    private int[] keys = new int[64];
+    private byte[] values = new byte[64];
+    private int size = 0;
+
+    int size() {
+        return size;
+    }
+
+    int key(int index) {
+        return keys[index];
+    }
+
+    byte value(int index) {
+        return values[index];
+    }
+
+    /** Menghapus semua perubahan tanpa membuang kapasitasnya. */
+    void clear() {
+        size = 0;
+    }
+
+    /** Mencatat tipe tile baru pada kunci tertentu, menimpa catatan lama di kunci yang sama. */
+    void put(int key, byte value) {
+        int index = firstIndexAtOrAfter(key);
+        if (index < size && keys[index] == key) {
+            values[index] = value;
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    /** @return Indeks entri pertama dengan kunci {@code >= key}, atau {@link #size()} jika tidak ada. */
+    int firstIndexAtOrAfter(int key) {
+        if (size == 0 || keys[size - 1] < key) return size;
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,60 @@
+package game;
+
+/**
+ * Sifat setiap tipe tile sebagai bitflag dalam satu tabel primitif.
+ *
+ * Rutin tabrakan tidak lagi membandingkan tipe tile satu per satu; mereka mengambil flag tile
+ * dengan {@link #flags(int)} (satu pembacaan array) lalu menguji mask, misalnya
+ * {@code (TileRegistry.flags(tile) & TileRegistry.SOLID) != 0}. Tipe tile baru cukup didaftarkan
+ * di {@link #FLAGS} dengan sifat yang sudah ada agar langsung dikenali semua rutin tabrakan.
+ * Konstanta tipe tile sendiri tetap di {@link LevelManager}.
+ */
+public final class TileRegistry {
+
+    /** Menahan gerakan pemain dari semua arah. */
+    public static final int SOLID = 1;
+    /** Melukai pemain saat disentuh (mengurangi satu nyawa). */
+    public static final int DAMAGING = 1 << 1;
+    /** Membunuh pemain seketika saat disentuh. */
+    public static final int LETHAL = 1 << 2;
+    /** Diambil pemain saat disentuh, lalu tile-nya menjadi kosong. */
+    public static final int COLLECTIBLE = 1 << 3;
+    /** Hancur saat dibentur pemain secara vertikal. */
+    public static final int BREAKABLE = 1 << 4;
+    /** Memicu kejadian saat disentuh pemain tanpa berubah (pintu keluar). */
+    public static final int TRIGGER = 1 << 5;
+    /** Penanda entitas di file level (platform bergerak); diganti tile kosong saat chunk dimuat. */
+    public static final int MARKER = 1 << 6;
+    /** Menahan gerakan musuh (tanah biasa); musuh berbalik arah saat menabraknya. */
+    public static final int ENEMY_SOLID = 1 << 7;
+    /** Dianggap jurang oleh musuh; musuh yang berdiri di tepinya berbalik arah. */
+    public static final int ENEMY_OPEN = 1 << 8;
+
+    /** Tile yang berbahaya bagi pemain. */
+    public static final int HAZARD = DAMAGING | LETHAL;
+
+    // Diindeks dengan konstanta TILE_ di LevelManager
+    private static final int[] FLAGS = new int[16];
+    static {
+        FLAGS[LevelManager.TILE_EMPTY] = ENEMY_OPEN;
+        FLAGS[LevelManager.TILE_GROUND] = SOLID | ENEMY_SOLID;
+        FLAGS[LevelManager.TILE_BREAKABLE] = SOLID | BREAKABLE;
+        FLAGS[LevelManager.TILE_SPIKE] = DAMAGING;
+        FLAGS[LevelManager.TILE_COIN] = COLLECTIBLE;
+        FLAGS[LevelManager.TILE_HEALTH] = COLLECTIBLE;
+        FLAGS[LevelManager.TILE_EXIT] = TRIGGER;
+        FLAGS[LevelManager.TILE_MOVING_H] = MARKER;
+        FLAGS[LevelManager.TILE_MOVING_V] = MARKER;
+        FLAGS[LevelManager.TILE_DEATH_ZONE] = LETHAL;
+    }
+
+    private TileRegistry() {}
+
+    /**
+     * @param tile Tipe tile yang valid (konstanta TILE_ di {@link LevelManager}).
+     * @return Gabungan flag sifat tile tersebut.
+     */
+    public static int flags(int tile) {
+        return FLAGS[tile];
+    }
+}
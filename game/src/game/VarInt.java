@@ -0,0 +1,45 @@
+package game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Bilangan bulat tanpa tanda dengan panjang variabel untuk format file biner game
+ * ({@link InputLog}, {@link LevelData}): 7 bit per byte, bit tertinggi menandai masih ada byte berikutnya.
+ * Nilai kecil (panjang run, koordinat tile) cukup 1-2 byte.
+ */
+final class VarInt {
+
+    private VarInt() {}
+
+    static void write(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long read(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint terlalu panjang.");
+    }
+
+    /**
+     * Membaca varint yang harus berada di rentang [min, max].
+     * @param what Nama nilai untuk pesan error.
+     */
+    static int readInt(DataInput in, int min, int max, String what) throws IOException {
+        long value = read(in);
+        if (value < min || value > max) {
+            throw new IOException(what + " di luar rentang: " + value);
+        }
+        return (int) value;
+    }
+}
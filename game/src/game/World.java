@@ -0,0 +1,551 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Inti simulasi game: level, pemain, entitas, tabrakan, dan kamera logis.
+ *
+ * Kelas ini tidak bergantung pada Swing maupun AWT untuk menggambar, sehingga bisa dijalankan
+ * tanpa layar (lihat {@link Simulation}). {@link GamePanel} hanyalah cangkang Swing di atasnya:
+ * ia meneruskan input ke {@link #tick(int)}, lalu menggambar keadaan dunia.
+ * Suara bersifat opsional; tanpa {@link SoundManager} semua efek suara diabaikan.
+ */
+public class World {
+
+    // Pengaturan Layar
+    final int originalTileSize = 16;
+    final int scale = 3;
+    public final int tileSize = originalTileSize * scale;
+    public final int screenWidth = tileSize * 20;
+    public final int screenHeight = tileSize * 15;
+
+    // Pengaturan Dunia Game: tinggi tetap setinggi layar, lebar mengikuti sumber chunk
+    // (dibatasi agar koordinat piksel tetap muat di int, juga untuk mode tanpa akhir)
+    public final int maxWorldRow = 15;
+    public final int maxWorldCol;
+    public final int worldWidth;
+    public final int worldHeight = tileSize * maxWorldRow;
+    // Lebar bagian dunia yang bisa dimuat bersamaan; broadphase cukup mencakup rentang ini
+    final int streamWidth = tileSize * LevelManager.CHUNK_COLS * LevelManager.WINDOW_CHUNKS;
+
+    // Sistem Kamera
+    public int cameraX = 0;
+    int prevCameraX = 0; // Posisi kamera pada tick sebelumnya, untuk interpolasi render
+
+    /** Status permainan dari sisi simulasi. */
+    public enum Status {
+        PLAYING,
+        GAME_OVER,
+        GAME_WON
+    }
+    private Status status = Status.PLAYING;
+
+    // Entitas
+    final Player player = new Player(this);
+    final ObstacleSpawner obstacleSpawner = new ObstacleSpawner(this); // Pool batu, burung, meriam, dan proyektil
+    final EnemyStore enemies;
+    final HazardStore hazards; // Batu dan burung
+    final DeferredList<Obstacle> obstacles = new DeferredList<>(obstacleSpawner::release); // Meriam
+    final ArrayList<MovingPlatform> movingPlatforms = new ArrayList<>(); // Daftar platform bergerak
+    final LevelManager levelManager;
+    // Entri spawn slime yang slimenya masih hidup atau sudah dikalahkan pada permainan ini;
+    // dilewati saat chunk-nya dimuat ulang, seperti perubahan tile di TileJournal
+    private final BitSet usedSpawns = new BitSet();
+    private SoundManager soundManager;
+
+    // Variabel Game
+    private int coinsCollected = 0;
+    private long tickCount = 0;
+
+    // Satu sumber angka acak untuk semua spawner dan generator level, di-seed ulang setiap reset.
+    // Seed tiap permainan diambil dari seedSource, sehingga urutan permainan pun bisa diulang.
+    private final Random seedSource;
+    private long seed;
+    private final String levelPath; // File level yang dimuat, atau null untuk level bawaan
+    private final boolean endless;
+    final Random random = new Random();
+    private int obstacleSpawnTimer = 0;
+    private final int OBSTACLE_SPAWN_INTERVAL = 120;
+
+    // Broadphase tabrakan: grid per 4 kolom tile, dibangun ulang setiap tick
+    static final int BROADPHASE_CELL_COLS = 4;
+    final SpatialHash<Obstacle.Projectile> projectileHash;
+    private final ArrayList<Obstacle.Projectile> projectileCandidates = new ArrayList<>();
+
+    /**
+     * Membuat dunia dengan seed dari {@code -Dgame.seed}, atau seed acak jika tidak diberikan.
+     */
+    public World() {
+        this(GameSettings.SEED != null ? GameSettings.SEED : new Random().nextLong());
+    }
+
+    /**
+     * Membuat dunia yang urutan seed permainannya ditentukan oleh {@code seed}, dengan level dari
+     * {@code -Dgame.level} dan {@code -Dgame.endless}.
+     */
+    public World(long seed) {
+        this(seed, GameSettings.LEVEL_PATH, GameSettings.ENDLESS);
+    }
+
+    /**
+     * Membuat dunia dengan level tertentu, misalnya level yang tercatat di rekaman input.
+     * @param levelPath File level, atau null untuk level bawaan.
+     * @param endless True untuk mode tanpa akhir; {@code levelPath} diabaikan.
+     */
+    public World(long seed, String levelPath, boolean endless) {
+        seedSource = new Random(seed);
+        this.levelPath = endless ? null : levelPath;
+        this.endless = endless;
+
+        ChunkSource source = endless
+                ? new EndlessChunkSource(maxWorldRow)
+                : new LevelChunkSource(LevelData.load(this.levelPath, maxWorldRow));
+        maxWorldCol = Math.min(source.getCols(), Integer.MAX_VALUE / tileSize - LevelManager.CHUNK_COLS * LevelManager.WINDOW_CHUNKS);
+        worldWidth = tileSize * maxWorldCol;
+        projectileHash = new SpatialHash<>(streamWidth, tileSize, BROADPHASE_CELL_COLS);
+        if (GameSettings.ENTITY_STORAGE == GameSettings.EntityStorage.ARRAYS) {
+            enemies = new EnemyArrayStore(this);
+            hazards = new HazardArrayStore(this);
+        } else {
+            enemies = new EnemyListStore(this);
+            hazards = new HazardListStore(this);
+        }
+        levelManager = new LevelManager(this, source);
+    }
+
+    /**
+     * Mengatur pemutar suara, atau null untuk simulasi tanpa suara.
+     */
+    public void setSoundManager(SoundManager soundManager) {
+        this.soundManager = soundManager;
+    }
+
+    /**
+     * Memutar efek suara dengan panning tertentu jika ada pemutar suara.
+     */
+    public void playSound(int effect, float pan) {
+        if (soundManager != null) soundManager.playSoundEffect(effect, pan);
+    }
+
+    /**
+     * Memutar efek suara di tengah jika ada pemutar suara.
+     */
+    public void playSound(int effect) {
+        if (soundManager != null) soundManager.playSoundEffect(effect, 0f);
+    }
+
+    /**
+     * Mereset dunia untuk memulai game baru dengan seed berikutnya dari sumber seed.
+     */
+    public void reset() {
+        reset(seedSource.nextLong());
+    }
+
+    /**
+     * Mereset pemain, koin, level, dan entitas untuk memulai game baru dengan seed tertentu.
+     * Entitas dan platform bergerak dimunculkan saat chunk di sekitar posisi awal dimuat.
+     * Dua dunia yang direset dengan seed yang sama lalu diberi input yang sama per tick
+     * akan memiliki {@link #checksum()} yang sama di setiap tick.
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        tickCount = 0;
+        status = Status.PLAYING;
+        coinsCollected = 0;
+        usedSpawns.clear();
+        levelManager.createLevel(); // Membuat ulang level
+
+        enemies.clear();
+        hazards.clear();
+        obstacles.clear(); // Mengembalikan meriam beserta proyektilnya ke pool
+        movingPlatforms.clear(); // Hapus platform bergerak lama
+        obstacleSpawnTimer = 0;
+
+        // Posisi awal pemain dari sumber level (dalam tile); musuh dan meriam ikut chunk-nya
+        ChunkSource source = levelManager.getSource();
+        if (source.getPlayerSpawnCol() >= 0) {
+            player.fullReset(source.getPlayerSpawnCol() * tileSize, source.getPlayerSpawnRow() * tileSize);
+        } else {
+            player.fullReset();
+        }
+        updateCamera();
+        prevCameraX = cameraX; // Frame pertama tidak diinterpolasi dari kamera permainan sebelumnya
+        streamChunks();
+        flushEntities();
+
+        if (Log.DEBUG) Log.debug("World", "Game dimulai ulang. Player di X: " + player.x + ", Y: " + player.y);
+    }
+
+    /**
+     * Menjalankan satu tick simulasi dengan input pemain tick ini.
+     *
+     * Input adalah bitfield {@link InputLog} ({@code JUMP}, {@code LEFT}, {@code RIGHT},
+     * {@code JUMP_PRESSED}). Seluruh input masuk lewat parameter ini, sehingga urutan input per tick
+     * bersama seed sudah cukup untuk mengulang permainan (lihat {@link InputLog}).
+     *
+     * Urutan satu tick: update entitas, spawn rintangan, pemeriksaan tabrakan, kamera,
+     * pemuatan chunk di sekitar kamera, lalu flush spawn/penghapusan tertunda. Spawn dan penghapusan selama tick
+     * hanya dicatat, sehingga semua daftar diiterasi tanpa salinan.
+     * Tidak melakukan apa pun jika permainan sudah berakhir.
+     */
+    public void tick(int input) {
+        if (status != Status.PLAYING) return;
+        tickCount++;
+
+        if ((input & InputLog.JUMP_PRESSED) != 0) {
+            player.requestJump();
+        }
+        boolean jumpPressed = (input & InputLog.JUMP) != 0;
+        boolean leftPressed = (input & InputLog.LEFT) != 0;
+        boolean rightPressed = (input & InputLog.RIGHT) != 0;
+
+        // Pemanggilan player.update() sekarang meneruskan movingPlatforms
+        player.update(levelManager, tileSize, jumpPressed, leftPressed, rightPressed, movingPlatforms);
+        enemies.update(levelManager, tileSize);
+        for (int i = 0; i < obstacles.size(); i++) {
+            obstacles.get(i).update();
+        }
+        hazards.update(levelManager, tileSize);
+        // Update Moving Platforms
+        for (MovingPlatform platform : movingPlatforms) {
+            platform.update();
+        }
+
+        spawnObstacles();
+        rebuildBroadphase();
+        checkCollisions();
+        updateCamera();
+        streamChunks();
+        flushEntities();
+
+        if (player.getLives() <= 0) {
+            status = Status.GAME_OVER;
+            playSound(SoundManager.SFX_GAME_OVER);
+        }
+    }
+
+    /**
+     * Memunculkan rintangan baru (burung atau batu) secara berkala.
+     */
+    private void spawnObstacles() {
+        obstacleSpawnTimer++;
+        if (obstacleSpawnTimer >= OBSTACLE_SPAWN_INTERVAL) {
+            obstacleSpawnTimer = 0;
+
+            Obstacle.ObstacleType typeToSpawn;
+            if (random.nextDouble() < 0.7) {
+                typeToSpawn = Obstacle.ObstacleType.ROCK;
+            } else {
+                typeToSpawn = Obstacle.ObstacleType.BIRD;
+            }
+
+            int spawnX;
+            int spawnY;
+            double speedFactor = 1.0 + (random.nextDouble() * 0.5);
+
+            if (typeToSpawn == Obstacle.ObstacleType.BIRD) {
+                spawnX = cameraX + screenWidth + tileSize;
+                spawnY = (int)player.y + (random.nextInt(tileSize * 2) - tileSize);
+                spawnY = Math.max(tileSize, Math.min(screenHeight - tileSize * 2, spawnY));
+
+                hazards.spawnBird(spawnX, spawnY, player.y, speedFactor);
+            } else {
+                spawnX = cameraX + random.nextInt(screenWidth - tileSize);
+                spawnY = -tileSize;
+                // Skala dibulatkan ke kelipatan 0.1 (7 ukuran) agar frame batu yang sudah diskalakan bisa di-cache
+                double rockScale = 0.7 + random.nextInt(7) * 0.1;
+                hazards.spawnRock(spawnX, spawnY, rockScale, speedFactor);
+            }
+        }
+    }
+
+    /**
+     * Memuat chunk di sekitar kamera dan membuang entitas yang sudah berada di luar bagian dunia
+     * yang dimuat: musuh dan meriam menurut posisinya, platform bergerak menurut posisi awalnya
+     * (agar dimunculkan ulang bersama chunk-nya). Entitas di chunk yang dimuat ulang muncul kembali,
+     * kecuali slime yang sudah dikalahkan atau masih hidup di chunk lain.
+     */
+    private void streamChunks() {
+        levelManager.updateWindow(cameraX);
+        int minX = levelManager.getLoadedMinX();
+        int maxX = levelManager.getLoadedMaxX();
+
+        for (int i = 0; i < enemies.size(); i++) {
+            AABB b = enemies.getBounds(i);
+            if (b.x + b.width < minX || b.x >= maxX) {
+                usedSpawns.clear(enemies.getSpawnId(i)); // Muncul lagi saat chunk asalnya dimuat ulang
+                enemies.remove(i);
+            }
+        }
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle cannon = obstacles.get(i);
+            AABB b = cannon.getBounds();
+            if (b.x + b.width < minX || b.x >= maxX) obstacles.remove(cannon);
+        }
+        for (int i = movingPlatforms.size() - 1; i >= 0; i--) {
+            int homeX = movingPlatforms.get(i).getStartX();
+            if (homeX < minX || homeX >= maxX) movingPlatforms.remove(i);
+        }
+    }
+
+    /**
+     * Memunculkan entitas dari chunk yang baru dimuat (dipanggil lewat {@link ChunkSource.Spawner}).
+     */
+    void spawnEntity(int id, LevelData.SpawnType type, int col, int row) {
+        int spawnX = col * tileSize;
+        int spawnY = row * tileSize;
+        switch (type) {
+            case SLIME:
+                if (usedSpawns.get(id)) break; // Masih hidup di chunk lain atau sudah dikalahkan
+                usedSpawns.set(id);
+                enemies.spawn(spawnX, spawnY, id);
+                break;
+            case CANNON:
+                Obstacle cannon = obstacleSpawner.spawnCannon(spawnX, spawnY);
+                if (cannon != null) obstacles.add(cannon);
+                break;
+            default:
+                break; // Posisi pemain hanya dipakai saat reset
+        }
+    }
+
+    /**
+     * Memunculkan platform bergerak dari penanda {@link LevelManager#TILE_MOVING_H} atau
+     * {@link LevelManager#TILE_MOVING_V} di chunk yang baru dimuat.
+     */
+    void spawnMovingPlatform(int col, int row, boolean horizontal) {
+        if (horizontal) {
+            movingPlatforms.add(new MovingPlatform(col * tileSize, row * tileSize, MovingPlatform.PlatformType.HORIZONTAL, tileSize * 6, 1.8, this));
+        } else {
+            movingPlatforms.add(new MovingPlatform(col * tileSize, row * tileSize, MovingPlatform.PlatformType.VERTICAL, tileSize * 5, 1.2, this));
+        }
+    }
+
+    /**
+     * Menerapkan semua spawn dan penghapusan entitas yang tertunda.
+     * Urutannya tetap: musuh, meriam, lalu rintangan; di setiap penyimpanan penghapusan
+     * diterapkan lebih dulu, lalu spawn sesuai urutan pemanggilannya.
+     */
+    private void flushEntities() {
+        enemies.flush();
+        obstacles.flush();
+        hazards.flush();
+    }
+
+    public Status getStatus() { return status; }
+    public int getCoinsCollected() { return coinsCollected; }
+    public long getSeed() { return seed; }
+    public String getLevelPath() { return levelPath; }
+    public boolean isEndless() { return endless; }
+    public long getTickCount() { return tickCount; }
+
+    /**
+     * Menghitung sidik jari keadaan simulasi: posisi dan kecepatan pemain (bit double persis),
+     * platform bergerak, hitbox semua entitas, tile di chunk yang dimuat, koin, dan nomor tick.
+     * Dipakai untuk memverifikasi bahwa dua jalannya simulasi (misalnya rekaman dan replay) identik.
+     */
+    public long checksum() {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, tickCount);
+        h = mix(h, status.ordinal());
+        h = mix(h, coinsCollected);
+        h = mix(h, Double.doubleToLongBits(player.x));
+        h = mix(h, Double.doubleToLongBits(player.y));
+        h = mix(h, Double.doubleToLongBits(player.velY));
+        h = mix(h, player.health);
+        h = mix(h, player.getLives());
+        for (MovingPlatform platform : movingPlatforms) {
+            h = mix(h, Double.doubleToLongBits(platform.x));
+            h = mix(h, Double.doubleToLongBits(platform.y));
+        }
+        h = mixBounds(h, enemies);
+        h = mixBounds(h, hazards);
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle cannon = obstacles.get(i);
+            h = mix(h, cannon.projectiles.size());
+            for (int j = 0; j < cannon.projectiles.size(); j++) {
+                AABB b = cannon.projectiles.get(j).getBounds();
+                h = mix(h, ((long) b.x << 32) | (b.y & 0xffffffffL));
+            }
+        }
+        h = mix(h, levelManager.getFirstLoadedChunk());
+        h = mix(h, levelManager.getLastLoadedChunk());
+        h = mix(h, levelManager.getChangedTileCount());
+        int firstCol = levelManager.getFirstLoadedChunk() * LevelManager.CHUNK_COLS;
+        int endCol = (levelManager.getLastLoadedChunk() + 1) * LevelManager.CHUNK_COLS;
+        for (int col = firstCol; col < endCol; col++) {
+            for (int row = 0; row < maxWorldRow; row++) {
+                h = mix(h, levelManager.tileAt(row, col));
+            }
+        }
+        return h;
+    }
+
+    private static long mixBounds(long h, EntityStore store) {
+        h = mix(h, store.size());
+        for (int i = 0; i < store.size(); i++) {
+            AABB b = store.getBounds(i);
+            h = mix(h, ((long) b.x << 32) | (b.y & 0xffffffffL));
+            h = mix(h, ((long) b.width << 32) | (b.height & 0xffffffffL));
+        }
+        return h;
+    }
+
+    // Satu langkah FNV-1a per nilai 64-bit
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x100000001b3L;
+    }
+
+    /**
+     * Mengatur tile tertentu di peta level ke tipe tile baru.
+     * @param row Indeks baris tile.
+     * @param col Indeks kolom tile.
+     * @param tileType Tipe baru untuk mengatur tile.
+     */
+    public void setTile(int row, int col, int tileType) {
+        if (row >= 0 && row < maxWorldRow && col >= 0 && col < maxWorldCol) {
+            levelManager.setTile(row, col, tileType);
+        }
+    }
+
+    /**
+     * Membangun ulang broadphase spatial hash proyektil dari posisi pada tick ini.
+     * Meriam sendiri tidak melukai pemain, jadi hanya proyektilnya yang dimasukkan.
+     * Musuh dan rintangan mengelola pencarian tabrakannya sendiri di {@link EntityStore}.
+     */
+    private void rebuildBroadphase() {
+        projectileHash.clear(levelManager.getLoadedMinX());
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle cannon = obstacles.get(i);
+            for (int j = 0; j < cannon.projectiles.size(); j++) {
+                Obstacle.Projectile p = cannon.projectiles.get(j);
+                AABB b = p.getBounds();
+                projectileHash.insert(p, b.x, b.x + b.width);
+            }
+        }
+    }
+
+    /**
+     * Memeriksa tabrakan antara pemain dan musuh, rintangan, proyektil, dan tile level.
+     */
+    private void checkCollisions() {
+        AABB playerBounds = player.getBounds();
+        int queryMinX = playerBounds.x;
+        int queryMaxX = playerBounds.x + playerBounds.width;
+
+        int enemyIndex = enemies.findIntersecting(playerBounds);
+        if (enemyIndex >= 0) {
+            if (player.velY > 0 && player.getBounds().getMaxY() < enemies.getBounds(enemyIndex).getCenterY()) {
+                player.stompBounce();
+                playSound(SoundManager.SFX_STOMP, panAt(enemies.getBounds(enemyIndex).getCenterX()));
+                enemies.remove(enemyIndex);
+            } else {
+                player.takeDamage();
+                playSound(SoundManager.SFX_DAMAGE, panAt(enemies.getBounds(enemyIndex).getCenterX()));
+            }
+            return;
+        }
+
+        int hazardIndex = hazards.findIntersecting(playerBounds);
+        if (hazardIndex >= 0) {
+            player.takeDamage();
+            playSound(SoundManager.SFX_DAMAGE, panAt(hazards.getBounds(hazardIndex).getCenterX()));
+            hazards.remove(hazardIndex);
+            return;
+        }
+
+        projectileCandidates.clear();
+        projectileHash.query(queryMinX, queryMaxX, projectileCandidates);
+        for (int i = 0; i < projectileCandidates.size(); i++) {
+            Obstacle.Projectile p = projectileCandidates.get(i);
+            if (playerBounds.intersects(p.getBounds())) {
+                player.takeDamage();
+                playSound(SoundManager.SFX_DAMAGE, panAt(p.getBounds().getCenterX()));
+                p.getOwner().projectiles.remove(p);
+                obstacleSpawner.releaseProjectile(p);
+                return;
+            }
+        }
+
+        // Tabrakan dengan Moving Platforms ditangani di Player.java.
+
+        int startCol = (int) (player.x / tileSize) - 1;
+        int endCol = (int) ((player.x + player.getBounds().width) / tileSize) + 1;
+        int startRow = (int) (player.y / tileSize) - 1;
+        int endRow = (int) ((player.y + player.getBounds().height) / tileSize) + 1;
+
+        startCol = Math.max(0, startCol);
+        endCol = Math.min(maxWorldCol - 1, endCol);
+        startRow = Math.max(0, startRow);
+        endRow = Math.min(maxWorldRow - 1, endRow);
+
+
+        for (int row = startRow; row <= endRow; row++) {
+            for (int col = startCol; col <= endCol; col++) {
+                int tileType = levelManager.tileAt(row, col); // Baris dan kolom sudah dibatasi di atas
+                int flags = TileRegistry.flags(tileType);
+
+                // --- Logika Lubang Kematian Instan ---
+                if ((flags & TileRegistry.LETHAL) != 0) {
+                    if (playerBounds.intersects(col * tileSize, row * tileSize, tileSize, tileSize)) {
+                        player.health = 0; // Mengakses player.health secara langsung
+                        playSound(SoundManager.SFX_GAME_OVER);
+                        return;
+                    }
+                }
+                // --- Akhir Logika Lubang Kematian Instan ---
+
+                if ((flags & (TileRegistry.COLLECTIBLE | TileRegistry.TRIGGER)) != 0) {
+                    // Area pengumpulan sedikit lebih tinggi (1 piksel di atas dan bawah) dari tubuh pemain
+                    if (AABB.intersects(playerBounds.x, playerBounds.y - 1, playerBounds.width, playerBounds.height + 2,
+                            col * tileSize, row * tileSize, tileSize, tileSize)) {
+                        switch (tileType) {
+                            case LevelManager.TILE_COIN:
+                                levelManager.setTile(row, col, LevelManager.TILE_EMPTY);
+                                coinsCollected++;
+                                playSound(SoundManager.SFX_COIN, panAt(col * tileSize + tileSize / 2.0));
+                                break;
+                            case LevelManager.TILE_HEALTH:
+                                player.gainHealth();
+                                levelManager.setTile(row, col, LevelManager.TILE_EMPTY);
+                                break;
+                            case LevelManager.TILE_EXIT:
+                                if (coinsCollected >= levelManager.getCoinTarget()) {
+                                    status = Status.GAME_WON;
+                                }
+                                break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Menghitung panning stereo untuk suara yang berasal dari posisi X dunia tertentu,
+     * relatif terhadap tengah layar.
+     * @param worldX Posisi X sumber suara di dunia.
+     * @return -1 (tepi kiri layar) hingga 1 (tepi kanan layar).
+     */
+    public float panAt(double worldX) {
+        double halfWidth = screenWidth / 2.0;
+        double pan = (worldX - (cameraX + halfWidth)) / halfWidth;
+        return (float) Math.max(-1.0, Math.min(1.0, pan));
+    }
+
+    /**
+     * Memperbarui posisi kamera untuk mengikuti pemain, membatasi dalam batas dunia.
+     */
+    private void updateCamera() {
+        prevCameraX = cameraX;
+        cameraX = (int)player.x - (screenWidth / 2);
+        if (cameraX < 0) cameraX = 0;
+        if (cameraX > worldWidth - screenWidth) cameraX = worldWidth - screenWidth;
+        if(player.y > worldHeight) {
+             player.health = 0; // Mengakses player.health secara langsung
+        }
+    }
+}